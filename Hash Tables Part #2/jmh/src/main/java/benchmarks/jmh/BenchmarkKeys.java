@@ -0,0 +1,74 @@
+package benchmarks.jmh;
+
+import java.util.Random;
+
+/**
+ * Generates the keys used by the JMH benchmarks. Key number i is the same
+ * in every run, keys with different numbers are always different, and the
+ * keys are spread out rather than sequential.
+ *
+ * The key types are "Integer", "ShortString" (about 9 characters) and
+ * "LongString" (about 70 characters that share a long prefix, so equals()
+ * has to compare most of the string).
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public final class BenchmarkKeys {
+
+    private static final String LONG_PREFIX =
+            "com.example.inventory.warehouse.section.shelf.item-";
+
+    private BenchmarkKeys() {
+    }
+
+    /**
+     * Returns keys number first to first + count - 1.
+     * @param keyType "Integer", "ShortString" or "LongString"
+     * @param first the number of the first key
+     * @param count the number of keys
+     * @return the keys
+     */
+    public static Object[] keys(String keyType, int first, int count) {
+        Object[] keys = new Object[count];
+        for(int i = 0; i < count; i++){
+            keys[i] = key(keyType, first + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns lookups into a structure holding keys 0 to size - 1. Each
+     * lookup hits with the given probability, and misses use keys from
+     * size onwards.
+     * @param keyType "Integer", "ShortString" or "LongString"
+     * @param size the number of keys in the structure
+     * @param hitRatio the share of lookups that hit, between 0 and 1
+     * @param count the number of lookups
+     * @return the lookups, in random order
+     */
+    public static Object[] lookups(String keyType, int size, double hitRatio, int count) {
+        Random random = new Random(size * 31L + count);
+        Object[] lookups = new Object[count];
+        for(int i = 0; i < count; i++){
+            int number = random.nextDouble() < hitRatio ? random.nextInt(size) : size + random.nextInt(size);
+            lookups[i] = key(keyType, number);
+        }
+        return lookups;
+    }
+
+    private static Object key(String keyType, int number) {
+        //a bijection on int, so different numbers give different keys
+        int scrambled = number * 0x9e3779b1;
+        switch(keyType){
+            case "Integer":
+                return scrambled;
+            case "ShortString":
+                return "k" + Integer.toHexString(scrambled);
+            case "LongString":
+                return LONG_PREFIX + Integer.toHexString(scrambled);
+            default:
+                throw new IllegalArgumentException("Unknown key type: " + keyType);
+        }
+    }
+}
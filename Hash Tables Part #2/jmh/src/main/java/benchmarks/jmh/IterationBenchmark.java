@@ -0,0 +1,110 @@
+package benchmarks.jmh;
+
+import helpers.KeyValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import structures.Map;
+import structures.Set;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one full pass of an iterator over a Set and a Map against
+ * java.util.HashSet and java.util.HashMap. Results are per pass, so divide
+ * by the size for the time per element.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IterationBenchmark {
+
+    public static class SetState extends KeysState {
+        public Set<Object> set;
+
+        @Setup
+        public void setup() {
+            set = new Set<>();
+            for(Object key : presentKeys()){
+                set.add(key);
+            }
+        }
+    }
+
+    public static class HashSetState extends KeysState {
+        public HashSet<Object> set;
+
+        @Setup
+        public void setup() {
+            set = new HashSet<>();
+            for(Object key : presentKeys()){
+                set.add(key);
+            }
+        }
+    }
+
+    public static class MapState extends KeysState {
+        public Map<Object, Object> map;
+
+        @Setup
+        public void setup() {
+            map = new Map<>();
+            for(Object key : presentKeys()){
+                map.add(key, key);
+            }
+        }
+    }
+
+    public static class HashMapState extends KeysState {
+        public HashMap<Object, Object> map;
+
+        @Setup
+        public void setup() {
+            map = new HashMap<>();
+            for(Object key : presentKeys()){
+                map.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public void setIterator(SetState state, Blackhole blackhole) {
+        for(Object key : state.set){
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void hashSetIterator(HashSetState state, Blackhole blackhole) {
+        for(Object key : state.set){
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void mapIterator(MapState state, Blackhole blackhole) {
+        for(KeyValuePair<Object, Object> pair : state.map){
+            blackhole.consume(pair.getValue());
+        }
+    }
+
+    @Benchmark
+    public void hashMapIterator(HashMapState state, Blackhole blackhole) {
+        for(java.util.Map.Entry<Object, Object> entry : state.map.entrySet()){
+            blackhole.consume(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The parameters shared by the JMH benchmarks: the number of keys in the
+ * structure and the type of the keys. The states of the individual
+ * benchmarks extend it, so JMH only builds the structures a benchmark uses.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class KeysState {
+
+    /**
+     * The number of operations in one benchmark invocation, for the
+     * benchmarks that time a batch of lookups or updates.
+     */
+    public static final int BATCH = 1024;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"Integer", "ShortString", "LongString"})
+    public String keyType;
+
+    /**
+     * Returns the keys in the structure.
+     * @return keys 0 to size - 1
+     */
+    protected Object[] presentKeys() {
+        return BenchmarkKeys.keys(keyType, 0, size);
+    }
+
+    /**
+     * Returns a batch of keys that are not in the structure.
+     * @return BATCH keys from size * 2 onwards
+     */
+    protected Object[] absentKeys() {
+        return BenchmarkKeys.keys(keyType, size * 2, BATCH);
+    }
+}
@@ -0,0 +1,133 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import structures.HashTable;
+import structures.Map;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times HashTable.contains() and Map.get() against java.util.HashSet and
+ * java.util.HashMap, for a batch of lookups that hit with a given
+ * probability. Results are per lookup.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LookupBenchmark {
+
+    /**
+     * The keys plus the share of lookups that hit.
+     */
+    public static class LookupState extends KeysState {
+        @Param({"1.0", "0.5", "0.0"})
+        public double hitRatio;
+
+        public Object[] lookups;
+
+        protected void createLookups() {
+            lookups = BenchmarkKeys.lookups(keyType, size, hitRatio, BATCH);
+        }
+    }
+
+    public static class TableState extends LookupState {
+        public HashTable<Object> table;
+
+        @Setup
+        public void setup() {
+            table = new HashTable<>();
+            for(Object key : presentKeys()){
+                table.add(key);
+            }
+            createLookups();
+        }
+    }
+
+    public static class HashSetState extends LookupState {
+        public HashSet<Object> set;
+
+        @Setup
+        public void setup() {
+            set = new HashSet<>();
+            for(Object key : presentKeys()){
+                set.add(key);
+            }
+            createLookups();
+        }
+    }
+
+    public static class MapState extends LookupState {
+        public Map<Object, Object> map;
+
+        @Setup
+        public void setup() {
+            map = new Map<>();
+            for(Object key : presentKeys()){
+                map.add(key, key);
+            }
+            createLookups();
+        }
+    }
+
+    public static class HashMapState extends LookupState {
+        public HashMap<Object, Object> map;
+
+        @Setup
+        public void setup() {
+            map = new HashMap<>();
+            for(Object key : presentKeys()){
+                map.put(key, key);
+            }
+            createLookups();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public void hashTableContains(TableState state, Blackhole blackhole) {
+        for(Object key : state.lookups){
+            blackhole.consume(state.table.contains(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public void hashSetContains(HashSetState state, Blackhole blackhole) {
+        for(Object key : state.lookups){
+            blackhole.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public void mapGet(MapState state, Blackhole blackhole) {
+        for(Object key : state.lookups){
+            blackhole.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public void hashMapGet(HashMapState state, Blackhole blackhole) {
+        for(Object key : state.lookups){
+            blackhole.consume(state.map.get(key));
+        }
+    }
+}
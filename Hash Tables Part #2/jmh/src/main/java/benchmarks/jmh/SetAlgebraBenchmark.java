@@ -0,0 +1,102 @@
+package benchmarks.jmh;
+
+import interfaces.ISet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import structures.Set;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the Set union, intersection and difference of two sets of the same
+ * size that share half of their keys, against the usual java.util.HashSet
+ * idiom of copying one set and calling addAll(), retainAll() or removeAll().
+ * Results are per operation.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SetAlgebraBenchmark {
+
+    public static class SetState extends KeysState {
+        public Set<Object> first;
+        public Set<Object> second;
+
+        @Setup
+        public void setup() {
+            first = new Set<>();
+            second = new Set<>();
+            for(Object key : BenchmarkKeys.keys(keyType, 0, size)){
+                first.add(key);
+            }
+            for(Object key : BenchmarkKeys.keys(keyType, size / 2, size)){
+                second.add(key);
+            }
+        }
+    }
+
+    public static class HashSetState extends KeysState {
+        public HashSet<Object> first;
+        public HashSet<Object> second;
+
+        @Setup
+        public void setup() {
+            first = new HashSet<>();
+            second = new HashSet<>();
+            for(Object key : BenchmarkKeys.keys(keyType, 0, size)){
+                first.add(key);
+            }
+            for(Object key : BenchmarkKeys.keys(keyType, size / 2, size)){
+                second.add(key);
+            }
+        }
+    }
+
+    @Benchmark
+    public ISet<Object> setUnion(SetState state) {
+        return state.first.union(state.second);
+    }
+
+    @Benchmark
+    public HashSet<Object> hashSetUnion(HashSetState state) {
+        HashSet<Object> result = new HashSet<>(state.first);
+        result.addAll(state.second);
+        return result;
+    }
+
+    @Benchmark
+    public ISet<Object> setIntersects(SetState state) {
+        return state.first.intersects(state.second);
+    }
+
+    @Benchmark
+    public HashSet<Object> hashSetIntersects(HashSetState state) {
+        HashSet<Object> result = new HashSet<>(state.first);
+        result.retainAll(state.second);
+        return result;
+    }
+
+    @Benchmark
+    public ISet<Object> setDifference(SetState state) {
+        return state.first.difference(state.second);
+    }
+
+    @Benchmark
+    public HashSet<Object> hashSetDifference(HashSetState state) {
+        HashSet<Object> result = new HashSet<>(state.first);
+        result.removeAll(state.second);
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import structures.HashTable;
+import structures.Map;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times HashTable.add() and remove() and Map.add() against java.util.HashSet
+ * and java.util.HashMap. Each invocation adds a batch of new keys to a full
+ * structure and then removes them again, so the size stays the same across
+ * invocations; results are per add/remove pair. The Map is also timed
+ * replacing the values of keys it already holds.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UpdateBenchmark {
+
+    public static class TableState extends KeysState {
+        public HashTable<Object> table;
+        public Object[] absent;
+
+        @Setup
+        public void setup() {
+            table = new HashTable<>();
+            for(Object key : presentKeys()){
+                table.add(key);
+            }
+            absent = absentKeys();
+        }
+    }
+
+    public static class HashSetState extends KeysState {
+        public HashSet<Object> set;
+        public Object[] absent;
+
+        @Setup
+        public void setup() {
+            set = new HashSet<>();
+            for(Object key : presentKeys()){
+                set.add(key);
+            }
+            absent = absentKeys();
+        }
+    }
+
+    public static class MapState extends KeysState {
+        public Map<Object, Object> map;
+        public Object[] absent;
+        public Object[] present;
+
+        @Setup
+        public void setup() {
+            map = new Map<>();
+            for(Object key : presentKeys()){
+                map.add(key, key);
+            }
+            absent = absentKeys();
+            present = BenchmarkKeys.lookups(keyType, size, 1, BATCH);
+        }
+    }
+
+    public static class HashMapState extends KeysState {
+        public HashMap<Object, Object> map;
+        public Object[] absent;
+        public Object[] present;
+
+        @Setup
+        public void setup() {
+            map = new HashMap<>();
+            for(Object key : presentKeys()){
+                map.put(key, key);
+            }
+            absent = absentKeys();
+            present = BenchmarkKeys.lookups(keyType, size, 1, BATCH);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public HashTable<Object> hashTableAddRemove(TableState state) {
+        for(Object key : state.absent){
+            state.table.add(key);
+        }
+        for(Object key : state.absent){
+            state.table.remove(key);
+        }
+        return state.table;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public HashSet<Object> hashSetAddRemove(HashSetState state) {
+        for(Object key : state.absent){
+            state.set.add(key);
+        }
+        for(Object key : state.absent){
+            state.set.remove(key);
+        }
+        return state.set;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public Map<Object, Object> mapAddRemove(MapState state) {
+        for(Object key : state.absent){
+            state.map.add(key, key);
+        }
+        for(Object key : state.absent){
+            state.map.remove(key);
+        }
+        return state.map;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public HashMap<Object, Object> hashMapPutRemove(HashMapState state) {
+        for(Object key : state.absent){
+            state.map.put(key, key);
+        }
+        for(Object key : state.absent){
+            state.map.remove(key);
+        }
+        return state.map;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public Map<Object, Object> mapReplace(MapState state) {
+        for(Object key : state.present){
+            state.map.add(key, key);
+        }
+        return state.map;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeysState.BATCH)
+    public HashMap<Object, Object> hashMapReplace(HashMapState state) {
+        for(Object key : state.present){
+            state.map.put(key, key);
+        }
+        return state.map;
+    }
+}
@@ -0,0 +1,118 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Small helpers shared by the benchmark programs in this package: timing,
+ * heap measurements and test data generation. Each benchmark is a plain
+ * main() program so it can be run straight from the IDE.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    //keeps results alive so the JIT cannot throw the measured work away
+    private static volatile long sink;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs a task a few times to warm up the JIT, then reports the best
+     * time per operation over several rounds.
+     *
+     * @param label the name printed next to the result
+     * @param operations the number of operations performed by one run of the task
+     * @param task the work to time; its result is consumed so it is not optimized away
+     * @return the best time per operation, in nanoseconds
+     */
+    public static double time(String label, long operations, Supplier<?> task) {
+        for(int i = 0; i < WARMUP_ROUNDS; i++){
+            consume(task.get());
+        }
+
+        long best = Long.MAX_VALUE;
+        for(int i = 0; i < MEASURED_ROUNDS; i++){
+            long start = System.nanoTime();
+            consume(task.get());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double perOperation = (double) best / operations;
+        System.out.printf("%-45s %10.2f ns/op%n", label, perOperation);
+        return perOperation;
+    }
+
+    /**
+     * Reports how many bytes of heap the structure built by the supplier
+     * retains per element.
+     *
+     * @param label the name printed next to the result
+     * @param elements the number of elements the structure holds
+     * @param builder builds the structure to measure
+     * @return the retained bytes per element
+     */
+    public static double bytesPerElement(String label, int elements, Supplier<?> builder) {
+        long before = usedMemory();
+        Object structure = builder.get();
+        long after = usedMemory();
+        consume(structure);
+
+        double perElement = (double) (after - before) / elements;
+        System.out.printf("%-45s %10.2f bytes/element%n", label, perElement);
+        return perElement;
+    }
+
+    /**
+     * Returns the heap in use after asking the garbage collector to run.
+     * @return used heap in bytes
+     */
+    public static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++){
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns a repeatable array of random ints.
+     * @param count the number of ints
+     * @param seed the random seed
+     * @return the random ints
+     */
+    public static int[] randomInts(int count, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[count];
+        for(int i = 0; i < count; i++){
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    /**
+     * Keeps a value alive so the measured work is not optimized away.
+     * @param value any value
+     */
+    public static void consume(Object value) {
+        sink += value == null ? 0 : System.identityHashCode(value);
+    }
+
+    /**
+     * Keeps a number alive so the measured work is not optimized away.
+     * @param value any number
+     */
+    public static void consume(long value) {
+        sink += value;
+    }
+}
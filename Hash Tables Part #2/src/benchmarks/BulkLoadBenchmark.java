@@ -0,0 +1,83 @@
+package benchmarks;
+
+import structures.HashTable;
+import structures.Map;
+import structures.Set;
+
+/**
+ * Compares loading a large number of elements one at a time into a default
+ * sized HashTable, Set and Map against presized construction and the bulk
+ * addAll() operations.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class BulkLoadBenchmark {
+
+    private static final int ELEMENTS = 5_000_000;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        Integer[] keys = new Integer[elements];
+        int[] random = Benchmarks.randomInts(elements, 4);
+        for(int i = 0; i < elements; i++){
+            keys[i] = random[i];
+        }
+
+        Set<Integer> source = new Set<>(elements);
+        Map<Integer, Integer> sourceMap = new Map<>(elements);
+        for(Integer key : keys){
+            source.add(key);
+            sourceMap.add(key, key);
+        }
+
+        System.out.println("Elements: " + elements);
+
+        Benchmarks.time("HashTable add() one by one", elements, () -> {
+            HashTable<Integer> table = new HashTable<>();
+            for(Integer key : keys){
+                table.add(key);
+            }
+            return table;
+        });
+        Benchmarks.time("HashTable presized add()", elements, () -> {
+            HashTable<Integer> table = new HashTable<>(elements);
+            for(Integer key : keys){
+                table.add(key);
+            }
+            return table;
+        });
+        Benchmarks.time("HashTable addAll(set)", elements, () -> {
+            HashTable<Integer> table = new HashTable<>();
+            table.addAll(source);
+            return table;
+        });
+
+        Benchmarks.time("Set add() one by one", elements, () -> {
+            Set<Integer> set = new Set<>();
+            for(Integer key : source){
+                set.add(key);
+            }
+            return set;
+        });
+        Benchmarks.time("Set addAll(set)", elements, () -> {
+            Set<Integer> set = new Set<>();
+            set.addAll(source);
+            return set;
+        });
+
+        Benchmarks.time("Map add() one by one", elements, () -> {
+            Map<Integer, Integer> map = new Map<>();
+            for(Integer key : keys){
+                map.add(key, key);
+            }
+            return map;
+        });
+        Benchmarks.time("Map addAll(map)", elements, () -> {
+            Map<Integer, Integer> map = new Map<>();
+            map.addAll(sourceMap);
+            return map;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import helpers.KeyValuePair;
+import structures.CacheMap;
+import structures.Map;
+
+import java.util.Random;
+
+/**
+ * Runs a skewed (Zipf-like) stream of lookups through a cache that loads
+ * missing keys, and reports the time per lookup and the hit rate. It
+ * compares CacheMap, with and without TinyLFU, against a plain Map that
+ * evicts by scanning for the oldest timestamp.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class CacheBenchmark {
+
+    private static final int CACHE_SIZE = 10_000;
+    private static final int KEY_SPACE = 1_000_000;
+    private static final int LOOKUPS = 1_000_000;
+    //the scanning map is slow enough to need far fewer lookups
+    private static final int SCAN_LOOKUPS = 100_000;
+
+    public static void main(String[] args) {
+        int[] keys = zipfKeys(LOOKUPS, 15);
+
+        System.out.println("Cache size: " + CACHE_SIZE + ", key space: " + KEY_SPACE);
+        for(boolean tinyLfu : new boolean[]{false, true}){
+            String label = tinyLfu ? "CacheMap (TinyLFU)" : "CacheMap (LRU)";
+            Benchmarks.time(label, LOOKUPS, () -> {
+                CacheMap<Integer, Integer> cache = new CacheMap<>(CACHE_SIZE, tinyLfu);
+                for(int key : keys){
+                    if(cache.get(key) == null){
+                        cache.add(key, key);
+                    }
+                }
+                return cache;
+            });
+
+            CacheMap<Integer, Integer> cache = new CacheMap<>(CACHE_SIZE, tinyLfu);
+            for(int key : keys){
+                if(cache.get(key) == null){
+                    cache.add(key, key);
+                }
+            }
+            System.out.printf("%-45s %10.2f %%%n", label + " hit rate", cache.hitRate() * 100);
+        }
+
+        Benchmarks.time("Map with scanning eviction", SCAN_LOOKUPS, () -> {
+            Map<Integer, Long> lastUse = new Map<>();
+            long clock = 0;
+            for(int i = 0; i < SCAN_LOOKUPS; i++){
+                if(lastUse.get(keys[i]) == null && lastUse.size() == CACHE_SIZE){
+                    Integer oldest = null;
+                    long oldestUse = Long.MAX_VALUE;
+                    for(KeyValuePair<Integer, Long> pair : lastUse){
+                        if(pair.getValue() < oldestUse){
+                            oldest = pair.getKey();
+                            oldestUse = pair.getValue();
+                        }
+                    }
+                    lastUse.remove(oldest);
+                }
+                lastUse.add(keys[i], clock++);
+            }
+            return lastUse;
+        });
+    }
+
+    //draws keys with probability proportional to 1 / rank
+    private static int[] zipfKeys(int count, long seed) {
+        Random random = new Random(seed);
+        double logSpace = Math.log(KEY_SPACE);
+        int[] keys = new int[count];
+        for(int i = 0; i < count; i++){
+            keys[i] = (int) Math.exp(random.nextDouble() * logSpace);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import structures.HashTable;
+
+/**
+ * Measures lookups of Strings that all share one hash code ("Aa" and "BB"
+ * hash the same, so every string built from them collides). With chains
+ * this is O(n) per lookup; with treeified buckets it grows as O(log n).
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class CollisionBenchmark {
+
+    private static final int MAX_BITS = 16;
+
+    public static void main(String[] args) {
+        int maxBits = args.length > 0 ? Integer.parseInt(args[0]) : MAX_BITS;
+
+        for(int bits = 8; bits <= maxBits; bits += 2){
+            String[] keys = collidingStrings(bits);
+
+            HashTable<String> table = new HashTable<>();
+            for(String key : keys){
+                table.add(key);
+            }
+
+            Benchmarks.time(keys.length + " colliding keys contains", keys.length, () -> {
+                int found = 0;
+                for(String key : keys){
+                    if(table.contains(key)){
+                        found++;
+                    }
+                }
+                return found;
+            });
+        }
+    }
+
+    //every combination of "Aa" and "BB" of the given length has the same hash code
+    private static String[] collidingStrings(int bits) {
+        String[] keys = new String[1 << bits];
+        for(int i = 0; i < keys.length; i++){
+            StringBuilder builder = new StringBuilder();
+            for(int bit = 0; bit < bits; bit++){
+                builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+        }
+        return keys;
+    }
+}
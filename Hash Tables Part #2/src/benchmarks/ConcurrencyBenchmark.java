@@ -0,0 +1,108 @@
+package benchmarks;
+
+import interfaces.ISet;
+import structures.ConcurrentSet;
+import structures.Set;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures throughput from 1 up to N threads for a read-mostly workload
+ * (90% contains, 5% add, 5% remove) against a ConcurrentSet, and against a
+ * structures.Set guarded by one global lock as the baseline.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int KEY_RANGE = 1_000_000;
+    private static final long RUN_MILLIS = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for(int threads = 1; threads <= maxThreads; threads *= 2){
+            double locked = run(threads, new LockedSet(), threads == 1);
+            double concurrent = run(threads, new ConcurrentSet<>(), threads == 1);
+            System.out.printf("%3d threads: global lock %8.2f Mops/s, ConcurrentSet %8.2f Mops/s%n",
+                    threads, locked, concurrent);
+        }
+    }
+
+    private static double run(int threads, ISet<Integer> set, boolean warmUp) throws InterruptedException {
+        for(int i = 0; i < KEY_RANGE; i += 2){
+            set.add(i);
+        }
+        if(warmUp){
+            measure(threads, set);
+        }
+        return measure(threads, set);
+    }
+
+    private static double measure(int threads, ISet<Integer> set) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        Thread[] workers = new Thread[threads];
+
+        for(int t = 0; t < threads; t++){
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while(System.currentTimeMillis() < deadline){
+                    for(int i = 0; i < 1000; i++){
+                        int key = random.nextInt(KEY_RANGE);
+                        int choice = random.nextInt(100);
+                        if(choice < 90){
+                            set.contains(key);
+                        } else if(choice < 95){
+                            set.add(key);
+                        } else if(set.contains(key)){
+                            try {
+                                set.remove(key);
+                            } catch (RuntimeException e) {
+                                //another thread removed it first
+                            }
+                        }
+                    }
+                    done += 1000;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for(Thread worker : workers){
+            worker.join();
+        }
+        return operations.sum() / (RUN_MILLIS * 1000.0);
+    }
+
+    //a Set shared between threads the way it is done today: one lock around everything
+    private static final class LockedSet extends Set<Integer> {
+        @Override
+        public synchronized void add(Integer element) {
+            super.add(element);
+        }
+
+        @Override
+        public synchronized void remove(Integer element) {
+            super.remove(element);
+        }
+
+        @Override
+        public synchronized boolean contains(Integer element) {
+            return super.contains(element);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import structures.BloomFilter;
+import structures.Set;
+
+/**
+ * Measures Set.contains() when most lookups miss, on a plain set and on one
+ * with a Bloom filter in front of its table, and reports the filter's
+ * statistics.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FilterBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+        int[] random = Benchmarks.randomInts(LOOKUPS, 14);
+        String[] lookups = new String[LOOKUPS];
+        for(int i = 0; i < LOOKUPS; i++){
+            //one lookup in ten hits
+            int element = Math.floorMod(random[i], elements * 10);
+            lookups[i] = "element" + element;
+        }
+
+        Set<String> plain = new Set<>(elements);
+        Set<String> filtered = new Set<>(elements, FALSE_POSITIVE_RATE);
+        for(int i = 0; i < elements; i++){
+            plain.add("element" + i);
+            filtered.add("element" + i);
+        }
+
+        System.out.println("Elements: " + elements + ", lookups per run: " + LOOKUPS + " (90% misses)");
+        Benchmarks.time("contains()", LOOKUPS, () -> count(plain, lookups));
+        Benchmarks.time("contains() with Bloom filter", LOOKUPS, () -> count(filtered, lookups));
+
+        BloomFilter<String> filter = filtered.lookupFilter();
+        System.out.println(filter);
+        System.out.printf("Estimated false positive rate: %.4f%n", filter.expectedFalsePositiveRate());
+    }
+
+    private static long count(Set<String> set, String[] lookups) {
+        long found = 0;
+        for(String lookup : lookups){
+            found += set.contains(lookup) ? 1 : 0;
+        }
+        return found;
+    }
+}
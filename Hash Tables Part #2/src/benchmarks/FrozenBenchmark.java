@@ -0,0 +1,57 @@
+package benchmarks;
+
+import structures.FrozenMap;
+import structures.Map;
+
+/**
+ * Compares a Map with the FrozenMap built from it by freeze(): retained heap
+ * per pair, lookup time with half of the lookups missing, and the time the
+ * freeze itself takes.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FrozenBenchmark {
+
+    private static final int PAIRS = 1_000_000;
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : PAIRS;
+        int[] random = Benchmarks.randomInts(pairs * 2, 13);
+        Integer[] keys = new Integer[random.length];
+        for(int i = 0; i < keys.length; i++){
+            keys[i] = random[i];
+        }
+
+        System.out.println("Pairs: " + pairs + ", lookups per run: " + keys.length);
+        //the keys and values are shared, so only the structures are counted
+        Benchmarks.bytesPerElement("Map", pairs, () -> build(keys, pairs));
+        Map<Integer, Integer> map = build(keys, pairs);
+        Benchmarks.bytesPerElement("FrozenMap", pairs, map::freeze);
+        Benchmarks.time("freeze()", pairs, map::freeze);
+
+        FrozenMap<Integer, Integer> frozen = map.freeze();
+        Benchmarks.time("Map.get()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += map.get(key) != null ? 1 : 0;
+            }
+            return found;
+        });
+        Benchmarks.time("FrozenMap.get()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += frozen.get(key) != null ? 1 : 0;
+            }
+            return found;
+        });
+    }
+
+    private static Map<Integer, Integer> build(Integer[] keys, int pairs) {
+        Map<Integer, Integer> map = new Map<>();
+        for(int i = 0; i < pairs; i++){
+            map.add(keys[i * 2], keys[i * 2 + 1]);
+        }
+        return map;
+    }
+}
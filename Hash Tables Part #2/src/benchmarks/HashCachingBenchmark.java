@@ -0,0 +1,95 @@
+package benchmarks;
+
+import structures.HashTable;
+import structures.HashTable.IndexingMode;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Measures HashTable inserts (which include every resize) and lookups for
+ * keys that are expensive to hash and compare: long Strings that share a
+ * long common prefix, and a composite key whose hashCode() is recomputed on
+ * every call. Run it before and after a change to HashTable to compare.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class HashCachingBenchmark {
+
+    private static final int ELEMENTS = 500_000;
+    private static final int PREFIX_LENGTH = 200;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        char[] prefix = new char[PREFIX_LENGTH];
+        Arrays.fill(prefix, 'x');
+        String common = new String(prefix);
+
+        int[] random = Benchmarks.randomInts(elements, 5);
+        String[] strings = new String[elements];
+        CompositeKey[] composites = new CompositeKey[elements];
+        for(int i = 0; i < elements; i++){
+            strings[i] = common + random[i];
+            composites[i] = new CompositeKey(common, random[i], i);
+        }
+
+        System.out.println("Elements: " + elements);
+        for(IndexingMode mode : IndexingMode.values()){
+            run(mode + " long String", mode, strings);
+            run(mode + " composite key", mode, composites);
+        }
+    }
+
+    private static <T> void run(String name, IndexingMode mode, T[] keys) {
+        Benchmarks.time(name + " add", keys.length, () -> {
+            HashTable<T> table = new HashTable<>(mode);
+            for(T key : keys){
+                table.add(key);
+            }
+            return table;
+        });
+
+        HashTable<T> table = new HashTable<>(mode);
+        for(T key : keys){
+            table.add(key);
+        }
+        Benchmarks.time(name + " contains", keys.length, () -> {
+            int found = 0;
+            for(T key : keys){
+                if(table.contains(key)){
+                    found++;
+                }
+            }
+            return found;
+        });
+    }
+
+    //a key that hashes all of its fields on every call, like most hand-written keys
+    private static final class CompositeKey {
+        private final String name;
+        private final int id;
+        private final long version;
+
+        CompositeKey(String name, int id, long version) {
+            this.name = name;
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof CompositeKey)){
+                return false;
+            }
+            CompositeKey key = (CompositeKey) other;
+            return name.equals(key.name) && id == key.id && version == key.version;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, id, version);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import structures.HashTable;
+import structures.HashTable.IndexingMode;
+
+import java.util.Random;
+
+/**
+ * Compares lookups in HashTable's MODULO and POWER_OF_TWO indexing modes
+ * for poorly distributed keys: sequential Integers and Integers that are
+ * all multiples of 1024. Keys are looked up in a shuffled order so the
+ * results are not dominated by walking the bucket array front to back.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class IndexingBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+    private static final int STRIDE = 1024;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        Integer[] sequential = new Integer[elements];
+        Integer[] strided = new Integer[elements];
+        for(int i = 0; i < elements; i++){
+            sequential[i] = i;
+            strided[i] = i * STRIDE;
+        }
+
+        System.out.println("Elements: " + elements);
+        for(IndexingMode mode : IndexingMode.values()){
+            System.out.println();
+            run(mode + " sequential", mode, sequential);
+            run(mode + " stride " + STRIDE, mode, strided);
+        }
+    }
+
+    private static void run(String name, IndexingMode mode, Integer[] keys) {
+        HashTable<Integer> table = new HashTable<>(mode);
+        for(Integer key : keys){
+            table.add(key);
+        }
+
+        Integer[] lookups = shuffle(keys);
+        Benchmarks.time(name + " contains", lookups.length, () -> {
+            int found = 0;
+            for(Integer key : lookups){
+                if(table.contains(key)){
+                    found++;
+                }
+            }
+            return found;
+        });
+    }
+
+    private static Integer[] shuffle(Integer[] keys) {
+        Integer[] shuffled = keys.clone();
+        Random random = new Random(7);
+        for(int i = shuffled.length - 1; i > 0; i--){
+            int j = random.nextInt(i + 1);
+            Integer swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        return shuffled;
+    }
+}
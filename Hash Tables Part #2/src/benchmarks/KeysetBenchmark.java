@@ -0,0 +1,40 @@
+package benchmarks;
+
+import structures.Map;
+
+/**
+ * Measures the common pattern of calling map.keyset().contains(key) and
+ * map.values() inside a loop. Run it before and after a change to Map to
+ * compare.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class KeysetBenchmark {
+
+    private static final int PAIRS = 10_000;
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : PAIRS;
+        Map<Integer, Integer> map = new Map<>();
+        for(int i = 0; i < pairs; i++){
+            map.add(i, i % 100);
+        }
+
+        System.out.println("Pairs: " + pairs);
+        Benchmarks.time("keyset().contains() per key", pairs, () -> {
+            int found = 0;
+            for(int i = 0; i < pairs; i++){
+                found += map.keyset().contains(i) ? 1 : 0;
+            }
+            return found;
+        });
+        Benchmarks.time("values().size() per key", pairs, () -> {
+            long total = 0;
+            for(int i = 0; i < pairs; i++){
+                total += map.values().size();
+            }
+            return total;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import interfaces.ICollection;
+import structures.HashTable;
+import structures.LinkedHashTable;
+
+import java.util.function.Supplier;
+
+/**
+ * Compares HashTable with LinkedHashTable: retained heap per element,
+ * iteration over a full table, and iteration after 99% of the elements
+ * have been removed.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class LinkedIterationBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+    private static final int KEPT_EVERY = 100;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+        Integer[] values = new Integer[elements];
+        for(int i = 0; i < elements; i++){
+            values[i] = i;
+        }
+
+        System.out.println("Elements: " + elements);
+        run("HashTable", values, HashTable::new);
+        run("LinkedHashTable", values, LinkedHashTable::new);
+    }
+
+    private static void run(String label, Integer[] values, Supplier<ICollection<Integer>> factory) {
+        //the Integers are shared, so only the table itself is counted
+        Benchmarks.bytesPerElement(label, values.length, () -> fill(factory.get(), values));
+
+        ICollection<Integer> table = fill(factory.get(), values);
+        Benchmarks.time(label + " iteration", values.length, () -> sum(table));
+
+        for(int i = 0; i < values.length; i++){
+            if(i % KEPT_EVERY != 0){
+                table.remove(values[i]);
+            }
+        }
+        Benchmarks.time(label + " iteration after removals", table.size(), () -> sum(table));
+    }
+
+    private static ICollection<Integer> fill(ICollection<Integer> table, Integer[] values) {
+        for(Integer value : values){
+            table.add(value);
+        }
+        return table;
+    }
+
+    private static long sum(ICollection<Integer> table) {
+        long sum = 0;
+        for(int value : table){
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import structures.Map;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures Map.get() and Map.keyExists() on a map of Integer keys, half of
+ * the lookups hitting and half missing, and reports how many bytes each
+ * lookup allocates. Run it before and after a change to Map or HashTable to
+ * compare.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class MapLookupBenchmark {
+
+    private static final int PAIRS = 500_000;
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : PAIRS;
+        int[] random = Benchmarks.randomInts(pairs * 2, 11);
+        Integer[] keys = new Integer[random.length];
+        Map<Integer, Integer> map = new Map<>();
+        for(int i = 0; i < keys.length; i++){
+            keys[i] = random[i];
+            if(i % 2 == 0){
+                map.add(keys[i], i);
+            }
+        }
+
+        System.out.println("Pairs: " + pairs + ", lookups per run: " + keys.length);
+        Benchmarks.time("get()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += map.get(key) != null ? 1 : 0;
+            }
+            return found;
+        });
+        Benchmarks.time("keyExists()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += map.keyExists(key) ? 1 : 0;
+            }
+            return found;
+        });
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long found = 0;
+        for(Integer key : keys){
+            found += map.get(key) != null ? 1 : 0;
+            found += map.keyExists(key) ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Benchmarks.consume(found);
+        System.out.printf("%-45s %10.2f bytes/op%n", "get() + keyExists() allocation",
+                (double) allocated / (keys.length * 2));
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import structures.Map;
+
+/**
+ * Measures a word-count style counter update loop on Map, once written as
+ * get() followed by add() and once as a single merge() call. Run it before
+ * and after a change to Map or HashTable to compare.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class MapUpsertBenchmark {
+
+    private static final int UPDATES = 2_000_000;
+    private static final int KEYS = 50_000;
+
+    public static void main(String[] args) {
+        int updates = args.length > 0 ? Integer.parseInt(args[0]) : UPDATES;
+        int[] random = Benchmarks.randomInts(updates, 10);
+        String[] words = new String[updates];
+        for(int i = 0; i < updates; i++){
+            words[i] = "word" + Math.floorMod(random[i], KEYS);
+        }
+
+        System.out.println("Updates: " + updates + ", keys: " + KEYS);
+        Benchmarks.time("get() + add()", updates, () -> {
+            Map<String, Integer> counts = new Map<>();
+            for(String word : words){
+                Integer count = counts.get(word);
+                counts.add(word, count == null ? 1 : count + 1);
+            }
+            return counts;
+        });
+        Benchmarks.time("merge()", updates, () -> {
+            Map<String, Integer> counts = new Map<>();
+            for(String word : words){
+                counts.merge(word, 1, Integer::sum);
+            }
+            return counts;
+        });
+    }
+}
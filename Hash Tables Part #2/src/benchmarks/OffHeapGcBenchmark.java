@@ -0,0 +1,75 @@
+package benchmarks;
+
+import interfaces.IMap;
+import structures.Map;
+import structures.OffHeapMap;
+import structures.OffHeapMap.Serializer;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Fills a Map<Long, Long> and an OffHeapMap<Long, Long> with growing numbers
+ * of pairs and reports how much heap each retains, how long a full
+ * collection takes and how much time the collector spends while the
+ * program churns through short lived garbage. Run it with a heap big enough
+ * for the largest on-heap map, e.g. -Xmx4g.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class OffHeapGcBenchmark {
+
+    private static final int[] SIZES = {1_000_000, 2_000_000, 4_000_000};
+    private static final int CHURN_ALLOCATIONS = 20_000_000;
+
+    public static void main(String[] args) {
+        int[] sizes = SIZES;
+        if(args.length > 0){
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-12s %10s %14s %14s %14s%n",
+                "map", "pairs", "heap MB", "full GC ms", "churn GC ms");
+        for(int size : sizes){
+            run("Map", size, new Map<>());
+            run("OffHeapMap", size, new OffHeapMap<>(Serializer.longs(), Serializer.longs()));
+        }
+    }
+
+    private static void run(String name, int size, IMap<Long, Long> map) {
+        long before = Benchmarks.usedMemory();
+        for(long key = 0; key < size; key++){
+            map.add(key * 31, key);
+        }
+        long heap = Benchmarks.usedMemory() - before;
+
+        long start = System.nanoTime();
+        System.gc();
+        long fullGc = System.nanoTime() - start;
+
+        long collectorTime = collectionTime();
+        //the ring keeps each allocation reachable for a moment so it is not optimized away
+        Object[] ring = new Object[1024];
+        for(int i = 0; i < CHURN_ALLOCATIONS; i++){
+            ring[i & (ring.length - 1)] = new long[4];
+        }
+        long churnGc = collectionTime() - collectorTime;
+
+        Benchmarks.consume(ring);
+        Benchmarks.consume(map.size());
+        System.out.printf("%-12s %10d %14.1f %14.1f %14d%n",
+                name, size, heap / 1e6, fullGc / 1e6, churnGc);
+    }
+
+    private static long collectionTime() {
+        long total = 0;
+        for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()){
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import structures.Set;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the sequential and parallel Set operations on two large sets
+ * that share half of their elements. The parallel operations run on the
+ * common ForkJoinPool; set -Djava.util.concurrent.ForkJoinPool.common.parallelism
+ * to try different numbers of threads.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ParallelSetBenchmark {
+
+    private static final int ELEMENTS = 5_000_000;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        Set<Integer> first = new Set<>(elements);
+        Set<Integer> second = new Set<>(elements);
+        for(int i = 0; i < elements; i++){
+            first.add(i);
+            second.add(i + elements / 2);
+        }
+
+        System.out.println("Elements per set: " + elements + ", cores: " +
+                Runtime.getRuntime().availableProcessors() + ", pool parallelism: " +
+                ForkJoinPool.commonPool().getParallelism());
+        Benchmarks.time("union", elements, () -> first.union(second));
+        Benchmarks.time("parallelUnion", elements, () -> first.parallelUnion(second));
+        Benchmarks.time("intersects", elements, () -> first.intersects(second));
+        Benchmarks.time("parallelIntersects", elements, () -> first.parallelIntersects(second));
+        Benchmarks.time("difference", elements, () -> first.difference(second));
+        Benchmarks.time("parallelDifference", elements, () -> first.parallelDifference(second));
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import structures.Map;
+import structures.PersistentMap;
+
+/**
+ * Compares two ways of keeping readable snapshots of a 500k-pair map while
+ * it changes: copying a Map for every change, and making a new version of a
+ * PersistentMap with plus(). Also reports retained heap per pair and lookup
+ * time for both.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PersistentBenchmark {
+
+    private static final int PAIRS = 500_000;
+    private static final int COPIES = 20;
+    private static final int VERSIONS = 100_000;
+
+    public static void main(String[] args) {
+        int[] random = Benchmarks.randomInts(PAIRS * 2, 25);
+        Integer[] keys = new Integer[random.length];
+        for(int i = 0; i < keys.length; i++){
+            keys[i] = random[i];
+        }
+
+        Map<Integer, Integer> map = new Map<>(PAIRS);
+        PersistentMap<Integer, Integer> persistent = new PersistentMap<>();
+        for(int i = 0; i < PAIRS; i++){
+            map.add(keys[i * 2], keys[i * 2 + 1]);
+            persistent = persistent.plus(keys[i * 2], keys[i * 2 + 1]);
+        }
+        PersistentMap<Integer, Integer> base = persistent;
+
+        System.out.println("Pairs: " + PAIRS);
+        Benchmarks.bytesPerElement("Map", PAIRS, () -> {
+            Map<Integer, Integer> copy = new Map<>(PAIRS);
+            copy.addAll(map);
+            return copy;
+        });
+        Benchmarks.bytesPerElement("PersistentMap", PAIRS, () -> new PersistentMap<>(map));
+
+        Benchmarks.time("copy Map, then add()", COPIES, () -> {
+            Map<Integer, Integer> latest = map;
+            for(int i = 0; i < COPIES; i++){
+                Map<Integer, Integer> copy = new Map<>(PAIRS);
+                copy.addAll(latest);
+                copy.add(keys[i * 2], i);
+                latest = copy;
+            }
+            return latest.size();
+        });
+        Benchmarks.time("PersistentMap.plus()", VERSIONS, () -> {
+            PersistentMap<Integer, Integer> latest = base;
+            for(int i = 0; i < VERSIONS; i++){
+                latest = latest.plus(keys[(i % PAIRS) * 2], i);
+            }
+            return latest.size();
+        });
+
+        Benchmarks.time("Map.get()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += map.get(key) != null ? 1 : 0;
+            }
+            return found;
+        });
+        Benchmarks.time("PersistentMap.get()", keys.length, () -> {
+            long found = 0;
+            for(Integer key : keys){
+                found += base.get(key) != null ? 1 : 0;
+            }
+            return found;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import structures.Int2ObjectMap;
+import structures.IntHashSet;
+import structures.Long2ObjectMap;
+import structures.LongHashSet;
+import structures.Map;
+import structures.Set;
+
+/**
+ * Compares the heap retained per element and the lookup speed of the
+ * primitive specialized collections with the boxed Set<Integer> and
+ * Map<Long, V>. The map values are shared, so only the cost of the keys and
+ * the table itself is measured.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PrimitiveMemoryBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+        int[] keys = Benchmarks.randomInts(elements, 8);
+        String value = "value";
+
+        System.out.println("Elements: " + elements);
+        Benchmarks.bytesPerElement("Set<Integer>", elements, () -> boxedSet(keys));
+        Benchmarks.bytesPerElement("IntHashSet", elements, () -> intSet(keys));
+        Benchmarks.bytesPerElement("LongHashSet", elements, () -> longSet(keys));
+        Benchmarks.bytesPerElement("Map<Long, String>", elements, () -> {
+            Map<Long, String> map = new Map<>();
+            for(int key : keys){
+                map.add((long) key, value);
+            }
+            return map;
+        });
+        Benchmarks.bytesPerElement("Long2ObjectMap<String>", elements, () -> {
+            Long2ObjectMap<String> map = new Long2ObjectMap<>();
+            for(int key : keys){
+                map.add(key, value);
+            }
+            return map;
+        });
+        Benchmarks.bytesPerElement("Int2ObjectMap<String>", elements, () -> {
+            Int2ObjectMap<String> map = new Int2ObjectMap<>();
+            for(int key : keys){
+                map.add(key, value);
+            }
+            return map;
+        });
+
+        Set<Integer> boxed = boxedSet(keys);
+        IntHashSet primitive = intSet(keys);
+        Benchmarks.time("Set<Integer> contains", keys.length, () -> {
+            int found = 0;
+            for(int key : keys){
+                found += boxed.contains(key) ? 1 : 0;
+            }
+            return found;
+        });
+        Benchmarks.time("IntHashSet contains", keys.length, () -> {
+            int found = 0;
+            for(int key : keys){
+                found += primitive.contains(key) ? 1 : 0;
+            }
+            return found;
+        });
+    }
+
+    private static Set<Integer> boxedSet(int[] keys) {
+        Set<Integer> set = new Set<>();
+        for(int key : keys){
+            set.add(key);
+        }
+        return set;
+    }
+
+    private static IntHashSet intSet(int[] keys) {
+        IntHashSet set = new IntHashSet();
+        for(int key : keys){
+            set.add(key);
+        }
+        return set;
+    }
+
+    private static LongHashSet longSet(int[] keys) {
+        LongHashSet set = new LongHashSet();
+        for(int key : keys){
+            set.add(key);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import structures.HashTable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Measures removing half of the elements of a HashTable: collecting the
+ * matches and calling remove() for each one, removing them through the
+ * iterator, and removeIf(). Every run builds a fresh table first, so the
+ * time to build one is reported too.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class RemoveIfBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+
+    public static void main(String[] args) {
+        int[] elements = Benchmarks.randomInts(ELEMENTS, 24);
+
+        System.out.println("Elements: " + ELEMENTS + ", half of them removed (times include building the table)");
+        Benchmarks.time("build only", ELEMENTS, () -> build(elements));
+        Benchmarks.time("collect, then remove() each", ELEMENTS, () -> {
+            HashTable<Integer> table = build(elements);
+            List<Integer> matches = new ArrayList<>();
+            for(int element : table){
+                if((element & 1) == 0){
+                    matches.add(element);
+                }
+            }
+            for(Integer element : matches){
+                table.remove(element);
+            }
+            return table.size();
+        });
+        Benchmarks.time("Iterator.remove()", ELEMENTS, () -> {
+            HashTable<Integer> table = build(elements);
+            Iterator<Integer> iterator = table.iterator();
+            while(iterator.hasNext()){
+                if((iterator.next() & 1) == 0){
+                    iterator.remove();
+                }
+            }
+            return table.size();
+        });
+        Benchmarks.time("removeIf()", ELEMENTS, () -> {
+            HashTable<Integer> table = build(elements);
+            table.removeIf(element -> (element & 1) == 0);
+            return table.size();
+        });
+    }
+
+    private static HashTable<Integer> build(int[] elements) {
+        HashTable<Integer> table = new HashTable<>(ELEMENTS);
+        for(int element : elements){
+            table.add(element);
+        }
+        return table;
+    }
+}
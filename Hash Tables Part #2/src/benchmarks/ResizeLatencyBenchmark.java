@@ -0,0 +1,60 @@
+package benchmarks;
+
+import structures.HashTable;
+import structures.HashTable.IndexingMode;
+
+import java.util.Arrays;
+
+/**
+ * Records the latency of every single insert while a HashTable grows from
+ * empty, and reports the percentiles for the stop-the-world and incremental
+ * resize strategies. Each configuration is run a few times so the JIT has
+ * warmed up before the last (reported) run.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ResizeLatencyBenchmark {
+
+    private static final int ELEMENTS = 4_000_000;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        Integer[] keys = new Integer[elements];
+        int[] random = Benchmarks.randomInts(elements, 3);
+        for(int i = 0; i < elements; i++){
+            keys[i] = random[i];
+        }
+
+        System.out.println("Elements: " + elements);
+        for(IndexingMode mode : IndexingMode.values()){
+            run(mode + " stop-the-world", mode, false, keys);
+            run(mode + " incremental", mode, true, keys);
+        }
+    }
+
+    private static void run(String name, IndexingMode mode, boolean incremental, Integer[] keys) {
+        long[] latencies = new long[keys.length];
+
+        for(int run = 0; run < RUNS; run++){
+            HashTable<Integer> table = new HashTable<>(mode, incremental);
+            for(int i = 0; i < keys.length; i++){
+                long start = System.nanoTime();
+                table.add(keys[i]);
+                latencies[i] = System.nanoTime() - start;
+            }
+            Benchmarks.consume(table);
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%-35s p50 %6d  p99 %6d  p99.9 %6d  p99.99 %9d  max %10d (ns)%n", name,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                percentile(latencies, 0.9999), latencies[latencies.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, fraction * sorted.length)];
+    }
+}
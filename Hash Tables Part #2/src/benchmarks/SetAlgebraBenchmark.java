@@ -0,0 +1,40 @@
+package benchmarks;
+
+import structures.Set;
+
+/**
+ * Measures the Set operations on two sets of the same size that share half
+ * of their elements. The default is two sets of 1M elements; pass a smaller
+ * size to run the quadratic intersection of older versions in reasonable
+ * time.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class SetAlgebraBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+
+        //the second set starts half way through the first one
+        Set<Integer> first = new Set<>();
+        Set<Integer> second = new Set<>();
+        for(int i = 0; i < elements; i++){
+            first.add(i);
+            second.add(i + elements / 2);
+        }
+        Set<Integer> subset = new Set<>();
+        for(int i = 0; i < elements; i += 2){
+            subset.add(i);
+        }
+
+        System.out.println("Elements per set: " + elements);
+        Benchmarks.time("union", elements, () -> first.union(second));
+        Benchmarks.time("intersects", elements, () -> first.intersects(second));
+        Benchmarks.time("difference", elements, () -> first.difference(second));
+        Benchmarks.time("isSubset (true)", elements, () -> first.isSubset(subset));
+        Benchmarks.time("isDisjoint (false)", elements, () -> first.isDisjoint(second));
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import structures.HashTable;
+
+import java.util.HashSet;
+
+/**
+ * Measures a bursty workload: a table is filled with a million elements and
+ * drained back down to a thousand. It compares iterating the drained table
+ * (which has shrunk) with iterating a drained java.util.HashSet (which has
+ * not), and refilling the table after clear() and after clear(true).
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ShrinkBenchmark {
+
+    private static final int BURST = 1_000_000;
+    private static final int RESIDENT = 1_000;
+
+    public static void main(String[] args) {
+        HashTable<Integer> table = new HashTable<>(HashTable.IndexingMode.POWER_OF_TWO);
+        HashSet<Integer> hashSet = new HashSet<>();
+        for(int i = 0; i < BURST; i++){
+            table.add(i);
+            hashSet.add(i);
+        }
+        int grown = table.capacity();
+        for(int i = RESIDENT; i < BURST; i++){
+            table.remove(i);
+            hashSet.remove(i);
+        }
+
+        System.out.println("Buckets after the burst: " + grown + ", after draining: " + table.capacity());
+        Benchmarks.time("iterate drained HashTable", RESIDENT, () -> sum(table));
+        Benchmarks.time("iterate drained java.util.HashSet", RESIDENT, () -> sum(hashSet));
+
+        Benchmarks.time("refill after clear()", BURST, () -> refill(table, false));
+        Benchmarks.time("refill after clear(true)", BURST, () -> refill(table, true));
+    }
+
+    private static long sum(Iterable<Integer> elements) {
+        long sum = 0;
+        for(int element : elements){
+            sum += element;
+        }
+        return sum;
+    }
+
+    private static int refill(HashTable<Integer> table, boolean keepCapacity) {
+        table.clear(keepCapacity);
+        for(int i = 0; i < BURST; i++){
+            table.add(i);
+        }
+        return table.size();
+    }
+}
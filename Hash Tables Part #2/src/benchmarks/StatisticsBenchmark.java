@@ -0,0 +1,48 @@
+package benchmarks;
+
+import structures.HashTable;
+
+/**
+ * Measures what counting statistics costs HashTable.contains(), by timing
+ * the same lookups with statistics off and on, and prints the statistics
+ * of the table.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class StatisticsBenchmark {
+
+    private static final int ELEMENTS = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        int[] elements = Benchmarks.randomInts(ELEMENTS, 22);
+        int[] random = Benchmarks.randomInts(LOOKUPS, 23);
+        Integer[] lookups = new Integer[LOOKUPS];
+        for(int i = 0; i < LOOKUPS; i++){
+            //half of the lookups hit
+            lookups[i] = i % 2 == 0 ? elements[Math.floorMod(random[i], ELEMENTS)] : random[i];
+        }
+
+        HashTable<Integer> off = new HashTable<>(HashTable.IndexingMode.POWER_OF_TWO);
+        HashTable<Integer> on = new HashTable<>(HashTable.IndexingMode.POWER_OF_TWO);
+        on.enableStatistics();
+        for(int element : elements){
+            off.add(element);
+            on.add(element);
+        }
+
+        System.out.println("Elements: " + ELEMENTS + ", lookups per run: " + LOOKUPS);
+        Benchmarks.time("contains(), statistics off", LOOKUPS, () -> count(off, lookups));
+        Benchmarks.time("contains(), statistics on", LOOKUPS, () -> count(on, lookups));
+        System.out.println(on.statistics());
+    }
+
+    private static long count(HashTable<Integer> table, Integer[] lookups) {
+        long found = 0;
+        for(Integer lookup : lookups){
+            found += table.contains(lookup) ? 1 : 0;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import structures.HashTable;
+
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compares ways of visiting every element of a HashTable: the iterator,
+ * forEach(), and sequential and parallel streams built on the bucket
+ * spliterator or on the unsized spliterator Iterable provides by default.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class StreamBenchmark {
+
+    private static final int ELEMENTS = 2_000_000;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : ELEMENTS;
+        HashTable<Integer> table = new HashTable<>(elements);
+        for(int i = 0; i < elements; i++){
+            table.add(i);
+        }
+
+        System.out.println("Elements: " + elements + ", cores: " + Runtime.getRuntime().availableProcessors());
+        Benchmarks.time("iterator", elements, () -> {
+            long sum = 0;
+            for(int element : table){
+                sum += element;
+            }
+            return sum;
+        });
+        Benchmarks.time("forEach", elements, () -> {
+            long[] sum = {0};
+            table.forEach(element -> sum[0] += element);
+            return sum[0];
+        });
+        Benchmarks.time("stream", elements, () -> table.stream().mapToLong(i -> i).sum());
+        Benchmarks.time("parallelStream", elements, () -> table.parallelStream().mapToLong(i -> i).sum());
+        Benchmarks.time("parallel stream, unsized spliterator", elements, () ->
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(table.iterator(), 0), true)
+                        .mapToLong(i -> i).sum());
+    }
+}
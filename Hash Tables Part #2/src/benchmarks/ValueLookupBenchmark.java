@@ -0,0 +1,55 @@
+package benchmarks;
+
+import structures.Map;
+
+/**
+ * Measures Map.valueExists() on a map with and without the value index,
+ * half of the lookups hitting and half missing, along with the cost the
+ * index adds to building the map.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ValueLookupBenchmark {
+
+    private static final int PAIRS = 100_000;
+    private static final int LOOKUPS = 1000;
+    //the indexed lookups are fast enough to need repeating before the JIT compiles them
+    private static final int INDEXED_ROUNDS = 1000;
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : PAIRS;
+        int[] random = Benchmarks.randomInts(LOOKUPS, 12);
+        Integer[] values = new Integer[LOOKUPS];
+        for(int i = 0; i < LOOKUPS; i++){
+            //even values are in the map, odd values are not
+            values[i] = Math.floorMod(random[i], pairs) * 2 + i % 2;
+        }
+
+        System.out.println("Pairs: " + pairs + ", lookups per run: " + LOOKUPS);
+        for(boolean indexValues : new boolean[]{false, true}){
+            String label = indexValues ? " (indexed)" : "";
+            Benchmarks.time("build" + label, pairs, () -> build(pairs, indexValues));
+
+            Map<Integer, Integer> map = build(pairs, indexValues);
+            int rounds = indexValues ? INDEXED_ROUNDS : 1;
+            Benchmarks.time("valueExists()" + label, (long) LOOKUPS * rounds, () -> {
+                long found = 0;
+                for(int round = 0; round < rounds; round++){
+                    for(Integer value : values){
+                        found += map.valueExists(value) ? 1 : 0;
+                    }
+                }
+                return found;
+            });
+        }
+    }
+
+    private static Map<Integer, Integer> build(int pairs, boolean indexValues) {
+        Map<Integer, Integer> map = new Map<>(indexValues);
+        for(int i = 0; i < pairs; i++){
+            map.add(i, i * 2);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,200 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class represents a blocked Bloom filter. It answers whether an
+ * element might have been added: a false answer is always right, and a true
+ * answer is wrong with about the false positive rate chosen when the filter
+ * was created.
+ *
+ * All the bits of one element sit in the same 512-bit block (one cache line),
+ * so a lookup reads a single block. This costs a little accuracy compared
+ * with spreading the bits over the whole filter. Elements cannot be removed;
+ * use a CuckooFilter when they must be.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class BloomFilter<T> {
+
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;
+    private final double falsePositiveRate;
+
+    //statistics
+    private long insertions;
+    private long queries;
+    private long rejections;
+
+    /**
+     * Constructor that sizes the filter for a number of elements and a
+     * false positive rate.
+     *
+     * @throws IllegalArgumentException thrown when the expected number of
+     * elements is negative or the rate is not between 0 and 1
+     * @param expectedInsertions the number of elements that will be added
+     * @param falsePositiveRate the chance that mightContain() answers true
+     * for an element that was never added, such as 0.01
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if(expectedInsertions < 0){
+            throw new IllegalArgumentException("The expected number of insertions cannot be negative");
+        }
+        if(!(falsePositiveRate > 0 && falsePositiveRate < 1)){
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+
+        //the classic sizing: m = -n ln(p) / ln(2)^2 bits and k = m/n ln(2) hashes
+        int elements = Math.max(1, expectedInsertions);
+        double bits = -elements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        blocks = (int) Math.max(1, Math.ceil(bits / BITS_PER_BLOCK));
+        words = new long[blocks * WORDS_PER_BLOCK];
+        hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bits / elements * Math.log(2))));
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Adds an element to the filter.
+     * @param element the element to add
+     */
+    public void add(T element) {
+        int hash = Objects.hashCode(element);
+        int base = blockOf(hash) * WORDS_PER_BLOCK;
+        int bits = Hashing.spread((long) hash);
+        int step = (Hashing.spread(hash) << 9) | 1;
+        for(int i = 0; i < hashes; i++){
+            int bit = bits >>> 23;
+            words[base + (bit >>> 6)] |= 1L << bit;
+            bits += step;
+        }
+        insertions++;
+    }
+
+    /**
+     * Reports whether an element might have been added.
+     * @param element the element to search for
+     * @return false if the element was never added, true if it probably was
+     */
+    public boolean mightContain(Object element) {
+        queries++;
+        int hash = Objects.hashCode(element);
+        int base = blockOf(hash) * WORDS_PER_BLOCK;
+        int bits = Hashing.spread((long) hash);
+        int step = (Hashing.spread(hash) << 9) | 1;
+        //check every bit without branching; an early exit mispredicts on most misses
+        long missing = 0;
+        for(int i = 0; i < hashes; i++){
+            int bit = bits >>> 23;
+            missing |= ~words[base + (bit >>> 6)] & (1L << bit);
+            bits += step;
+        }
+        if(missing != 0){
+            rejections++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every element and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+        insertions = 0;
+        queries = 0;
+        rejections = 0;
+    }
+
+    /**
+     * Returns the false positive rate the filter was sized for.
+     * @return the configured false positive rate
+     */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Estimates the current false positive rate from the share of bits that
+     * are set. It rises above the configured rate once more elements are
+     * added than the filter was sized for.
+     * @return the estimated false positive rate
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount() / (words.length * (long) Long.SIZE), hashes);
+    }
+
+    /**
+     * Returns the number of times add() was called, duplicates included.
+     * @return the number of insertions
+     */
+    public long insertions() {
+        return insertions;
+    }
+
+    /**
+     * Returns the number of times mightContain() was called.
+     * @return the number of queries
+     */
+    public long queries() {
+        return queries;
+    }
+
+    /**
+     * Returns the number of queries that were answered false.
+     * @return the number of definite misses
+     */
+    public long rejections() {
+        return rejections;
+    }
+
+    /**
+     * Returns the number of bits that are set.
+     * @return the number of set bits
+     */
+    public long bitCount() {
+        long count = 0;
+        for(long word : words){
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the size of the filter in bits.
+     * @return the number of bits
+     */
+    public long bitSize() {
+        return words.length * (long) Long.SIZE;
+    }
+
+    /**
+     * Returns the number of bits set for each element.
+     * @return the number of hash functions
+     */
+    public int hashFunctions() {
+        return hashes;
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter{" +
+                "bits=" + bitSize() +
+                ", hashFunctions=" + hashes +
+                ", insertions=" + insertions +
+                ", queries=" + queries +
+                ", rejections=" + rejections +
+                '}';
+    }
+
+    private int blockOf(int hash) {
+        return (int) (((Hashing.spread(hash) & 0xffffffffL) * blocks) >>> 32);
+    }
+}
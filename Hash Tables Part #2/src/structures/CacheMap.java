@@ -0,0 +1,522 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class represents a Map with a maximum size, for caching. When a new
+ * pair would make the map too big, the least recently used pair is evicted.
+ * The entries are stored in a HashTable and also linked into a list in order
+ * of use, so finding and evicting the least recently used entry takes
+ * constant time.
+ *
+ * The map can also use the W-TinyLFU policy. New pairs then go into a small
+ * window (1% of the cache) that is itself least recently used. A pair leaving
+ * the window only stays if it has been used more often lately than the
+ * pair the main region would evict; otherwise it is evicted instead. This
+ * keeps a burst of one-off keys from pushing out popular ones. The main
+ * region here is a plain LRU list rather than the segmented one of the
+ * original policy.
+ *
+ * get() counts as a use; keyExists() and the views do not. Since a use
+ * reorders the pairs, calling get() while iterating makes the iterator
+ * throw a ConcurrentModificationException.
+ *
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class CacheMap<K, V> implements IMap<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+
+    private final HashTable<Entry<K, V>> table;
+    private final int maximumSize;
+
+    //most recently used first; the window list is empty without TinyLFU
+    private final Entry<K, V> window = new Entry<>(null, null);
+    private final Entry<K, V> main = new Entry<>(null, null);
+    private final int windowMaximum;
+    private int windowSize;
+
+    //null unless TinyLFU is used
+    private final FrequencySketch sketch;
+
+    //statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private int modCount;
+
+    /**
+     * Constructor that creates a least recently used cache.
+     * @param maximumSize the largest number of pairs the map holds
+     */
+    public CacheMap(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    /**
+     * Constructor that creates a cache that evicts the least recently used
+     * pair or, with TinyLFU, the less popular of two candidates.
+     *
+     * @throws IllegalArgumentException thrown when the maximum size is not positive
+     * @param maximumSize the largest number of pairs the map holds
+     * @param tinyLfu true to use the W-TinyLFU admission policy
+     */
+    public CacheMap(int maximumSize, boolean tinyLfu) {
+        if(maximumSize <= 0){
+            throw new IllegalArgumentException("The maximum size must be positive");
+        }
+
+        this.maximumSize = maximumSize;
+        table = new HashTable<>(maximumSize);
+        window.previous = window.next = window;
+        main.previous = main.next = main;
+        windowMaximum = tinyLfu ? Math.max(1, maximumSize * WINDOW_PERCENT / 100) : 0;
+        sketch = tinyLfu ? new FrequencySketch(maximumSize) : null;
+    }
+
+    /**
+     * Adds a key/value pair to the map, replacing the value of an existing
+     * key. Either way the pair becomes the most recently used one, and a
+     * new pair may cause another to be evicted.
+     * @param key the key
+     * @param value the value
+     */
+    @Override
+    public void add(K key, V value) {
+        if(sketch != null){
+            sketch.increment(key);
+        }
+
+        Entry<K, V> entry = table.getByKey(key);
+        if(entry != null){
+            entry.value = value;
+            moveToFront(entry);
+            return;
+        }
+
+        entry = new Entry<>(key, value);
+        table.add(entry);
+        modCount++;
+        if(sketch == null){
+            linkFirst(main, entry);
+            if(table.size() > maximumSize){
+                evict(main.previous);
+            }
+            return;
+        }
+
+        entry.inWindow = true;
+        linkFirst(window, entry);
+        windowSize++;
+        if(windowSize > windowMaximum){
+            admit(window.previous);
+        }
+    }
+
+    //moves the oldest window entry to the main region if it is more popular than main's victim
+    private void admit(Entry<K, V> candidate) {
+        unlink(candidate);
+        windowSize--;
+        candidate.inWindow = false;
+        linkFirst(main, candidate);
+        if(table.size() <= maximumSize){
+            return;
+        }
+
+        Entry<K, V> victim = main.previous;
+        if(victim != candidate && sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())){
+            evict(victim);
+        }
+        else{
+            evict(candidate);
+        }
+    }
+
+    private void evict(Entry<K, V> entry) {
+        unlink(entry);
+        table.removeByKey(entry.getKey());
+        evictions++;
+    }
+
+    /**
+     * Removes a key (and the associated value) from the map. If the key is
+     * not in the map then no change is made.
+     * @param key the key
+     */
+    @Override
+    public void remove(K key) {
+        Entry<K, V> entry = table.removeByKey(key);
+        if(entry == null){
+            return;
+        }
+
+        unlink(entry);
+        if(entry.inWindow){
+            windowSize--;
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns the value associated with a key and marks the pair as the
+     * most recently used one.
+     * @param key the key
+     * @return the value associated with the key, or null if it is missing
+     */
+    @Override
+    public V get(K key) {
+        if(sketch != null){
+            sketch.increment(key);
+        }
+
+        Entry<K, V> entry = table.getByKey(key);
+        if(entry == null){
+            misses++;
+            return null;
+        }
+
+        hits++;
+        moveToFront(entry);
+        return entry.value;
+    }
+
+    /**
+     * Reports whether the input key is in the map, without marking it as
+     * used.
+     * @param key the key
+     * @return true if the key is in the map, otherwise false
+     */
+    @Override
+    public boolean keyExists(K key) {
+        return table.getByKey(key) != null;
+    }
+
+    /**
+     * Reports whether any key has a value. This is a linear search.
+     * @param value the value to search for
+     * @return true if the value is found, otherwise false
+     */
+    @Override
+    public boolean valueExists(V value) {
+        for(KeyValuePair<K, V> pair : this){
+            if(Objects.equals(pair.getValue(), value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    /**
+     * Removes every pair. The statistics are kept.
+     */
+    @Override
+    public void clear() {
+        table.clear();
+        window.previous = window.next = window;
+        main.previous = main.next = main;
+        windowSize = 0;
+        if(sketch != null){
+            sketch.clear();
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns the largest number of pairs the map holds.
+     * @return the maximum size
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of get() calls that found their key.
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of get() calls that did not find their key.
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of pairs removed to stay within the maximum size,
+     * including new pairs that TinyLFU did not admit.
+     * @return the number of evictions
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the share of get() calls that found their key.
+     * @return the hit rate, or 0 if get() was never called
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns an iterator over the pairs of the map, most recently used
+     * first (the main region, then the TinyLFU window). Each pair is a new
+     * snapshot of its key and value, so later changes to the cache do not
+     * show up in pairs that were already returned.
+     * @return an iterator over the pairs
+     */
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator() {
+        return new Iterator<KeyValuePair<K, V>>() {
+            private final int expectedModCount = modCount;
+            private Entry<K, V> next = first(main.next);
+
+            //moves on to the window once the main list ends
+            private Entry<K, V> first(Entry<K, V> entry) {
+                return entry == main ? window.next : entry;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != window;
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if(expectedModCount != modCount){
+                    throw new ConcurrentModificationException("The map was changed during iteration");
+                }
+                if(!hasNext()){
+                    throw new NoSuchElementException("There are no more pairs");
+                }
+                Entry<K, V> current = next;
+                next = first(next.next);
+                return new KeyValuePair<>(current.getKey(), current.value);
+            }
+        };
+    }
+
+    /**
+     * Returns the keys of the map. The set is a view that does not change
+     * the order of use; keys can be removed from it but not added.
+     * @return the keys
+     */
+    @Override
+    public ISet<K> keyset() {
+        return new Set<>(new Keys());
+    }
+
+    /**
+     * Returns the values of the map, most recently used first. The
+     * collection cannot be changed.
+     * @return the values
+     */
+    @Override
+    public ICollection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMap{" +
+                "size=" + table.size() +
+                ", maximumSize=" + maximumSize +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    //reordering the list is a structural change for open iterators, as in an access-ordered LinkedHashMap
+    private void moveToFront(Entry<K, V> entry) {
+        unlink(entry);
+        linkFirst(entry.inWindow ? window : main, entry);
+        modCount++;
+    }
+
+    private static <K, V> void linkFirst(Entry<K, V> list, Entry<K, V> entry) {
+        entry.previous = list;
+        entry.next = list.next;
+        list.next.previous = entry;
+        list.next = entry;
+    }
+
+    private static <K, V> void unlink(Entry<K, V> entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+    }
+
+    /**
+     * A pair stored in the table that is also a node of an LRU list, so no
+     * separate list nodes are needed. Its value can change in place.
+     */
+    private static final class Entry<K, V> extends KeyValuePair<K, V> {
+        private V value;
+        private Entry<K, V> previous;
+        private Entry<K, V> next;
+        private boolean inWindow;
+
+        Entry(K key, V value) {
+            super(key, null);
+            this.value = value;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + " --> " + value;
+        }
+    }
+
+    /**
+     * The keys of the map, used as the table behind the keyset() view.
+     */
+    private class Keys implements ICollection<K> {
+        @Override
+        public void add(K element) {
+            throw new UnsupportedOperationException("Keys cannot be added to a map without a value");
+        }
+
+        @Override
+        public void remove(K element) {
+            if(!keyExists(element)){
+                throw new NoSuchElementException("This key is not in the map");
+            }
+            CacheMap.this.remove(element);
+        }
+
+        @Override
+        public boolean contains(K element) {
+            return keyExists(element);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            CacheMap.this.clear();
+        }
+
+        @Override
+        public K get(K element) {
+            Entry<K, V> entry = table.getByKey(element);
+            return entry == null ? null : entry.getKey();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            Iterator<KeyValuePair<K, V>> pairs = CacheMap.this.iterator();
+            return new Iterator<K>() {
+                @Override
+                public boolean hasNext() {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return pairs.next().getKey();
+                }
+            };
+        }
+    }
+
+    /**
+     * The values of the map, kept as a bag so duplicate values are not lost.
+     */
+    private class Values implements ICollection<V> {
+        @Override
+        public void add(V element) {
+            throw new UnsupportedOperationException("The values of a cache cannot be changed");
+        }
+
+        @Override
+        public void remove(V element) {
+            throw new UnsupportedOperationException("The values of a cache cannot be changed");
+        }
+
+        @Override
+        public boolean contains(V element) {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("The values of a cache cannot be changed");
+        }
+
+        @Override
+        public V get(V element) {
+            for(KeyValuePair<K, V> pair : CacheMap.this){
+                if(Objects.equals(pair.getValue(), element)){
+                    return pair.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            Iterator<KeyValuePair<K, V>> pairs = CacheMap.this.iterator();
+            return new Iterator<V>() {
+                @Override
+                public boolean hasNext() {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    return pairs.next().getValue();
+                }
+            };
+        }
+    }
+}
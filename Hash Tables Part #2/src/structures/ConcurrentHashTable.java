@@ -0,0 +1,574 @@
+package structures;
+
+import interfaces.ICollection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class represents a thread-safe hash table that utilizes separate chaining
+ * to handle collisions. It can be shared between threads without any
+ * outside locking.
+ *
+ * Reads never lock: buckets are read with volatile semantics and chains are
+ * only ever changed by writing a volatile next pointer. An insert into an
+ * empty bucket is a single compare-and-set; any other update locks just the
+ * head node of its bucket, so threads only contend when they touch the same
+ * bucket. When the table grows, every thread that runs into the resize helps
+ * move buckets into the new table, claiming ranges of buckets at a time.
+ *
+ * Iterators are weakly consistent: they never throw a
+ * ConcurrentModificationException, they return each element at most once,
+ * and they may or may not see changes made after they were created.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ConcurrentHashTable<T> implements ICollection<T>, Iterable<T>{
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 30;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    //the number of buckets a thread claims at a time while helping a resize
+    private static final int TRANSFER_STRIDE = 16;
+
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    private volatile Node<T>[] table;
+    private volatile Transfer<T> transfer;
+    private final Object resizeLock = new Object();
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor that creates a table with the default table
+     * size 16.
+     */
+    public ConcurrentHashTable() {
+        table = newTable(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Adds an element to the collection. No specific ordering
+     * is required. Duplicate elements are ignored.
+     *
+     * @param element the new element to put in the collection
+     */
+    @Override
+    public void add(T element) {
+        insert(element, false);
+    }
+
+    /**
+     * Adds an element, replacing an equal element that is already in the
+     * table.
+     * @return the element that was replaced, or null if there was none
+     */
+    T put(T element) {
+        return insert(element, true);
+    }
+
+    /**
+     * Helper method for add() and put().
+     * @return the equal element that was already in the table, or null
+     */
+    private T insert(T element, boolean replace) {
+        int hash = Hashing.spread(element.hashCode());
+        Node<T>[] tab = table;
+
+        while(true){
+            int index = hash & (tab.length - 1);
+            Node<T> head = bucketAt(tab, index);
+
+            //an empty bucket only needs a compare-and-set
+            if(head == null){
+                if(casBucket(tab, index, null, new Node<>(element, hash, null))){
+                    break;
+                }
+                continue;
+            }
+
+            //this bucket has been moved, so help finish the resize and retry
+            if(head instanceof ForwardingNode){
+                tab = helpTransfer((ForwardingNode<T>) head);
+                continue;
+            }
+
+            synchronized (head) {
+                //the head may have changed before we got the lock
+                if(bucketAt(tab, index) != head){
+                    continue;
+                }
+
+                Node<T> current = head;
+                while(true){
+                    if(current.matches(element, hash)){
+                        T existing = current.data;
+                        if(replace){
+                            current.data = element;
+                        }
+                        return existing;
+                    }
+                    if(current.next == null){
+                        current.next = new Node<>(element, hash, null);
+                        break;
+                    }
+                    current = current.next;
+                }
+            }
+            break;
+        }
+
+        count.increment();
+        resizeIfNeeded(tab);
+        return null;
+    }
+
+    /**
+     * Finds and removes an element from the collection.
+     *
+     * @throws NoSuchElementException thrown when the
+     * element is not found in the collection
+     * @param element the element to remove
+     */
+    @Override
+    public void remove(T element) {
+        if(!delete(element)){
+            throw new NoSuchElementException("This item is not in the table");
+        }
+    }
+
+    /**
+     * Removes an element if it is present.
+     * @return true if the element was removed
+     */
+    boolean delete(Object element) {
+        int hash = Hashing.spread(element.hashCode());
+        Node<T>[] tab = table;
+
+        while(true){
+            int index = hash & (tab.length - 1);
+            Node<T> head = bucketAt(tab, index);
+
+            if(head == null){
+                return false;
+            }
+            if(head instanceof ForwardingNode){
+                tab = helpTransfer((ForwardingNode<T>) head);
+                continue;
+            }
+
+            synchronized (head) {
+                if(bucketAt(tab, index) != head){
+                    continue;
+                }
+
+                //unlinking only writes one volatile pointer, so readers walking
+                //the chain see either the old or the new chain
+                Node<T> previous = null;
+                for(Node<T> current = head; current != null; current = current.next){
+                    if(current.matches(element, hash)){
+                        if(previous == null){
+                            setBucket(tab, index, current.next);
+                        } else {
+                            previous.next = current.next;
+                        }
+                        count.decrement();
+                        return true;
+                    }
+                    previous = current;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reports whether the collection contains an element
+     *
+     * @param element the element to search for.
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return findNode(element) != null;
+    }
+
+    /**
+     * Returns an element in the collection that matches the
+     * input parameter according the equals method of the parameter.
+     *
+     * @param element an element to search for
+     * @return a matching element
+     */
+    @Override
+    public T get(T element) {
+        Node<T> found = findNode(element);
+        return found == null ? null : found.data;
+    }
+
+    /**
+     * Helper method that finds the node holding an element without locking.
+     */
+    private Node<T> findNode(Object element) {
+        int hash = Hashing.spread(element.hashCode());
+        Node<T>[] tab = table;
+
+        while(true){
+            Node<T> current = bucketAt(tab, hash & (tab.length - 1));
+
+            //moved buckets are read from the new table instead
+            if(current instanceof ForwardingNode){
+                tab = ((ForwardingNode<T>) current).transfer.to;
+                continue;
+            }
+
+            while(current != null){
+                if(current.matches(element, hash)){
+                    return current;
+                }
+                current = current.next;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of elements in the collection. While other threads
+     * are updating the table this is only an estimate.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reports whether the collection is empty or not.
+     *
+     * @return true if the collection is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all elements from the collection. Elements added by other
+     * threads while the table is being cleared may be kept.
+     */
+    @Override
+    public void clear() {
+        Node<T>[] tab = table;
+        int index = 0;
+
+        while(index < tab.length){
+            Node<T> head = bucketAt(tab, index);
+
+            if(head == null){
+                index++;
+            } else if(head instanceof ForwardingNode){
+                //start over on the new table
+                tab = helpTransfer((ForwardingNode<T>) head);
+                index = 0;
+            } else {
+                synchronized (head) {
+                    if(bucketAt(tab, index) == head){
+                        int removed = 0;
+                        for(Node<T> current = head; current != null; current = current.next){
+                            removed++;
+                        }
+                        setBucket(tab, index, null);
+                        count.add(-removed);
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that starts a resize once the table is 75% full, and
+     * then helps move buckets into the new table.
+     */
+    private void resizeIfNeeded(Node<T>[] tab) {
+        if(count.sum() < (long) (tab.length * MAX_LOAD_FACTOR) || tab.length >= MAXIMUM_TABLE_SIZE){
+            return;
+        }
+
+        Transfer<T> current;
+        synchronized (resizeLock) {
+            //only start a resize of the table that is still current
+            if(transfer == null && table == tab){
+                transfer = new Transfer<>(tab);
+            }
+            current = transfer;
+        }
+
+        if(current != null){
+            help(current);
+        }
+    }
+
+    /**
+     * Helper method used when an operation runs into a moved bucket.
+     * @return the table the operation should retry on
+     */
+    private Node<T>[] helpTransfer(ForwardingNode<T> forwarding) {
+        help(forwarding.transfer);
+        return forwarding.transfer.to;
+    }
+
+    /**
+     * Helper method that claims ranges of buckets and moves them until there
+     * are no more to claim. The thread that moves the last range publishes
+     * the new table.
+     */
+    private void help(Transfer<T> current) {
+        Node<T>[] from = current.from;
+
+        while(true){
+            int end = current.nextBucket.getAndAdd(-TRANSFER_STRIDE);
+            if(end <= 0){
+                return;
+            }
+
+            int start = Math.max(0, end - TRANSFER_STRIDE);
+            for(int index = start; index < end; index++){
+                transferBucket(current, index);
+            }
+
+            if(current.bucketsDone.addAndGet(end - start) == from.length){
+                synchronized (resizeLock) {
+                    table = current.to;
+                    transfer = null;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Helper method that copies one bucket into the new table and then
+     * replaces it with a forwarding node. The old nodes are left untouched,
+     * so readers still walking them are not disturbed.
+     */
+    private void transferBucket(Transfer<T> current, int index) {
+        Node<T>[] from = current.from;
+        Node<T>[] to = current.to;
+        ForwardingNode<T> forwarding = current.forwarding;
+
+        while(true){
+            Node<T> head = bucketAt(from, index);
+
+            if(head == null){
+                if(casBucket(from, index, null, forwarding)){
+                    return;
+                }
+                continue;
+            }
+
+            synchronized (head) {
+                if(bucketAt(from, index) != head){
+                    continue;
+                }
+
+                //the table doubles, so each element either keeps its index or
+                //moves up by the old length
+                Node<T> low = null;
+                Node<T> high = null;
+                for(Node<T> node = head; node != null; node = node.next){
+                    if((node.hash & from.length) == 0){
+                        low = new Node<>(node.data, node.hash, low);
+                    } else {
+                        high = new Node<>(node.data, node.hash, high);
+                    }
+                }
+
+                setBucket(to, index, low);
+                setBucket(to, index + from.length, high);
+                setBucket(from, index, forwarding);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Generates a toString for the hash table
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ConcurrentHashTable{elements=[");
+        boolean first = true;
+        for(T element : this){
+            if(!first){
+                builder.append(", ");
+            }
+            builder.append(element);
+            first = false;
+        }
+        return builder.append("], size=").append(size())
+                .append(", capacity=").append(table.length)
+                .append('}').toString();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the collection.
+     *
+     * @return an object using the Iterator<T> interface
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new WeakIterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newTable(int length) {
+        return (Node<T>[]) new Node<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> bucketAt(Node<T>[] tab, int index) {
+        return (Node<T>) BUCKETS.getVolatile(tab, index);
+    }
+
+    private static <T> boolean casBucket(Node<T>[] tab, int index, Node<T> expected, Node<T> node) {
+        return BUCKETS.compareAndSet(tab, index, expected, node);
+    }
+
+    private static <T> void setBucket(Node<T>[] tab, int index, Node<T> node) {
+        BUCKETS.setVolatile(tab, index, node);
+    }
+
+    /**
+     * Walks the buckets of the table as it was when the iterator was made.
+     * When a bucket has been moved by a resize, the two buckets it was split
+     * into are visited instead.
+     */
+    private class WeakIterator implements Iterator<T>{
+
+        private final Node<T>[] tab;
+        private int nextIndex;
+        private final Deque<Object[]> pending = new ArrayDeque<>();
+        private Node<T> current;
+
+        public WeakIterator(){
+            tab = table;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            if(current == null){
+                throw new NoSuchElementException("There are no more elements in the table");
+            }
+
+            T result = current.data;
+            current = current.next;
+            if(current == null){
+                advance();
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance(){
+            while(current == null){
+                Node<T>[] bucketTable;
+                int index;
+
+                if(!pending.isEmpty()){
+                    Object[] bucket = pending.pop();
+                    bucketTable = (Node<T>[]) bucket[0];
+                    index = (Integer) bucket[1];
+                } else if(nextIndex < tab.length){
+                    bucketTable = tab;
+                    index = nextIndex++;
+                } else {
+                    return;
+                }
+
+                Node<T> head = bucketAt(bucketTable, index);
+                if(head instanceof ForwardingNode){
+                    Node<T>[] to = ((ForwardingNode<T>) head).transfer.to;
+                    pending.push(new Object[] {to, index + bucketTable.length});
+                    pending.push(new Object[] {to, index});
+                } else {
+                    current = head;
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of a resize that threads can help with.
+     */
+    private static final class Transfer<T> {
+        private final Node<T>[] from;
+        private final Node<T>[] to;
+        private final ForwardingNode<T> forwarding;
+
+        //buckets are claimed from the top down
+        private final AtomicInteger nextBucket;
+        private final AtomicInteger bucketsDone = new AtomicInteger();
+
+        public Transfer(Node<T>[] from){
+            this.from = from;
+            this.to = newTable(from.length * 2);
+            this.forwarding = new ForwardingNode<>(this);
+            this.nextBucket = new AtomicInteger(from.length);
+        }
+    }
+
+    /**
+     * An inner class to store elements in the table.
+     */
+    private static class Node<T> {
+        final int hash;
+        volatile T data;
+        volatile Node<T> next;
+
+        public Node(T data, int hash, Node<T> next){
+            this.data = data;
+            this.hash = hash;
+            this.next = next;
+        }
+
+        boolean matches(Object element, int hash){
+            return this.hash == hash && data.equals(element);
+        }
+
+        @Override
+        public String toString(){
+            return String.valueOf(data);
+        }
+    }
+
+    /**
+     * Placed in a bucket of the old table once it has been moved, pointing
+     * readers and writers at the new table.
+     */
+    private static final class ForwardingNode<T> extends Node<T> {
+        private final Transfer<T> transfer;
+
+        public ForwardingNode(Transfer<T> transfer){
+            super(null, 0, null);
+            this.transfer = transfer;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * This class represents a thread-safe Map that uses a ConcurrentHashTable.
+ * Each add() replaces the value of an existing key in a single locked step,
+ * so concurrent writers of the same key never leave duplicate pairs behind.
+ * Iteration and keyset() are weakly consistent snapshots, and values() is
+ * a live view with the same weakly consistent iteration.
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ConcurrentMap<K, V> implements IMap<K, V>
+{
+    private ConcurrentHashTable<KeyValuePair<K, V>> table;
+
+    /**
+     * Default constructor for map classes that creates a new Concurrent Hash Table
+     */
+    public ConcurrentMap() {
+        table = new ConcurrentHashTable<>();
+    }
+
+    @Override
+    public void add(K key, V value)
+    {
+        table.put(new KeyValuePair<>(key, value));
+    }
+
+    @Override
+    public void remove(K key)
+    {
+        table.delete(new KeyValuePair<>(key, null));
+    }
+
+    @Override
+    public V get(K key)
+    {
+        KeyValuePair<K, V> found = table.get(new KeyValuePair<>(key, null));
+        return found == null ? null : found.getValue();
+    }
+
+    @Override
+    public boolean keyExists(K key)
+    {
+        return table.contains(new KeyValuePair<>(key, null));
+    }
+
+    @Override
+    public boolean valueExists(V value)
+    {
+        for(KeyValuePair<K, V> pair : table){
+            if(value == null ? pair.getValue() == null : value.equals(pair.getValue())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return table.isEmpty();
+    }
+
+    @Override
+    public void clear()
+    {
+        table.clear();
+    }
+
+    /**
+     * Returns a weakly consistent iterator that never throws a
+     * ConcurrentModificationException.
+     * @return an iterator over the key/value pairs
+     */
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator()
+    {
+        return table.iterator();
+    }
+
+    @Override
+    public ISet<K> keyset()
+    {
+        ConcurrentSet<K> keys = new ConcurrentSet<>();
+        for(KeyValuePair<K, V> pair : table){
+            keys.add(pair.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a live view of the values in the map. The view is a bag, so a
+     * value shared by several keys appears once for each key, and it is
+     * iterated as weakly consistently as the map itself. The view cannot be
+     * changed.
+     * @return a collection of values
+     */
+    @Override
+    public ICollection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentMap{" +
+                "table=" + table +
+                '}';
+    }
+
+    /**
+     * The values of the map, kept as a bag so duplicate values are not lost.
+     */
+    private class Values implements ICollection<V>
+    {
+        @Override
+        public void add(V element)
+        {
+            throw new UnsupportedOperationException("Values cannot be added to a map without a key");
+        }
+
+        @Override
+        public void remove(V element)
+        {
+            throw new UnsupportedOperationException("Values cannot be removed without their key");
+        }
+
+        @Override
+        public boolean contains(V element)
+        {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size()
+        {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentMap.this.clear();
+        }
+
+        @Override
+        public V get(V element)
+        {
+            for(KeyValuePair<K, V> pair : table){
+                if(Objects.equals(pair.getValue(), element)){
+                    return pair.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            Iterator<KeyValuePair<K, V>> pairs = table.iterator();
+            return new Iterator<V>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public V next()
+                {
+                    return pairs.next().getValue();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package structures;
+
+import interfaces.ISet;
+
+import java.util.Iterator;
+
+/**
+ * This class represents a thread-safe Set that utilizes a ConcurrentHashTable.
+ * Lookups never block and updates only lock the bucket they change. The set
+ * operations read this set and the other set without locking, so when other
+ * threads are changing them the result reflects the sets at some point
+ * during the call.
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ConcurrentSet<T> implements ISet<T>
+{
+    private ConcurrentHashTable<T> table;
+
+    /**
+     * Default constructor that creates a new Concurrent Hash Table
+     */
+    public ConcurrentSet() {
+        table = new ConcurrentHashTable<>();
+    }
+
+    @Override
+    public void add(T element)
+    {
+        table.add(element);
+    }
+
+    @Override
+    public void remove(T element)
+    {
+        table.remove(element);
+    }
+
+    @Override
+    public boolean contains(T element)
+    {
+        return table.contains(element);
+    }
+
+    @Override
+    public int size()
+    {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return table.isEmpty();
+    }
+
+    @Override
+    public void clear()
+    {
+        table.clear();
+    }
+
+    @Override
+    public T get(T element)
+    {
+        return table.get(element);
+    }
+
+    /**
+     * Returns a weakly consistent iterator that never throws a
+     * ConcurrentModificationException.
+     * @return an iterator over the set
+     */
+    @Override
+    public Iterator<T> iterator()
+    {
+        return table.iterator();
+    }
+
+    @Override
+    public ISet<T> union(ISet<T> other)
+    {
+        ConcurrentSet<T> joined = new ConcurrentSet<>();
+
+        for(T element : table){
+            joined.add(element);
+        }
+        for(T otherElement : other){
+            joined.add(otherElement);
+        }
+
+        return joined;
+    }
+
+    @Override
+    public ISet<T> intersects(ISet<T> other)
+    {
+        ConcurrentSet<T> joined = new ConcurrentSet<>();
+
+        for(T element : table){
+            if(other.contains(element)){
+                joined.add(element);
+            }
+        }
+
+        return joined;
+    }
+
+    @Override
+    public ISet<T> difference(ISet<T> other)
+    {
+        ConcurrentSet<T> notIncluded = new ConcurrentSet<>();
+
+        for(T element : table){
+            if(!other.contains(element)){
+                notIncluded.add(element);
+            }
+        }
+
+        return notIncluded;
+    }
+
+    @Override
+    public boolean isSubset(ISet<T> other)
+    {
+        for(T otherElement : other){
+            if(!table.contains(otherElement)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isDisjoint(ISet<T> other)
+    {
+        for(T otherElement : other){
+            if(table.contains(otherElement)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmptySet()
+    {
+        return isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentSet{" +
+                "table=" + table +
+                '}';
+    }
+}
@@ -0,0 +1,317 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class represents a cuckoo filter. Like a Bloom filter it answers
+ * whether an element might have been added, with false answers always right
+ * and true answers wrong about as often as the chosen false positive rate,
+ * but elements can also be removed.
+ *
+ * Each element is reduced to a short fingerprint that is stored in one of
+ * two buckets of four slots. When both buckets are full, a fingerprint is
+ * moved to its other bucket to make room. If that fails too often the
+ * filter is full and add() returns false.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class CuckooFilter<T> {
+
+    private static final int SLOTS_PER_BUCKET = 4;
+    private static final double MAX_LOAD_FACTOR = 0.95;
+    private static final int MAX_KICKS = 500;
+    private static final int MIN_FINGERPRINT_BITS = 4;
+    private static final int MAX_FINGERPRINT_BITS = 16;
+
+    //fingerprints are never 0, so 0 marks an empty slot
+    private static final short EMPTY = 0;
+
+    private final short[] slots;
+    private final int bucketMask;
+    private final int fingerprintMask;
+    private final double falsePositiveRate;
+
+    //a fingerprint that could not be placed, kept so it is not lost
+    private short victim;
+    private int victimBucket;
+
+    //used to pick the slot to kick out
+    private int random = 0x9e3779b9;
+
+    private int size;
+
+    //statistics
+    private long queries;
+    private long rejections;
+    private long kicks;
+
+    /**
+     * Constructor that sizes the filter for a number of elements and a
+     * false positive rate.
+     *
+     * @throws IllegalArgumentException thrown when the capacity is negative
+     * or the rate is not between 0 and 1
+     * @param capacity the number of elements the filter should hold
+     * @param falsePositiveRate the chance that mightContain() answers true
+     * for an element that was never added, such as 0.01. Rates below about
+     * 0.0002 need more than 16-bit fingerprints and are rounded up to that.
+     */
+    public CuckooFilter(int capacity, double falsePositiveRate) {
+        if(capacity < 0){
+            throw new IllegalArgumentException("The capacity cannot be negative");
+        }
+        if(!(falsePositiveRate > 0 && falsePositiveRate < 1)){
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+
+        //a lookup compares against up to 8 fingerprints, so f >= log2(8 / p)
+        int bits = (int) Math.ceil(Math.log(2.0 * SLOTS_PER_BUCKET / falsePositiveRate) / Math.log(2));
+        bits = Math.max(MIN_FINGERPRINT_BITS, Math.min(MAX_FINGERPRINT_BITS, bits));
+        fingerprintMask = (1 << bits) - 1;
+
+        int buckets = Integer.highestOneBit(
+                Math.max(1, (int) Math.ceil(capacity / MAX_LOAD_FACTOR / SLOTS_PER_BUCKET)) * 2 - 1);
+        bucketMask = buckets - 1;
+        slots = new short[buckets * SLOTS_PER_BUCKET];
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Adds an element to the filter. Adding an element twice stores it
+     * twice, and it then has to be removed twice.
+     * @param element the element to add
+     * @return true if the element was added, false if the filter is full
+     */
+    public boolean add(T element) {
+        if(victim != EMPTY){
+            return false;
+        }
+
+        int hash = Objects.hashCode(element);
+        short fingerprint = fingerprintOf(hash);
+        int bucket = Hashing.spread(hash) & bucketMask;
+        if(insert(bucket, fingerprint) || insert(alternate(bucket, fingerprint), fingerprint)){
+            size++;
+            return true;
+        }
+
+        //both buckets are full, so keep moving fingerprints to their other bucket
+        for(int i = 0; i < MAX_KICKS; i++){
+            random ^= random << 13;
+            random ^= random >>> 17;
+            random ^= random << 5;
+            int slot = bucket * SLOTS_PER_BUCKET + (random & (SLOTS_PER_BUCKET - 1));
+            short kicked = slots[slot];
+            slots[slot] = fingerprint;
+            fingerprint = kicked;
+            bucket = alternate(bucket, fingerprint);
+            kicks++;
+            if(insert(bucket, fingerprint)){
+                size++;
+                return true;
+            }
+        }
+
+        //the element is in the filter, but the last kicked fingerprint is homeless
+        victim = fingerprint;
+        victimBucket = bucket;
+        size++;
+        return true;
+    }
+
+    /**
+     * Reports whether an element might have been added.
+     * @param element the element to search for
+     * @return false if the element was never added, true if it probably was
+     */
+    public boolean mightContain(Object element) {
+        queries++;
+        int hash = Objects.hashCode(element);
+        short fingerprint = fingerprintOf(hash);
+        int bucket = Hashing.spread(hash) & bucketMask;
+        int other = alternate(bucket, fingerprint);
+        if(holds(bucket, fingerprint) || holds(other, fingerprint)
+                || (victim == fingerprint && (victimBucket == bucket || victimBucket == other))){
+            return true;
+        }
+        rejections++;
+        return false;
+    }
+
+    /**
+     * Removes an element. Only elements that were added may be removed;
+     * removing any other element can remove the fingerprint of a different
+     * element that happens to share it.
+     * @param element the element to remove
+     * @return true if a fingerprint of the element was found and removed
+     */
+    public boolean remove(T element) {
+        int hash = Objects.hashCode(element);
+        short fingerprint = fingerprintOf(hash);
+        int bucket = Hashing.spread(hash) & bucketMask;
+        int other = alternate(bucket, fingerprint);
+        if(victim == fingerprint && (victimBucket == bucket || victimBucket == other)){
+            victim = EMPTY;
+            size--;
+            return true;
+        }
+
+        if(delete(bucket, fingerprint) || delete(other, fingerprint)){
+            size--;
+            //a slot has opened up, so the homeless fingerprint can move in
+            if(victim != EMPTY){
+                short homeless = victim;
+                victim = EMPTY;
+                size--;
+                add(homeless, victimBucket);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes every element and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        victim = EMPTY;
+        size = 0;
+        queries = 0;
+        rejections = 0;
+        kicks = 0;
+    }
+
+    /**
+     * Returns the number of elements in the filter.
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of elements the filter has slots for.
+     * @return the number of slots
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the share of slots in use.
+     * @return the load factor, between 0 and 1
+     */
+    public double loadFactor() {
+        return (double) size / slots.length;
+    }
+
+    /**
+     * Returns the false positive rate the filter was sized for.
+     * @return the configured false positive rate
+     */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Estimates the current false positive rate from the load factor and
+     * the fingerprint size.
+     * @return the estimated false positive rate
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.min(1, 2.0 * SLOTS_PER_BUCKET * loadFactor() / fingerprintMask);
+    }
+
+    /**
+     * Returns the number of times mightContain() was called.
+     * @return the number of queries
+     */
+    public long queries() {
+        return queries;
+    }
+
+    /**
+     * Returns the number of queries that were answered false.
+     * @return the number of definite misses
+     */
+    public long rejections() {
+        return rejections;
+    }
+
+    /**
+     * Returns the number of fingerprints moved to make room for others.
+     * @return the number of kicks
+     */
+    public long kicks() {
+        return kicks;
+    }
+
+    @Override
+    public String toString() {
+        return "CuckooFilter{" +
+                "size=" + size +
+                ", capacity=" + slots.length +
+                ", queries=" + queries +
+                ", rejections=" + rejections +
+                ", kicks=" + kicks +
+                '}';
+    }
+
+    //puts back a fingerprint whose bucket is already known
+    private void add(short fingerprint, int bucket) {
+        if(insert(bucket, fingerprint) || insert(alternate(bucket, fingerprint), fingerprint)){
+            size++;
+            return;
+        }
+        victim = fingerprint;
+        victimBucket = bucket;
+        size++;
+    }
+
+    private short fingerprintOf(int hash) {
+        //a different mix than the bucket index so the two are independent
+        int fingerprint = Hashing.spread((long) hash) & fingerprintMask;
+        return (short) (fingerprint == EMPTY ? 1 : fingerprint);
+    }
+
+    //the other bucket can be found from either bucket and the fingerprint alone
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ Hashing.spread(fingerprint)) & bucketMask;
+    }
+
+    private boolean insert(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for(int i = start; i < start + SLOTS_PER_BUCKET; i++){
+            if(slots[i] == EMPTY){
+                slots[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean holds(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for(int i = start; i < start + SLOTS_PER_BUCKET; i++){
+            if(slots[i] == fingerprint){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean delete(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for(int i = start; i < start + SLOTS_PER_BUCKET; i++){
+            if(slots[i] == fingerprint){
+                slots[i] = EMPTY;
+                return true;
+            }
+        }
+        return false;
+    }
+}
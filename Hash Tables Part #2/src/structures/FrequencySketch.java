@@ -0,0 +1,105 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class estimates how often each element has been seen recently, for
+ * the TinyLFU admission policy of CacheMap. It is a count-min sketch with
+ * four 4-bit counters per element, packed sixteen to a long, so it takes
+ * about 8 bytes per cached element no matter how many distinct elements are
+ * seen.
+ *
+ * Once the number of increments reaches ten times the cache size, every
+ * counter is halved, so old popularity fades and recent popularity counts.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+final class FrequencySketch {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int SAMPLES_PER_ELEMENT = 10;
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    //odd constants that give each of the four counters a different position
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0xd6e8feb86659fd93L};
+
+    private final long[] words;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructor that sizes the sketch for a cache.
+     * @param maximumSize the number of elements the cache holds
+     */
+    FrequencySketch(int maximumSize) {
+        //one word, or sixteen counters, per cached element
+        int wordCount = Integer.highestOneBit(Math.max(1, Math.min(maximumSize, 1 << 26)) * 2 - 1);
+        words = new long[wordCount];
+        counterMask = wordCount * COUNTERS_PER_WORD - 1;
+        sampleSize = Math.max(1, maximumSize) * SAMPLES_PER_ELEMENT;
+    }
+
+    /**
+     * Records one occurrence of an element.
+     * @param element the element that was seen
+     */
+    void increment(Object element) {
+        int hash = Objects.hashCode(element);
+        boolean added = false;
+        for(int i = 0; i < DEPTH; i++){
+            int counter = counterOf(hash, i);
+            int shift = (counter & (COUNTERS_PER_WORD - 1)) << 2;
+            int word = counter >>> 4;
+            if(((words[word] >>> shift) & MAX_COUNT) < MAX_COUNT){
+                words[word] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if(added && ++additions >= sampleSize){
+            halve();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of an element.
+     * @param element the element to look up
+     * @return the estimate, between 0 and 15
+     */
+    int frequency(Object element) {
+        int hash = Objects.hashCode(element);
+        int frequency = MAX_COUNT;
+        for(int i = 0; i < DEPTH; i++){
+            int counter = counterOf(hash, i);
+            int shift = (counter & (COUNTERS_PER_WORD - 1)) << 2;
+            frequency = Math.min(frequency, (int) ((words[counter >>> 4] >>> shift) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    /**
+     * Forgets every occurrence.
+     */
+    void clear() {
+        Arrays.fill(words, 0);
+        additions = 0;
+    }
+
+    //halves every counter at once by shifting each word and masking off the borrowed bits
+    private void halve() {
+        for(int i = 0; i < words.length; i++){
+            words[i] = (words[i] >>> 1) & HALF_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int counterOf(int hash, int row) {
+        return Hashing.spread(hash * SEEDS[row]) & counterMask;
+    }
+}
@@ -0,0 +1,235 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class represents a Map that cannot be changed once it is built. The
+ * keys are kept in a FrozenSet, which places them with a minimal perfect
+ * hash function, and the values sit in a second array at the same
+ * positions. A lookup reads one key and one value, and no pair objects are
+ * stored.
+ *
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FrozenMap<K, V> implements IMap<K, V> {
+
+    private final FrozenSet<K> keys;
+    private final Object[] values;
+
+    /**
+     * Constructor that copies the pairs of a map.
+     * @param source the map to copy
+     */
+    public FrozenMap(IMap<K, V> source) {
+        keys = new FrozenSet<>(source.keyset(), source.size());
+        values = new Object[keys.size()];
+        for(KeyValuePair<K, V> pair : source){
+            values[keys.indexOf(pair.getKey())] = pair.getValue();
+        }
+    }
+
+    /**
+     * Frozen maps cannot be changed.
+     * @throws UnsupportedOperationException always
+     * @param key ignored
+     * @param value ignored
+     */
+    @Override
+    public void add(K key, V value) {
+        throw new UnsupportedOperationException("A frozen map cannot be changed");
+    }
+
+    /**
+     * Frozen maps cannot be changed.
+     * @throws UnsupportedOperationException always
+     * @param key ignored
+     */
+    @Override
+    public void remove(K key) {
+        throw new UnsupportedOperationException("A frozen map cannot be changed");
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key the key to search for
+     * @return the value, or null if the key is not in the map
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int index = keys.indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean keyExists(K key) {
+        return keys.indexOf(key) >= 0;
+    }
+
+    /**
+     * Reports whether any key has a value. The values are not indexed, so
+     * this is a linear search.
+     * @param value the value to search for
+     * @return true if the value is found, otherwise false
+     */
+    @Override
+    public boolean valueExists(V value) {
+        for(Object stored : values){
+            if(Objects.equals(stored, value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * Frozen maps cannot be changed.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A frozen map cannot be changed");
+    }
+
+    /**
+     * Returns an iterator over the pairs of the map. The pairs are created
+     * as they are returned.
+     * @return an iterator over the pairs
+     */
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator() {
+        Iterator<K> keyIterator = keys.iterator();
+        return new Iterator<KeyValuePair<K, V>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return keyIterator.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public KeyValuePair<K, V> next() {
+                return new KeyValuePair<>(keyIterator.next(), (V) values[next++]);
+            }
+        };
+    }
+
+    /**
+     * Returns the keys of the map. The set cannot be changed either.
+     * @return the keys
+     */
+    @Override
+    public ISet<K> keyset() {
+        return keys;
+    }
+
+    /**
+     * Returns the values of the map, duplicates included. The collection
+     * cannot be changed.
+     * @return the values
+     */
+    @Override
+    public ICollection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FrozenMap{");
+        for(KeyValuePair<K, V> pair : this){
+            if(builder.length() > "FrozenMap{".length()){
+                builder.append(", ");
+            }
+            builder.append(pair);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * The values of the map, in the same order as the keys.
+     */
+    private class Values implements ICollection<V> {
+        @Override
+        public void add(V element) {
+            throw new UnsupportedOperationException("A frozen map cannot be changed");
+        }
+
+        @Override
+        public void remove(V element) {
+            throw new UnsupportedOperationException("A frozen map cannot be changed");
+        }
+
+        @Override
+        public boolean contains(V element) {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.length == 0;
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("A frozen map cannot be changed");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(V element) {
+            for(Object stored : values){
+                if(Objects.equals(stored, element)){
+                    return (V) stored;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < values.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    if(!hasNext()){
+                        throw new NoSuchElementException("There are no more values");
+                    }
+                    return (V) values[next++];
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package structures;
+
+import interfaces.ISet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class represents a Set that cannot be changed once it is built. The
+ * elements are kept in a single array indexed by a minimal perfect hash
+ * function, so a lookup reads exactly one element and the array has no
+ * empty slots.
+ *
+ * Elements whose hash code is shared with another element cannot be told
+ * apart by the perfect hash, so they are stored after the hashed elements
+ * and found through a small Map instead.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FrozenSet<T> implements ISet<T> {
+
+    //the first hash.slots() elements are placed by the perfect hash
+    private final Object[] elements;
+    private final PerfectHash hash;
+
+    //positions of the elements whose hash code was already taken; null if none
+    private final Map<T, Integer> overflow;
+
+    /**
+     * Constructor that copies the elements of a set.
+     * @param source the set to copy
+     */
+    public FrozenSet(ISet<T> source) {
+        this(source, source.size());
+    }
+
+    /**
+     * Constructor that copies elements that are known to be distinct, such
+     * as the keys of a map.
+     * @param source the distinct elements to copy
+     * @param size the number of elements
+     */
+    FrozenSet(Iterable<? extends T> source, int size) {
+        //sort the elements by hash code to find the shared hash codes
+        Object[] all = new Object[size];
+        long[] byHash = new long[size];
+        int count = 0;
+        for(T element : source){
+            all[count] = element;
+            byHash[count] = ((long) Objects.hashCode(element) << 32) | count;
+            count++;
+        }
+        Arrays.sort(byHash);
+
+        int distinct = 0;
+        for(int i = 0; i < size; i++){
+            if(firstWithHash(byHash, i)){
+                distinct++;
+            }
+        }
+
+        int[] hashes = new int[distinct];
+        distinct = 0;
+        for(int i = 0; i < size; i++){
+            if(firstWithHash(byHash, i)){
+                hashes[distinct++] = (int) (byHash[i] >> 32);
+            }
+        }
+        hash = new PerfectHash(hashes);
+
+        elements = new Object[size];
+        Map<T, Integer> shared = null;
+        int next = distinct;
+        for(int i = 0; i < size; i++){
+            Object element = all[(int) byHash[i]];
+            if(firstWithHash(byHash, i)){
+                elements[hash.slotOf((int) (byHash[i] >> 32))] = element;
+                continue;
+            }
+
+            if(shared == null){
+                shared = new Map<>();
+            }
+            @SuppressWarnings("unchecked")
+            T sharedElement = (T) element;
+            shared.add(sharedElement, next);
+            elements[next++] = element;
+        }
+        overflow = shared;
+    }
+
+    //whether an element is the first one, in hash order, with its hash code
+    private static boolean firstWithHash(long[] byHash, int i) {
+        return i == 0 || (int) (byHash[i] >> 32) != (int) (byHash[i - 1] >> 32);
+    }
+
+    /**
+     * Returns the position of an element in the backing array. Maps built on
+     * top of this set keep their values at the same positions.
+     * @param element the element to search for
+     * @return the position of the element, or -1 if it is not in the set
+     */
+    int indexOf(Object element) {
+        int slot = hash.slotOf(Objects.hashCode(element));
+        if(slot >= 0 && Objects.equals(elements[slot], element)){
+            return slot;
+        }
+
+        if(overflow != null){
+            @SuppressWarnings("unchecked")
+            Integer index = overflow.get((T) element);
+            return index == null ? -1 : index;
+        }
+        return -1;
+    }
+
+    /**
+     * Frozen sets cannot be changed.
+     * @throws UnsupportedOperationException always
+     * @param element ignored
+     */
+    @Override
+    public void add(T element) {
+        throw new UnsupportedOperationException("A frozen set cannot be changed");
+    }
+
+    /**
+     * Frozen sets cannot be changed.
+     * @throws UnsupportedOperationException always
+     * @param element ignored
+     */
+    @Override
+    public void remove(T element) {
+        throw new UnsupportedOperationException("A frozen set cannot be changed");
+    }
+
+    /**
+     * Reports whether the set contains an element.
+     * @param element the element to search for
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    /**
+     * Frozen sets cannot be changed.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A frozen set cannot be changed");
+    }
+
+    /**
+     * Returns the stored element that is equal to the given element.
+     * @param element the element to search for
+     * @return the stored element, or null if it is not in the set
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(T element) {
+        int index = indexOf(element);
+        return index < 0 ? null : (T) elements[index];
+    }
+
+    /**
+     * Returns an iterator over the elements, in the order of the backing
+     * array.
+     * @return an iterator over the elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if(!hasNext()){
+                    throw new NoSuchElementException("There are no more elements");
+                }
+                return (T) elements[next++];
+            }
+        };
+    }
+
+    //the set operations build new, changeable sets, so Set does the work
+    @Override
+    public ISet<T> union(ISet<T> other) {
+        return new Set<>(this).union(other);
+    }
+
+    @Override
+    public ISet<T> intersects(ISet<T> other) {
+        return new Set<>(this).intersects(other);
+    }
+
+    @Override
+    public ISet<T> difference(ISet<T> other) {
+        return new Set<>(this).difference(other);
+    }
+
+    @Override
+    public boolean isSubset(ISet<T> other) {
+        return new Set<>(this).isSubset(other);
+    }
+
+    @Override
+    public boolean isDisjoint(ISet<T> other) {
+        return new Set<>(this).isDisjoint(other);
+    }
+
+    @Override
+    public boolean isEmptySet() {
+        return isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenSet" + Arrays.toString(elements);
+    }
+}
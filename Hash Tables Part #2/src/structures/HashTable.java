@@ -1,14 +1,47 @@
 package structures;
 
+import helpers.KeyValuePair;
 import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class represents a hash table that utilizes separate chaining to handle collisions.
+ *
+ * A chain that grows to 8 elements is converted into a balanced tree ordered
+ * by hash code (then by compareTo() for Comparable elements, or by the keys of
+ * KeyValuePair elements), and is turned back into a list once it drops to 6,
+ * so even badly distributed hash codes give O(log n) lookups.
+ *
+ * The table grows once it holds 2.5 elements per bucket, and shrinks once
+ * removals leave it with fewer than one element per four buckets. A shrunk
+ * table has about one element per bucket, so it has to grow or shrink a lot
+ * before it resizes again, and it never shrinks below the capacity it was
+ * created or ensureCapacity()'d with.
+ *
+ * Statistics (probe lengths, resizes and the shape of the chains) are off
+ * by default; see enableStatistics() and registerMBean().
  * @param <T>
  * @author alisallavore
  * @version 1.0
@@ -16,19 +49,109 @@ import java.util.NoSuchElementException;
 public class HashTable<T> implements ICollection<T>, Iterable<T>{
 
     private static final int DEFAULT_TABLE_SIZE = 10;
+    private static final int DEFAULT_POWER_OF_TWO_SIZE = 16;
     private static final double MAX_LOAD_FACTOR = 2.5;
     private static final double RESIZE_FACTOR = 1.5;
+    private static final double SHRINK_LOAD_FACTOR = 0.25;
+    private static final int MIGRATION_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_BUCKETS_PER_TASK = 1024;
+    private static final int PARTITIONS_PER_THREAD = 4;
 
     private Node<T>[] array;
     private int size;
     private int modCount;
+    private final IndexingMode mode;
+    private final boolean incrementalResize;
+
+    //the table never shrinks below this many buckets by itself
+    private int minimumLength;
+
+    //while an incremental resize is running, buckets below migrateIndex have
+    //already been moved from oldArray into array
+    private Node<T>[] oldArray;
+    private int migrateIndex;
+
+    //null unless statistics are enabled, so the lookup path only pays for a null check
+    private Counters counters;
+    private ObjectName mbeanName;
+
+    /**
+     * The strategies the table can use to turn a hash code into a bucket index.
+     */
+    public enum IndexingMode {
+        /**
+         * Any table size; the index is the non-negative hash code modulo the
+         * table size and the table grows by 50%.
+         */
+        MODULO,
+
+        /**
+         * Power-of-two table sizes; the hash code is bit-mixed and masked
+         * (no division) and the table doubles when it grows.
+         */
+        POWER_OF_TWO
+    }
 
     /**
      * Constructor that creates an array with the default table
      * size 10.
      */
     public HashTable() {
-        array = new Node[DEFAULT_TABLE_SIZE];
+        this(IndexingMode.MODULO);
+    }
+
+    /**
+     * Constructor that creates an empty table using the given indexing mode.
+     * @param mode how hash codes are mapped to buckets
+     */
+    public HashTable(IndexingMode mode) {
+        this(mode, false);
+    }
+
+    /**
+     * Constructor that creates an empty table using the given indexing mode.
+     *
+     * With incremental resizing, growing the table only allocates the new
+     * bucket array. The elements are then moved over a few buckets at a time
+     * by each following add() or remove(), while lookups search both arrays,
+     * so no single insert pays for rehashing the whole table.
+     *
+     * @param mode how hash codes are mapped to buckets
+     * @param incrementalResize true to spread rehashing over later updates
+     */
+    public HashTable(IndexingMode mode, boolean incrementalResize) {
+        this.mode = mode;
+        this.incrementalResize = incrementalResize;
+        minimumLength = defaultTableSize();
+        array = new Node[minimumLength];
+    }
+
+    /**
+     * Constructor that creates a table with enough buckets to hold the
+     * expected number of elements without resizing.
+     * @param expectedSize the number of elements the table should hold
+     */
+    public HashTable(int expectedSize) {
+        this(expectedSize, IndexingMode.MODULO, false);
+    }
+
+    /**
+     * Constructor that creates a table with enough buckets to hold the
+     * expected number of elements without resizing.
+     * @param expectedSize the number of elements the table should hold
+     * @param mode how hash codes are mapped to buckets
+     * @param incrementalResize true to spread rehashing over later updates
+     */
+    public HashTable(int expectedSize, IndexingMode mode, boolean incrementalResize) {
+        if(expectedSize < 0){
+            throw new IllegalArgumentException("The expected size cannot be negative: " + expectedSize);
+        }
+        this.mode = mode;
+        this.incrementalResize = incrementalResize;
+        minimumLength = Math.max(bucketsFor(expectedSize), defaultTableSize());
+        array = new Node[minimumLength];
     }
 
     /**
@@ -44,6 +167,11 @@ public class HashTable<T> implements ICollection<T>, Iterable<T>{
     @Override
     public void add(T element) {
 
+        //move a few more buckets if a resize is in progress
+        if(oldArray != null){
+            migrateBuckets(MIGRATION_STEP);
+        }
+
         //check to see if load factor is above 250%
         double loadFactor = (double)size / array.length;
         //if yes then resize table
@@ -51,27 +179,46 @@ public class HashTable<T> implements ICollection<T>, Iterable<T>{
             resize();
         }
 
+        //hash the element once; the hash is kept in its node
+        int hash = hash(element);
+
+        //elements that have not been migrated yet are still in the old array
+        if(oldArray != null && findIn(oldArray, element, hash) != null){
+            return;
+        }
+
         //find where the element should be
-        int hashCode = Math.abs(element.hashCode());
-        int index = hashCode % array.length;
+        int index = indexFor(hash, array.length);
+
+        //long chains are stored as balanced trees
+        if(array[index] instanceof TreeBin){
+            TreeBin<T> bin = (TreeBin<T>) array[index];
+            if(bin.find(element, hash) == null){
+                bin.insert(element, hash);
+                size++;
+                modCount++;
+            }
+            return;
+        }
 
         //check if current table index is null
         //if there is already a node we will add it to the end of the list
         //traverse to find the end of the list then change the last node's pointer
         //to the inserted node
         if(array[index] != null) {
-            if(array[index].data.equals(element)){
+            if(array[index].matches(element, hash)){
                 return;
 //                throw new IllegalArgumentException("Duplicate elements cannot be added.");
             } else {
                 //create a temporary node to traverse list
                 Node<T> current = array[index];
+                int chainLength = 1;
                 while (current.next != null) {
 
                     //while checking each node in the "linked list"
                     // check if there is a duplicate
                     //if there is return the list
-                    if (current.data.equals(element)) {
+                    if (current.matches(element, hash)) {
                         return;
                     }
                     //if there is not a duplicate
@@ -79,21 +226,27 @@ public class HashTable<T> implements ICollection<T>, Iterable<T>{
 
                     //increment current index
                     current = current.next;
+                    chainLength++;
                 }
-                if(current.data.equals(element)){
+                if(current.matches(element, hash)){
                     return;
 //                    throw new IllegalArgumentException("Duplicate elements cannot be added.");
                 }
-                current.next = new Node(element, null);
+                current.next = new Node(element, hash, null);
                 size++;
                 modCount++;
+
+                //convert the chain into a tree once it gets too long
+                if(chainLength + 1 >= TREEIFY_THRESHOLD){
+                    treeify(array, index);
+                }
             }
         }
         //if it is null then we will insert the node
         else {
             //assign the empty spot
             //assign next to null since there is nothing in the spot
-            array[index] = new Node(element, null);
+            array[index] = new Node(element, hash, null);
             size++;
             modCount++;
         }
@@ -101,262 +254,1507 @@ public class HashTable<T> implements ICollection<T>, Iterable<T>{
     }
 
     /**
-     * Helper method that resizes the table to 50% larger
-     * once load factor exceeds 250%
+     * Adds an element, replacing the stored element that equals it if there
+     * is one. The bucket is only searched once.
+     *
+     * @param element the element to put in the collection
+     * @return the element that was replaced, or null if the element is new
      */
-    private void resize() {
-        size = 0;
+    public T put(T element) {
+        return update(element, existing -> element, true);
+    }
 
-        Node<T>[] oldTable = array;
-        array = new Node[(int) (oldTable.length * RESIZE_FACTOR)];
+    /**
+     * Looks up the element that equals the probe and replaces it with the
+     * result of the remapping function, which is passed the stored element
+     * (or null if there is none). A null result removes the stored element.
+     * The bucket is only searched once.
+     *
+     * The function must return null or an element that equals the probe,
+     * and must not change this table.
+     *
+     * @param probe an element equal to the one to update
+     * @param remapping computes the new element from the stored one
+     * @return the new element, or null if there is none
+     */
+    public T compute(T probe, UnaryOperator<T> remapping) {
+        return update(probe, remapping, false);
+    }
 
-        //loop over elements in the old table, and if not removed, rehash them
-        for(int i = 0; i < oldTable.length; i++){
-            if (oldTable[i] != null){
+    /**
+     * Helper method behind put() and compute(). It walks the chain once,
+     * keeping the previous node so that the stored element can be replaced,
+     * unlinked or appended to without searching again.
+     * @param returnPrevious true to return the stored element instead of the new one
+     */
+    private T update(T probe, UnaryOperator<T> remapping, boolean returnPrevious) {
+        //move a few more buckets if a resize is in progress
+        if(oldArray != null){
+            migrateBuckets(MIGRATION_STEP);
+        }
 
-                Node<T> current = oldTable[i];
-                while (current != null) {
+        //grow first, like add(), so the bucket found below stays valid;
+        //removals by earlier calls are caught up on here as well
+        if((double) size / array.length >= MAX_LOAD_FACTOR){
+            resize();
+        } else {
+            shrinkIfSparse();
+        }
 
-                    add(current.data);
+        int hash = hash(probe);
 
-                    //increment current index
-                    current = current.next;
+        //elements that have not been migrated yet are updated in the old array
+        if(oldArray != null){
+            Node<T> old = findIn(oldArray, probe, hash);
+            if(old != null){
+                T existing = old.data;
+                T updated = remapping.apply(existing);
+                if(updated == null){
+                    removeFrom(oldArray, probe, hash);
+                    size--;
+                    modCount++;
+                } else {
+                    old.data = updated;
                 }
+                return returnPrevious ? existing : updated;
             }
         }
-    }
 
-    /**
-     * Finds and removes an element from the collection.
-     *
-     * @throws NoSuchElementException thrown when the
-     * element is not found in the collection
-     * @param element the element to remove
-     */
-    @Override
-    public void remove(T element) {
-        int hashCode = Math.abs(element.hashCode());
-        int index = hashCode % array.length;
+        int index = indexFor(hash, array.length);
+
+        //long chains are stored as balanced trees
+        if(array[index] instanceof TreeBin){
+            TreeBin<T> bin = (TreeBin<T>) array[index];
+            TreeNode<T> node = bin.find(probe, hash);
+            T existing = node == null ? null : node.data;
+            T updated = remapping.apply(existing);
+
+            if(node != null && updated != null){
+                node.data = updated;
+            } else if(node != null){
+                bin.remove(probe, hash);
+                if(bin.count <= UNTREEIFY_THRESHOLD){
+                    array[index] = bin.untreeify();
+                }
+                size--;
+                modCount++;
+            } else if(updated != null){
+                bin.insert(updated, hash);
+                size++;
+                modCount++;
+            }
+            return returnPrevious ? existing : updated;
+        }
 
+        Node<T> previous = null;
         Node<T> current = array[index];
+        int chainLength = 0;
+        while(current != null && !current.matches(probe, hash)){
+            previous = current;
+            current = current.next;
+            chainLength++;
+        }
 
-        //check if current index is empty
-        if(array[index] == null){
-            throw new NoSuchElementException("This index is empty");
-        //check if "head" of list is equal to the search element
-        } else if(array[index].data.equals(element)) {
-            array[index] = array[index].next;
+        T existing = current == null ? null : current.data;
+        T updated = remapping.apply(existing);
+
+        if(current != null && updated != null){
+            current.data = updated;
+        } else if(current != null){
+            //unlink the stored element
+            if(previous == null){
+                array[index] = current.next;
+            } else {
+                previous.next = current.next;
+            }
             size--;
             modCount++;
-        } else {
-            //check if we reached the end of the list
-            //check if current next node is equals to the search element
-            while (current.next != null && !current.next.data.equals((element))) {
-                current = current.next;
-            }
-            if(current.next == null){
-                throw new NoSuchElementException("This item is not in list");
+        } else if(updated != null){
+            //append the new element to the end of the chain
+            Node<T> added = new Node<>(updated, hash, null);
+            if(previous == null){
+                array[index] = added;
             } else {
-                current.next = current.next.next;
-                size--;
-                modCount++;
+                previous.next = added;
+            }
+            size++;
+            modCount++;
+
+            //convert the chain into a tree once it gets too long
+            if(chainLength + 1 >= TREEIFY_THRESHOLD){
+                treeify(array, index);
             }
         }
+        return returnPrevious ? existing : updated;
     }
 
     /**
-     * Reports whether the collection contains an element
+     * Adds every element from another collection.
      *
-     * @param element the element to search for.
-     * @return true if the element is found, otherwise false
+     * When the number of elements is known up front (for collections, sets
+     * and maps) the table is grown once and the elements are linked in with
+     * no further load factor checks. If this table is empty and the source
+     * cannot hold duplicates, the duplicate checks are skipped too.
+     *
+     * @param elements the elements to add
      */
-    @Override
-    public boolean contains(T element) {
-
-        int hashCode = Math.abs(element.hashCode());
-        int index = hashCode % array.length;
-
-        Node<T> current = array[index];
+    public void addAll(Iterable<? extends T> elements) {
+        if(elements == this){
+            return;
+        }
 
-        while(current != null){
-            if (current.data.equals(element)){
-                return true;
+        int count = knownSize(elements);
+        if(count < 0){
+            //unknown size, so fall back to adding one at a time
+            for(T element : elements){
+                add(element);
             }
-
-            current = current.next;
+            return;
         }
 
-        return false;
+        boolean distinct = isEmpty() && (elements instanceof ISet || elements instanceof HashTable);
+        addAll(elements, count, distinct);
     }
 
     /**
-     * Returns the number of elements in the collection.
-     *
-     * @return the number of elements
+     * Helper method for bulk inserts: grows the table once for count more
+     * elements, then links each element into its bucket.
+     * @param distinct true if the elements are known not to be in the table
+     *                 and not to repeat
      */
-    @Override
-    public int size() {
-        return size;
+    void addAll(Iterable<? extends T> elements, int count, boolean distinct) {
+        reserve(size + count);
+
+        for(T element : elements){
+            if(distinct || findNode(element) == null){
+                link(element);
+            }
+        }
+        modCount++;
     }
 
     /**
-     * Reports whether the collection is empty or not.
-     *
-     * @return true if the collection is empty, otherwise false
+     * Grows the table, if needed, so that it can hold the given number of
+     * elements without resizing again. Any incremental resize in progress is
+     * finished first. The table will not shrink below this capacity until
+     * trimToSize() is called.
+     * @param expectedSize the number of elements the table should hold
      */
-    @Override
-    public boolean isEmpty() {
-        return size == 0;
+    public void ensureCapacity(int expectedSize) {
+        minimumLength = Math.max(minimumLength, bucketsFor(expectedSize));
+        reserve(expectedSize);
     }
 
     /**
-     * Removes all elements from the collection.
+     * Grows the table, if needed, so that it can hold the given number of
+     * elements without resizing again, like ensureCapacity(), but leaves
+     * the table free to shrink back once elements are removed. Used for
+     * bulk loads, whose size says nothing about the table's later needs.
+     * @param expectedSize the number of elements the table should hold
      */
-    @Override
-    public void clear() {
-        array = new Node[DEFAULT_TABLE_SIZE];
-        size = 0;
-        modCount++;
+    void reserve(int expectedSize) {
+        int buckets = bucketsFor(expectedSize);
+        if(buckets > array.length){
+            resize(buckets, false);
+        }
     }
 
     /**
-     * Generates a toString for the hash table
-     * @return String
+     * Shrinks the bucket array to the smallest size that holds the current
+     * elements without growing, finishing any incremental resize in
+     * progress, to release the memory left behind by removals. This also
+     * drops the capacity the table was created or ensureCapacity()'d with,
+     * so the table may shrink on its own below it afterwards.
      */
-    @Override
-    public String toString() {
-        return "HashTable{" +
-                "array=" + Arrays.toString(array) +
-                ", size=" + size +
-                ", modCount=" + modCount +
-                '}';
+    public void trimToSize() {
+        minimumLength = defaultTableSize();
+        int buckets = Math.max(bucketsFor(size), minimumLength);
+        if(buckets < array.length){
+            resize(buckets, false);
+        } else if(oldArray != null){
+            migrateBuckets(oldArray.length);
+        }
     }
 
     /**
-     * Returns an element in the collection that matches the
-     * input parameter according the equals method of the parameter.
+     * Adds the elements of another table in parallel. The source's bucket
+     * array is split into ranges that ForkJoinPool tasks scan, passing each
+     * element through the selector, which returns the element to add or
+     * null to skip it. Each task sorts the nodes it creates into one list
+     * per range of this table's buckets. The lists of each range are then
+     * linked in by their own task, so no two tasks ever touch the same
+     * bucket and no locks are needed.
      *
-     * @param element an element to search for
-     * @return a matching element
+     * The selected elements must be distinct and not already in this table,
+     * this table must already be big enough to hold them (no resizing is
+     * done), the selector must be safe to call from several threads and
+     * neither table may be changed while this runs.
+     *
+     * @param source the table to read elements from
+     * @param selector returns the element to add, or null to skip it
+     * @param pool the pool that runs the tasks
      */
-    @Override
-    public T get(T element) {
-        int hashCode = Math.abs(element.hashCode());
-        int index = hashCode % array.length;
-
-        while(array[index] != null){
-            if (array[index].data.equals(element)){
-                return array[index].data;
-            }
-
-            array[index] = array[index].next;
+    void addAllParallel(HashTable<T> source, UnaryOperator<T> selector, ForkJoinPool pool) {
+        //an earlier incremental resize must be finished, since only array is written to
+        if(oldArray != null){
+            migrateBuckets(oldArray.length);
         }
 
-        return null;
-    }
+        int partitions = Math.max(1, Math.min(array.length, pool.getParallelism() * PARTITIONS_PER_THREAD));
+        int buckets = source.bucketSpan();
+        int bucketsPerTask = Math.max(MIN_BUCKETS_PER_TASK, buckets / (pool.getParallelism() * PARTITIONS_PER_THREAD));
 
+        ConcurrentLinkedQueue<Node<T>[]> collected = new ConcurrentLinkedQueue<>();
+        pool.invoke(new CollectTask<>(this, source, selector, 0, buckets, bucketsPerTask, partitions, collected));
+        size += pool.invoke(new LinkTask<>(this, collected, 0, partitions));
+        modCount++;
+    }
 
+    /**
+     * Helper method that returns the number of buckets to scan, counting
+     * the old array too while an incremental resize is in progress.
+     */
+    private int bucketSpan() {
+        return array.length + (oldArray == null ? 0 : oldArray.length);
+    }
 
     /**
-     * Returns an iterator over the collection.
-     *
-     * @return an object using the Iterator<T> interface
+     * Helper method that returns a bucket by its position in bucketSpan().
      */
-    @Override
-    public Iterator<T> iterator() {
-        return new HashTableIterator();
+    private Node<T> bucketAt(int position) {
+        return position < array.length ? array[position] : oldArray[position - array.length];
     }
 
-    public class HashTableIterator implements Iterator<T>{
+    /**
+     * Helper method that returns which of the given number of equal ranges
+     * of the bucket array a hash falls into.
+     */
+    private int partitionFor(int hash, int partitions) {
+        return (int) ((long) indexFor(hash, array.length) * partitions / array.length);
+    }
 
-        private Node<T> current;
-        private int currentIndex;
-        private int savedModCount;
+    /**
+     * Helper method that puts a new element at the front of its bucket
+     * without checking for duplicates or the load factor.
+     */
+    private void link(T element) {
+        moveNode(new Node(element, hash(element), null));
+        size++;
+    }
 
-        /**
-         * Iterator constructor that begins the loop of going through array.
-         */
-        public HashTableIterator(){
-            //get head of first list -> current
+    /**
+     * Helper method that links an existing node into its bucket in the
+     * current array, or adds its element to the bucket's tree. The node's
+     * cached hash is used, so hashCode() is never called again.
+     */
+    private void moveNode(Node<T> node) {
+        int index = indexFor(node.hash, array.length);
+        Node<T> head = array[index];
 
-            savedModCount = modCount;
+        if(head instanceof TreeBin){
+            ((TreeBin<T>) head).insert(node.data, node.hash);
+            return;
+        }
 
-            checkConcurrentChanges();
+        //tree nodes are copied so their tree links are not carried along
+        if(node instanceof TreeNode){
+            node = new Node(node.data, node.hash, null);
+        }
+        node.next = head;
+        array[index] = node;
 
-            //loop over array to traverse to a head of a linked list
-            //that is not null
-            currentIndex = -1;
-            findNextList();
+        //only count as far as needed to decide whether to build a tree
+        int chainLength = 0;
+        for(Node<T> current = node; current != null && chainLength < TREEIFY_THRESHOLD; current = current.next){
+            chainLength++;
         }
+        if(chainLength >= TREEIFY_THRESHOLD){
+            treeify(array, index);
+        }
+    }
 
-        @Override
-        public boolean hasNext() {
-            checkConcurrentChanges();
-            //return true if the element at index "current" is not null
-            //check if node array has
+    /**
+     * Helper method that replaces the chain in a bucket with a tree.
+     */
+    private void treeify(Node<T>[] table, int index) {
+        TreeBin<T> bin = new TreeBin<>();
+        for(Node<T> current = table[index]; current != null; current = current.next){
+            bin.insert(current.data, current.hash);
+        }
+        table[index] = bin;
+    }
 
-            //go through current linked list, unless its at the end (.next = null),
-            // then you'll have to go to the next array index
+    private static int knownSize(Iterable<?> elements) {
+        if(elements instanceof ICollection){
+            return ((ICollection<?>) elements).size();
+        } else if(elements instanceof IMap){
+            return ((IMap<?, ?>) elements).size();
+        } else if(elements instanceof Collection){
+            return ((Collection<?>) elements).size();
+        }
+        return -1;
+    }
 
-            return current != null;
+    /**
+     * Helper method that returns the smallest number of buckets that keeps
+     * the given number of elements under the maximum load factor.
+     */
+    private int bucketsFor(int expectedSize) {
+        int buckets = (int) Math.min(Integer.MAX_VALUE, Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1);
+        if(mode == IndexingMode.POWER_OF_TWO){
+            return buckets <= 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
         }
+        return buckets;
+    }
 
-        @Override
-        public T next() {
-            checkConcurrentChanges();
+    /**
+     * Helper method that resizes the table to 50% larger (or twice as
+     * large in power-of-two mode) once load factor exceeds 250%
+     */
+    private void resize() {
+        int newLength;
+        if(mode == IndexingMode.POWER_OF_TWO){
+            newLength = array.length * 2;
+        } else {
+            newLength = (int) (array.length * RESIZE_FACTOR);
+        }
+        resize(newLength, incrementalResize);
+    }
 
-            //move pointer to either next node or array index
+    /**
+     * Helper method that shrinks the table to about one element per bucket
+     * once it has fewer than one per four buckets. Nothing happens while an
+     * incremental resize is still running.
+     */
+    private void shrinkIfSparse() {
+        if(size >= array.length * SHRINK_LOAD_FACTOR || array.length <= minimumLength || oldArray != null){
+            return;
+        }
 
-            T result = current.data;
-            //"increment" current
-            current = current.next;
-            if(current == null){
-                findNextList();
-            }
-            return result;
+        int newLength = Math.max(size, 1);
+        if(mode == IndexingMode.POWER_OF_TWO){
+            newLength = newLength <= 1 ? 1 : Integer.highestOneBit(newLength - 1) << 1;
         }
+        resize(Math.max(newLength, minimumLength), incrementalResize);
+    }
 
-        private void checkConcurrentChanges(){
-            if(modCount != savedModCount){
-                throw new ConcurrentModificationException("You cannot change the structure while iterating");
-            }
+    /**
+     * Helper method that moves the table into a new bucket array of the
+     * given length, either right away or a few buckets at a time.
+     */
+    private void resize(int newLength, boolean incremental) {
+        //an earlier incremental resize must be finished before starting another
+        if(oldArray != null){
+            migrateBuckets(oldArray.length);
         }
 
-        private void findNextList(){
-            for(int i = currentIndex+1; i < array.length; i++ ){
-                //head contains an element
-                if(array[i] != null){
-                    //keep reference to the head of the list
-                    current = array[i];
-                    currentIndex = i;
-                    break;
-                }
-            }
+        long start = counters == null ? 0 : System.nanoTime();
+        oldArray = array;
+        array = new Node[newLength];
+        migrateIndex = 0;
+        if(counters != null){
+            counters.resizes++;
+            counters.resizeNanos += System.nanoTime() - start;
         }
 
-        @Override
-        public String toString() {
-            return "HashTableIterator{" +
-                    "current=" + current +
-                    ", currentIndex=" + currentIndex +
-                    ", savedModCount=" + savedModCount +
-                    '}';
+        //without incremental resizing every bucket is moved right away
+        if(!incremental){
+            migrateBuckets(oldArray.length);
         }
     }
 
     /**
-     * An inner class to store elements in the table.
+     * Helper method that moves up to count buckets from the old array into
+     * the current one. Nodes are relinked rather than re-added, so there are
+     * no duplicate checks or load factor checks while rehashing.
      */
-    private static class Node<T> {
-        private T data;
-        private Node<T> next;
+    private void migrateBuckets(int count) {
+        long start = counters == null ? 0 : System.nanoTime();
+        int end = Math.min(migrateIndex + count, oldArray.length);
 
-        public Node(T data, Node next){
-            this.data = data;
-            this.next = next;
+        for(; migrateIndex < end; migrateIndex++){
+            Node<T> current = first(oldArray[migrateIndex]);
+            oldArray[migrateIndex] = null;
+
+            while(current != null){
+                Node<T> next = current.next;
+
+                //push the node onto the front of its new bucket
+                moveNode(current);
+
+                current = next;
+            }
         }
 
-        @Override
+        if(migrateIndex == oldArray.length){
+            oldArray = null;
+        }
+        modCount++;
+        if(counters != null){
+            counters.resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Finds and removes an element from the collection.
+     *
+     * @throws NoSuchElementException thrown when the
+     * element is not found in the collection
+     * @param element the element to remove
+     */
+    @Override
+    public void remove(T element) {
+        //move a few more buckets if a resize is in progress
+        if(oldArray != null){
+            migrateBuckets(MIGRATION_STEP);
+        }
+
+        //the element is either in the current array or still in the old one
+        int hash = hash(element);
+        if(!removeFrom(array, element, hash) && (oldArray == null || !removeFrom(oldArray, element, hash))){
+            throw new NoSuchElementException("This item is not in list");
+        }
+        size--;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Removes every element that matches a predicate, in one pass over the
+     * buckets. Each chain is unlinked in place, so nothing is hashed or
+     * searched again. The predicate must not change the table. If it
+     * throws, the elements already removed stay removed and the size
+     * counts them.
+     *
+     * @param predicate returns true for the elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super T> predicate) {
+        int before = size;
+        removeIfIn(array, predicate);
+        if(oldArray != null){
+            removeIfIn(oldArray, predicate);
+        }
+
+        if(size == before){
+            return false;
+        }
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Removes every element that the other collection does not contain.
+     * @param other the elements to keep
+     * @return true if any element was removed
+     */
+    public boolean retainAll(ICollection<T> other) {
+        return removeIf(element -> !other.contains(element));
+    }
+
+    /**
+     * Helper method that removes the matching elements of every bucket of
+     * the given array. The size is updated at each removal, so it stays
+     * right if the predicate throws.
+     */
+    private void removeIfIn(Node<T>[] table, Predicate<? super T> predicate) {
+        for(int i = 0; i < table.length; i++){
+            if(table[i] instanceof TreeBin){
+                TreeBin<T> bin = (TreeBin<T>) table[i];
+                try {
+                    for(TreeNode<T> node = bin.first; node != null; node = (TreeNode<T>) node.next){
+                        if(predicate.test(node.data)){
+                            bin.removeNode(node);
+                            size--;
+                            modCount++;
+                        }
+                    }
+                } finally {
+                    //turn a short tree back into a list even if the predicate throws
+                    if(bin.count <= UNTREEIFY_THRESHOLD){
+                        table[i] = bin.count == 0 ? null : bin.untreeify();
+                    }
+                }
+                continue;
+            }
+
+            //a removed node keeps its next pointer, so the walk carries on past it
+            Node<T> previous = null;
+            for(Node<T> current = table[i]; current != null; current = current.next){
+                if(predicate.test(current.data)){
+                    if(previous == null){
+                        table[i] = current.next;
+                    } else {
+                        previous.next = current.next;
+                    }
+                    size--;
+                    modCount++;
+                } else {
+                    previous = current;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that unlinks an element from its chain in the given array.
+     * @return true if the element was found and removed
+     */
+    private boolean removeFrom(Node<T>[] table, T element, int hash) {
+        return removeFrom(table, element, hash, false) != null;
+    }
+
+    /**
+     * Helper method that unlinks an element, or with byKey the KeyValuePair
+     * whose key equals the probe, from its chain in the given array.
+     * @return the element that was removed, or null if it was not found
+     */
+    private T removeFrom(Node<T>[] table, Object element, int hash, boolean byKey) {
+        int index = indexFor(hash, table.length);
+
+        Node<T> current = table[index];
+
+        //remove from the tree, and turn it back into a list once it is short
+        if(current instanceof TreeBin){
+            TreeBin<T> bin = (TreeBin<T>) current;
+            TreeNode<T> target = bin.find(element, hash, byKey);
+            if(target == null){
+                return null;
+            }
+            bin.removeNode(target);
+            if(bin.count <= UNTREEIFY_THRESHOLD){
+                table[index] = bin.untreeify();
+            }
+            return target.data;
+        }
+
+        //check if current index is empty
+        if(current == null){
+            return null;
+        //check if "head" of list is equal to the search element
+        } else if(byKey ? current.matchesKey(element, hash) : current.matches(element, hash)) {
+            table[index] = current.next;
+            return current.data;
+        }
+
+        //check if we reached the end of the list
+        //check if current next node is equals to the search element
+        while (current.next != null &&
+                !(byKey ? current.next.matchesKey(element, hash) : current.next.matches(element, hash))) {
+            current = current.next;
+        }
+        if(current.next == null){
+            return null;
+        }
+        T removed = current.next.data;
+        current.next = current.next.next;
+        return removed;
+    }
+
+    /**
+     * Reports whether the collection contains an element
+     *
+     * @param element the element to search for.
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return findNode(element) != null;
+    }
+
+    /**
+     * Returns the number of elements in the collection.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the collection is empty or not.
+     *
+     * @return true if the collection is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from the collection. The table goes back to the
+     * capacity it was created or ensureCapacity()'d with.
+     */
+    @Override
+    public void clear() {
+        array = new Node[minimumLength];
+        oldArray = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Removes all elements from the collection, optionally keeping the
+     * current bucket array so that refilling the table to the same size
+     * does not resize it again.
+     * @param keepCapacity true to keep the current capacity
+     */
+    public void clear(boolean keepCapacity) {
+        if(!keepCapacity){
+            clear();
+            return;
+        }
+
+        Arrays.fill(array, null);
+        oldArray = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of buckets in the table. While an incremental
+     * resize is running, this is the size of the new array.
+     * @return the number of buckets
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns the indexing mode used by this table.
+     * @return the indexing mode
+     */
+    public IndexingMode getIndexingMode() {
+        return mode;
+    }
+
+    /**
+     * Starts counting lookups, probes and resizes. Until this is called,
+     * statistics() only reports the shape of the table. Counting adds a
+     * little work to every lookup and resize, so it is off by default.
+     */
+    public void enableStatistics() {
+        if(counters == null){
+            counters = new Counters();
+        }
+    }
+
+    /**
+     * Stops counting and discards the counts.
+     */
+    public void disableStatistics() {
+        counters = null;
+    }
+
+    /**
+     * Reports whether lookups, probes and resizes are being counted.
+     * @return true if statistics are enabled
+     */
+    public boolean isStatisticsEnabled() {
+        return counters != null;
+    }
+
+    /**
+     * Sets the lookup, probe and resize counts back to zero.
+     */
+    public void resetStatistics() {
+        if(counters != null){
+            counters = new Counters();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the table's statistics. The chain lengths, load
+     * factor and memory estimate are worked out by walking the buckets, so
+     * this takes time proportional to the number of buckets. The lookup and
+     * resize counts are zero unless statistics are enabled.
+     *
+     * Elements in a bucket's tree count as one chain of that many elements.
+     * While an incremental resize is running, the buckets of both arrays are
+     * counted.
+     *
+     * @return the statistics
+     */
+    public HashTableStatistics statistics() {
+        long[] histogram = new long[1];
+        histogram = countChains(array, histogram);
+        if(oldArray != null){
+            histogram = countChains(oldArray, histogram);
+        }
+
+        Counters current = counters == null ? new Counters() : counters;
+        return new HashTableStatistics(size, bucketSpan(), histogram, current.lookups.sum(), current.probes.sum(),
+                (int) current.maxProbes.get(), current.resizes, current.resizeNanos, estimateBytes());
+    }
+
+    //adds one to histogram[length] for every bucket, growing the histogram when needed
+    private static <T> long[] countChains(Node<T>[] table, long[] histogram) {
+        for(Node<T> bucket : table){
+            int length = 0;
+            if(bucket instanceof TreeBin){
+                length = ((TreeBin<T>) bucket).count;
+            } else {
+                for(Node<T> current = bucket; current != null; current = current.next){
+                    length++;
+                }
+            }
+
+            if(length >= histogram.length){
+                histogram = Arrays.copyOf(histogram, length + 1);
+            }
+            histogram[length]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Helper method that estimates the memory used by the bucket arrays and
+     * nodes, not counting the elements themselves, on a 64-bit JVM with
+     * compressed references: 16 bytes per array plus 4 per bucket, 24 bytes
+     * per list node, and 48 per tree node plus 40 per tree.
+     */
+    private long estimateBytes() {
+        long bytes = arrayBytes(array);
+        if(oldArray != null){
+            bytes += arrayBytes(oldArray);
+        }
+        return bytes + 24L * size;
+    }
+
+    //the array itself, plus the extra size of tree nodes and their bins over list nodes
+    private static <T> long arrayBytes(Node<T>[] table) {
+        long bytes = 16 + 4L * table.length;
+        for(Node<T> bucket : table){
+            if(bucket instanceof TreeBin){
+                bytes += 40 + (48 - 24) * (long) ((TreeBin<T>) bucket).count;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Enables statistics and publishes them as an MBean on the platform
+     * MBean server, under the name structures:type=HashTable,name=<name>,
+     * so they can be watched with JConsole or any other JMX client. The
+     * MBean only holds a weak reference to the table, but should still be
+     * removed with unregisterMBean() once the table is no longer needed.
+     *
+     * Each attribute read takes a fresh snapshot from the JMX client's
+     * thread without locking, so values read while the table is being
+     * changed are approximate.
+     *
+     * @throws IllegalStateException thrown when the table is already
+     * registered, or the name is invalid or already taken
+     * @param name the name that identifies this table
+     * @return the name the MBean was registered under
+     */
+    public ObjectName registerMBean(String name) {
+        if(mbeanName != null){
+            throw new IllegalStateException("The table is already registered as " + mbeanName);
+        }
+
+        enableStatistics();
+        try {
+            ObjectName objectName = new ObjectName("structures:type=HashTable,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new HashTableMonitor(this), objectName);
+            mbeanName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the table's MBean: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Removes the MBean published by registerMBean(). Statistics stay
+     * enabled. Nothing happens if the table is not registered.
+     */
+    public void unregisterMBean() {
+        if(mbeanName == null){
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister the table's MBean: " + e.getMessage(), e);
+        } finally {
+            mbeanName = null;
+        }
+    }
+
+    /**
+     * Reports whether the table is part way through an incremental resize.
+     * @return true if some elements are still waiting to be migrated
+     */
+    public boolean isResizing() {
+        return oldArray != null;
+    }
+
+    /**
+     * Helper method that returns the hash stored in an element's node: the
+     * mixed hash code in power-of-two mode, otherwise the hash code itself.
+     */
+    private int hash(Object element) {
+        int hashCode = element.hashCode();
+        return mode == IndexingMode.POWER_OF_TWO ? Hashing.spread(hashCode) : hashCode;
+    }
+
+    /**
+     * Helper method that finds the bucket for a hash in a table of the
+     * given length. In modulo mode the sign bit is cleared rather than using
+     * Math.abs(), which stays negative for Integer.MIN_VALUE.
+     */
+    private int indexFor(int hash, int length) {
+        if(mode == IndexingMode.POWER_OF_TWO){
+            return hash & (length - 1);
+        }
+        return (hash & Integer.MAX_VALUE) % length;
+    }
+
+    /**
+     * Helper method that finds the node holding an element, looking in the
+     * old array as well while a resize is in progress.
+     */
+    private Node<T> findNode(Object element) {
+        int hash = hash(element);
+        Node<T> found = findIn(array, element, hash);
+        if(found == null && oldArray != null){
+            found = findIn(oldArray, element, hash);
+        }
+        return found;
+    }
+
+    private Node<T> findIn(Node<T>[] table, Object element, int hash) {
+        return findIn(table, element, hash, false);
+    }
+
+    /**
+     * Helper method that finds the node holding an element, or with byKey
+     * the KeyValuePair whose key equals the probe, in the given array.
+     */
+    private Node<T> findIn(Node<T>[] table, Object element, int hash, boolean byKey) {
+        //walk the chain with a local pointer so the bucket is left intact
+        Node<T> current = table[indexFor(hash, table.length)];
+
+        if(counters != null){
+            return countingFindIn(current, element, hash, byKey);
+        }
+
+        if(current instanceof TreeBin){
+            return ((TreeBin<T>) current).find(element, hash, byKey);
+        }
+
+        while(current != null){
+            if (byKey ? current.matchesKey(element, hash) : current.matches(element, hash)){
+                return current;
+            }
+
+            current = current.next;
+        }
+
+        return null;
+    }
+
+    /**
+     * Helper method that searches a bucket like findIn() and records how
+     * many nodes were compared. A lookup in a tree is recorded at the
+     * height of the tree, which bounds the number of nodes it visits.
+     */
+    private Node<T> countingFindIn(Node<T> current, Object element, int hash, boolean byKey) {
+        if(current instanceof TreeBin){
+            TreeBin<T> bin = (TreeBin<T>) current;
+            counters.lookup(bin.root == null ? 0 : bin.root.height);
+            return bin.find(element, hash, byKey);
+        }
+
+        int probes = 0;
+        while(current != null){
+            probes++;
+            if (byKey ? current.matchesKey(element, hash) : current.matches(element, hash)){
+                break;
+            }
+            current = current.next;
+        }
+        counters.lookup(probes);
+        return current;
+    }
+
+    private int defaultTableSize() {
+        return mode == IndexingMode.POWER_OF_TWO ? DEFAULT_POWER_OF_TWO_SIZE : DEFAULT_TABLE_SIZE;
+    }
+
+    /**
+     * Generates a toString for the hash table
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "HashTable{" +
+                "array=" + Arrays.toString(array) +
+                ", size=" + size +
+                ", modCount=" + modCount +
+                '}';
+    }
+
+    /**
+     * Returns an element in the collection that matches the
+     * input parameter according the equals method of the parameter.
+     *
+     * @param element an element to search for
+     * @return a matching element
+     */
+    @Override
+    public T get(T element) {
+        Node<T> found = findNode(element);
+        return found == null ? null : found.data;
+    }
+
+    /**
+     * Returns the stored KeyValuePair whose key equals the input key. The
+     * key is hashed and compared directly, so no probe pair is allocated.
+     * Only valid when the table holds KeyValuePairs, as it does for Map.
+     *
+     * @param key the key to search for
+     * @return the matching pair, or null if the key is not in the table
+     */
+    T getByKey(Object key) {
+        int hash = hash(key);
+        Node<T> found = findIn(array, key, hash, true);
+        if(found == null && oldArray != null){
+            found = findIn(oldArray, key, hash, true);
+        }
+        return found == null ? null : found.data;
+    }
+
+    /**
+     * Removes the KeyValuePair whose key equals the input key, without
+     * allocating a probe pair. Only valid when the table holds KeyValuePairs.
+     *
+     * @param key the key to remove
+     * @return the removed pair, or null if the key is not in the table
+     */
+    T removeByKey(Object key) {
+        //move a few more buckets if a resize is in progress
+        if(oldArray != null){
+            migrateBuckets(MIGRATION_STEP);
+        }
+
+        int hash = hash(key);
+        T removed = removeFrom(array, key, hash, true);
+        if(removed == null && oldArray != null){
+            removed = removeFrom(oldArray, key, hash, true);
+        }
+        if(removed == null){
+            return null;
+        }
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return removed;
+    }
+
+
+
+    /**
+     * Returns an iterator over the collection.
+     *
+     * @return an object using the Iterator<T> interface
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new HashTableIterator();
+    }
+
+    /**
+     * Performs an action for every element. The buckets are walked
+     * directly, and the table is checked for changes once at the end
+     * instead of on every step as the iterator does.
+     *
+     * @throws ConcurrentModificationException if the action changed the table
+     * @param action the action to perform
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int savedModCount = modCount;
+        int buckets = bucketSpan();
+        for(int i = 0; i < buckets; i++){
+            for(Node<T> current = first(bucketAt(i)); current != null; current = current.next){
+                action.accept(current.data);
+            }
+        }
+        if(modCount != savedModCount){
+            throw new ConcurrentModificationException("You cannot change the structure while iterating");
+        }
+    }
+
+    /**
+     * Returns a spliterator that splits the table into ranges of buckets.
+     * The elements are distinct and never null. The spliterator for the
+     * whole table knows its exact size; once split, each half can only
+     * estimate its size from the share of buckets it covers.
+     *
+     * @return a spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new BucketSpliterator(array, oldArray, 0, bucketSpan(), size, modCount, true);
+    }
+
+    /**
+     * Returns a sequential stream over the elements.
+     * @return a stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements. The table is split by
+     * ranges of buckets.
+     * @return a parallel stream
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Walks a range of buckets. The bucket arrays are captured when the
+     * spliterator is created, and changes to the table are reported once a
+     * traversal finishes.
+     */
+    private final class BucketSpliterator implements Spliterator<T> {
+        private final Node<T>[] current;
+        private final Node<T>[] old;
+        private int index;
+        private final int end;
+        private long estimate;
+        private final int savedModCount;
+        private boolean exact;
+        private Node<T> next;
+
+        public BucketSpliterator(Node<T>[] current, Node<T>[] old, int index, int end, long estimate,
+                                 int savedModCount, boolean exact){
+            this.current = current;
+            this.old = old;
+            this.index = index;
+            this.end = end;
+            this.estimate = estimate;
+            this.savedModCount = savedModCount;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while(next == null && index < end){
+                next = first(bucket(index++));
+            }
+            if(next == null){
+                checkConcurrentChanges();
+                return false;
+            }
+
+            T element = next.data;
+            next = next.next;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            //finish the bucket tryAdvance() stopped in, then walk the rest of the range
+            for(; next != null; next = next.next){
+                action.accept(next.data);
+            }
+            for(; index < end; index++){
+                for(Node<T> node = first(bucket(index)); node != null; node = node.next){
+                    action.accept(node.data);
+                }
+            }
+            checkConcurrentChanges();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            //only split on bucket boundaries, and never while part way through a bucket
+            int middle = (index + end) >>> 1;
+            if(next != null || middle <= index){
+                return null;
+            }
+
+            estimate >>>= 1;
+            exact = false;
+            BucketSpliterator prefix = new BucketSpliterator(current, old, index, middle, estimate,
+                    savedModCount, false);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        private Node<T> bucket(int position){
+            return position < current.length ? current[position] : old[position - current.length];
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+    }
+
+    public class HashTableIterator implements Iterator<T>{
+
+        private Node<T> current;
+        private int currentIndex;
+        private int savedModCount;
+
+        //the node before current in its chain, or null if current is the head
+        private Node<T> previous;
+
+        //the node last returned by next(), with the node before it, for remove()
+        private Node<T> lastReturned;
+        private Node<T> lastPrevious;
+        private int lastIndex;
+
+        //a tree bucket that shrank while being walked, turned back into a list once the walk leaves it
+        private int shrunkTree = -1;
+
+        /**
+         * Iterator constructor that begins the loop of going through array.
+         */
+        public HashTableIterator(){
+            //get head of first list -> current
+
+            savedModCount = modCount;
+
+            checkConcurrentChanges();
+
+            //loop over array to traverse to a head of a linked list
+            //that is not null
+            currentIndex = -1;
+            findNextList();
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            //return true if the element at index "current" is not null
+            //check if node array has
+
+            //go through current linked list, unless its at the end (.next = null),
+            // then you'll have to go to the next array index
+
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            checkConcurrentChanges();
+
+            //move pointer to either next node or array index
+
+            if(current == null){
+                throw new NoSuchElementException("There are no more elements in the table");
+            }
+
+            lastReturned = current;
+            lastPrevious = previous;
+            lastIndex = currentIndex;
+
+            T result = current.data;
+            //"increment" current
+            previous = current;
+            current = current.next;
+            if(current == null){
+                findNextList();
+            }
+            return result;
+        }
+
+        /**
+         * Removes the element last returned by next(). A chain node is
+         * unlinked through the node before it, so nothing is hashed or
+         * searched. The table is not shrunk or migrated while iterating.
+         *
+         * A tree bucket that drops to the untreeify threshold is turned back
+         * into a list, right away if the iterator has already moved past it,
+         * otherwise once the iterator moves on to the next bucket.
+         *
+         * @throws IllegalStateException thrown when next() has not been
+         * called, or remove() was already called for this element
+         */
+        @Override
+        public void remove() {
+            checkConcurrentChanges();
+            if(lastReturned == null){
+                throw new IllegalStateException("next() must be called before remove()");
+            }
+
+            Node<T>[] table = lastIndex < array.length ? array : oldArray;
+            int index = lastIndex < array.length ? lastIndex : lastIndex - array.length;
+            if(table[index] instanceof TreeBin){
+                TreeBin<T> bin = (TreeBin<T>) table[index];
+                bin.removeNode((TreeNode<T>) lastReturned);
+                lastReturned = null;
+                if(bin.count <= UNTREEIFY_THRESHOLD){
+                    //the walk along the tree's list must not be cut short, so wait until it leaves the bucket
+                    if(current != null && currentIndex == lastIndex){
+                        shrunkTree = lastIndex;
+                    } else {
+                        untreeifyAt(lastIndex);
+                    }
+                }
+            } else {
+                if(lastPrevious == null){
+                    table[index] = lastReturned.next;
+                } else {
+                    lastPrevious.next = lastReturned.next;
+                }
+                if(previous == lastReturned){
+                    previous = lastPrevious;
+                }
+            }
+
+            lastReturned = null;
+            size--;
+            modCount++;
+            savedModCount = modCount;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+
+        private void findNextList(){
+            if(shrunkTree >= 0){
+                untreeifyAt(shrunkTree);
+                shrunkTree = -1;
+            }
+
+            //while resizing, the old array's buckets are visited after the current array's
+            int buckets = array.length + (oldArray == null ? 0 : oldArray.length);
+            for(int i = currentIndex+1; i < buckets; i++ ){
+                Node<T> head = first(i < array.length ? array[i] : oldArray[i - array.length]);
+                //head contains an element
+                if(head != null){
+                    //keep reference to the head of the list
+                    current = head;
+                    previous = null;
+                    currentIndex = i;
+                    break;
+                }
+            }
+        }
+
+        //turns the tree at a bucket position back into a list, or empties the bucket
+        private void untreeifyAt(int position){
+            Node<T>[] table = position < array.length ? array : oldArray;
+            int index = position < array.length ? position : position - array.length;
+            if(!(table[index] instanceof TreeBin)){
+                return;
+            }
+
+            TreeBin<T> bin = (TreeBin<T>) table[index];
+            table[index] = bin.count == 0 ? null : bin.untreeify();
+
+            //remove() may still be called for the last element returned, so point it at its new node
+            if(lastReturned != null && lastIndex == position){
+                Node<T> before = null;
+                Node<T> node = table[index];
+                while(node.data != lastReturned.data){
+                    before = node;
+                    node = node.next;
+                }
+                lastReturned = node;
+                lastPrevious = before;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "HashTableIterator{" +
+                    "current=" + current +
+                    ", currentIndex=" + currentIndex +
+                    ", savedModCount=" + savedModCount +
+                    '}';
+        }
+    }
+
+    /**
+     * Helper method that returns the first node of a bucket, whether the
+     * bucket holds a chain or a tree.
+     */
+    private static <T> Node<T> first(Node<T> head) {
+        return head instanceof TreeBin ? ((TreeBin<T>) head).first : head;
+    }
+
+    /**
+     * Scans a range of a source table's buckets and collects the selected
+     * elements into new nodes, with one list for each range of the target's
+     * buckets. Large ranges are split in two and scanned in parallel.
+     */
+    @SuppressWarnings("serial")
+    private static final class CollectTask<T> extends RecursiveAction {
+        private final HashTable<T> target;
+        private final HashTable<T> source;
+        private final UnaryOperator<T> selector;
+        private final int from;
+        private final int to;
+        private final int bucketsPerTask;
+        private final int partitions;
+        private final ConcurrentLinkedQueue<Node<T>[]> collected;
+
+        public CollectTask(HashTable<T> target, HashTable<T> source, UnaryOperator<T> selector, int from, int to,
+                           int bucketsPerTask, int partitions, ConcurrentLinkedQueue<Node<T>[]> collected){
+            this.target = target;
+            this.source = source;
+            this.selector = selector;
+            this.from = from;
+            this.to = to;
+            this.bucketsPerTask = bucketsPerTask;
+            this.partitions = partitions;
+            this.collected = collected;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from > bucketsPerTask){
+                int middle = (from + to) >>> 1;
+                invokeAll(new CollectTask<>(target, source, selector, from, middle, bucketsPerTask, partitions, collected),
+                        new CollectTask<>(target, source, selector, middle, to, bucketsPerTask, partitions, collected));
+                return;
+            }
+
+            //the cached hash can be reused unless the tables hash differently
+            boolean sameHash = target.mode == source.mode;
+            @SuppressWarnings("unchecked")
+            Node<T>[] heads = (Node<T>[]) new Node<?>[partitions];
+            boolean found = false;
+
+            for(int position = from; position < to; position++){
+                for(Node<T> node = first(source.bucketAt(position)); node != null; node = node.next){
+                    T selected = selector.apply(node.data);
+                    if(selected != null){
+                        int hash = sameHash ? node.hash : target.hash(selected);
+                        int partition = target.partitionFor(hash, partitions);
+                        heads[partition] = new Node<>(selected, hash, heads[partition]);
+                        found = true;
+                    }
+                }
+            }
+
+            if(found){
+                collected.add(heads);
+            }
+        }
+    }
+
+    /**
+     * Links the collected nodes of a range of partitions into the target
+     * table and returns how many were linked. Each partition covers its own
+     * range of buckets, so partitions can be linked in parallel.
+     */
+    @SuppressWarnings("serial")
+    private static final class LinkTask<T> extends RecursiveTask<Integer> {
+        private final HashTable<T> target;
+        private final ConcurrentLinkedQueue<Node<T>[]> collected;
+        private final int from;
+        private final int to;
+
+        public LinkTask(HashTable<T> target, ConcurrentLinkedQueue<Node<T>[]> collected, int from, int to){
+            this.target = target;
+            this.collected = collected;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute(){
+            if(to - from > 1){
+                int middle = (from + to) >>> 1;
+                LinkTask<T> left = new LinkTask<>(target, collected, from, middle);
+                left.fork();
+                int right = new LinkTask<>(target, collected, middle, to).compute();
+                return left.join() + right;
+            }
+
+            int linked = 0;
+            for(Node<T>[] heads : collected){
+                Node<T> current = heads[from];
+                while(current != null){
+                    Node<T> next = current.next;
+                    target.moveNode(current);
+                    current = next;
+                    linked++;
+                }
+            }
+            return linked;
+        }
+    }
+
+    /**
+     * The running counts behind statistics(). Lookups can come from several
+     * threads at once (the parallel Set operations search a table from
+     * ForkJoinPool workers), so their counts are adders. Resizes are only
+     * counted by the thread changing the table.
+     */
+    private static final class Counters {
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder probes = new LongAdder();
+        private final LongAccumulator maxProbes = new LongAccumulator(Math::max, 0);
+        private int resizes;
+        private long resizeNanos;
+
+        void lookup(int probeCount){
+            lookups.increment();
+            probes.add(probeCount);
+            maxProbes.accumulate(probeCount);
+        }
+    }
+
+    /**
+     * An inner class to store elements in the table.
+     */
+    private static class Node<T> {
+        //not private, so the tree node subclasses can reach them
+        T data;
+        final int hash;
+        Node<T> next;
+
+        public Node(T data, int hash, Node next){
+            this.data = data;
+            this.hash = hash;
+            this.next = next;
+        }
+
+        /**
+         * Compares the cached hashes first, so most mismatches are rejected
+         * without calling equals().
+         */
+        boolean matches(Object element, int hash){
+            return this.hash == hash && data.equals(element);
+        }
+
+        /**
+         * Compares against a bare key instead of a whole element. Only used
+         * when the table holds KeyValuePairs.
+         */
+        boolean matchesKey(Object key, int hash){
+            return this.hash == hash && ((KeyValuePair<?, ?>) data).getKey().equals(key);
+        }
+
+        @Override
         public String toString(){
             String nextElement = "null";
             if(next != null){
@@ -365,4 +1763,282 @@ public class HashTable<T> implements ICollection<T>, Iterable<T>{
             return data + " --> " + nextElement;
         }
     }
+
+    /**
+     * A node in a bucket's tree. Tree nodes are also linked into a list
+     * (through next and prev) so the bucket can be iterated in order.
+     */
+    private static final class TreeNode<T> extends Node<T> {
+        private final int sequence;
+        private TreeNode<T> left;
+        private TreeNode<T> right;
+        private TreeNode<T> prev;
+        private int height = 1;
+
+        public TreeNode(T data, int hash, int sequence){
+            super(data, hash, null);
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Stands in the bucket array in place of a long chain, holding an AVL
+     * tree of the bucket's elements.
+     *
+     * Nodes are ordered by hash code, then by compareTo() when both elements
+     * (or both KeyValuePair keys) are of the same Comparable class, and then
+     * by the order they were added. A lookup that cannot use compareTo()
+     * searches both subtrees where hash codes are equal.
+     */
+    private static final class TreeBin<T> extends Node<T> {
+        private TreeNode<T> root;
+        private TreeNode<T> first;
+        private int count;
+        private int nextSequence;
+
+        public TreeBin(){
+            super(null, 0, null);
+        }
+
+        /**
+         * Finds the tree node holding an element.
+         * @return the node, or null if the element is not in the tree
+         */
+        public TreeNode<T> find(Object element, int hash){
+            return find(element, hash, false);
+        }
+
+        /**
+         * Finds the tree node holding an element, or with byKey the
+         * KeyValuePair whose key equals the probe.
+         * @return the node, or null if it is not in the tree
+         */
+        public TreeNode<T> find(Object probe, int hash, boolean byKey){
+            return find(root, probe, hash, byKey ? probe : orderingKey(probe), byKey);
+        }
+
+        private TreeNode<T> find(TreeNode<T> node, Object element, int hash, Object key, boolean byKey){
+            while(node != null){
+                if(hash < node.hash){
+                    node = node.left;
+                } else if(hash > node.hash){
+                    node = node.right;
+                } else if(byKey ? node.matchesKey(key, hash) : node.data.equals(element)){
+                    return node;
+                } else {
+                    int compared = compareKeys(key, orderingKey(node.data));
+                    if(compared < 0){
+                        node = node.left;
+                    } else if(compared > 0){
+                        node = node.right;
+                    } else {
+                        //no usable ordering, so the element could be on either side
+                        TreeNode<T> found = find(node.left, element, hash, key, byKey);
+                        if(found != null){
+                            return found;
+                        }
+                        node = node.right;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds an element to the tree without checking for duplicates.
+         */
+        public void insert(T element, int hash){
+            TreeNode<T> added = new TreeNode<>(element, hash, nextSequence++);
+
+            //keep the list in step with the tree for iteration
+            added.next = first;
+            if(first != null){
+                first.prev = added;
+            }
+            first = added;
+
+            root = insert(root, added);
+            count++;
+        }
+
+        private TreeNode<T> insert(TreeNode<T> node, TreeNode<T> added){
+            if(node == null){
+                return added;
+            }
+            if(compareNodes(added, node) < 0){
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return rebalance(node);
+        }
+
+        /**
+         * Removes an element from the tree.
+         * @return true if the element was found and removed
+         */
+        public boolean remove(Object element, int hash){
+            return remove(element, hash, false);
+        }
+
+        /**
+         * Removes an element, or with byKey the KeyValuePair whose key equals
+         * the probe, from the tree.
+         * @return true if it was found and removed
+         */
+        public boolean remove(Object probe, int hash, boolean byKey){
+            TreeNode<T> target = find(probe, hash, byKey);
+            if(target == null){
+                return false;
+            }
+            removeNode(target);
+            return true;
+        }
+
+        /**
+         * Removes a node that is known to be in the tree. The node keeps its
+         * next pointer, so a walk along the list can carry on past it.
+         */
+        public void removeNode(TreeNode<T> target){
+            if(target.prev == null){
+                first = (TreeNode<T>) target.next;
+            } else {
+                target.prev.next = target.next;
+            }
+            if(target.next != null){
+                ((TreeNode<T>) target.next).prev = target.prev;
+            }
+
+            root = delete(root, target);
+            count--;
+        }
+
+        private TreeNode<T> delete(TreeNode<T> node, TreeNode<T> target){
+            if(node == target){
+                if(node.left == null){
+                    return node.right;
+                } else if(node.right == null){
+                    return node.left;
+                }
+
+                //replace the node with the smallest node in its right subtree
+                TreeNode<T> successor = node.right;
+                while(successor.left != null){
+                    successor = successor.left;
+                }
+                successor.right = deleteSmallest(node.right);
+                successor.left = node.left;
+                return rebalance(successor);
+            }
+
+            if(compareNodes(target, node) < 0){
+                node.left = delete(node.left, target);
+            } else {
+                node.right = delete(node.right, target);
+            }
+            return rebalance(node);
+        }
+
+        private TreeNode<T> deleteSmallest(TreeNode<T> node){
+            if(node.left == null){
+                return node.right;
+            }
+            node.left = deleteSmallest(node.left);
+            return rebalance(node);
+        }
+
+        /**
+         * Builds a plain chain holding the tree's elements.
+         * @return the head of the chain
+         */
+        public Node<T> untreeify(){
+            Node<T> head = null;
+            for(Node<T> current = first; current != null; current = current.next){
+                head = new Node(current.data, current.hash, head);
+            }
+            return head;
+        }
+
+        private TreeNode<T> rebalance(TreeNode<T> node){
+            updateHeight(node);
+            int balance = height(node.left) - height(node.right);
+
+            if(balance > 1){
+                if(height(node.left.left) < height(node.left.right)){
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            } else if(balance < -1){
+                if(height(node.right.right) < height(node.right.left)){
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private TreeNode<T> rotateLeft(TreeNode<T> node){
+            TreeNode<T> pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            updateHeight(node);
+            updateHeight(pivot);
+            return pivot;
+        }
+
+        private TreeNode<T> rotateRight(TreeNode<T> node){
+            TreeNode<T> pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            updateHeight(node);
+            updateHeight(pivot);
+            return pivot;
+        }
+
+        private static void updateHeight(TreeNode<?> node){
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+        }
+
+        private static int height(TreeNode<?> node){
+            return node == null ? 0 : node.height;
+        }
+
+        //a total order over the nodes in the tree
+        private static int compareNodes(TreeNode<?> a, TreeNode<?> b){
+            if(a.hash != b.hash){
+                return a.hash < b.hash ? -1 : 1;
+            }
+            int compared = compareKeys(orderingKey(a.data), orderingKey(b.data));
+            if(compared != 0){
+                return compared;
+            }
+            return Integer.compare(a.sequence, b.sequence);
+        }
+
+        //pairs are ordered by their keys, since that is what they are looked up by
+        private static Object orderingKey(Object element){
+            return element instanceof KeyValuePair ? ((KeyValuePair<?, ?>) element).getKey() : element;
+        }
+
+        //orders two keys with compareTo() if they are the same Comparable class, otherwise 0
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compareKeys(Object a, Object b){
+            if(a != null && b != null && a.getClass() == b.getClass() && a instanceof Comparable){
+                return ((Comparable) a).compareTo(b);
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString(){
+            StringBuilder builder = new StringBuilder("TreeBin[");
+            for(Node<T> current = first; current != null; current = current.next){
+                builder.append(current.data);
+                if(current.next != null){
+                    builder.append(" --> ");
+                }
+            }
+            return builder.append(']').toString();
+        }
+    }
 }
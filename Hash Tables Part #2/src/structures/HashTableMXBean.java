@@ -0,0 +1,72 @@
+package structures;
+
+/**
+ * The management interface HashTable.registerMBean() publishes, so a
+ * table's statistics can be read from JConsole or any other JMX client.
+ * Each attribute mirrors the matching method of HashTableStatistics.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public interface HashTableMXBean {
+
+    /**
+     * @return the number of elements in the table
+     */
+    int getSize();
+
+    /**
+     * @return the number of buckets
+     */
+    int getBuckets();
+
+    /**
+     * @return the average number of elements per bucket
+     */
+    double getLoadFactor();
+
+    /**
+     * @return the number of buckets holding each chain length
+     */
+    long[] getChainLengthHistogram();
+
+    /**
+     * @return the number of elements in the longest chain
+     */
+    int getMaxChainLength();
+
+    /**
+     * @return the number of buckets searched since counting started
+     */
+    long getLookups();
+
+    /**
+     * @return the average number of nodes compared per lookup
+     */
+    double getAverageProbeLength();
+
+    /**
+     * @return the largest number of nodes compared by a single lookup
+     */
+    int getMaxProbeLength();
+
+    /**
+     * @return the number of times the bucket array was replaced
+     */
+    int getResizes();
+
+    /**
+     * @return the time spent resizing, in nanoseconds
+     */
+    long getResizeNanos();
+
+    /**
+     * @return the estimated memory used by the table per element
+     */
+    double getEstimatedBytesPerElement();
+
+    /**
+     * Sets the lookup, probe and resize counts back to zero.
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,95 @@
+package structures;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * The MBean HashTable.registerMBean() registers. It only holds a weak
+ * reference, so a registered table can still be garbage collected; after
+ * that every attribute reads as zero.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+final class HashTableMonitor implements HashTableMXBean {
+
+    private static final HashTableStatistics EMPTY =
+            new HashTableStatistics(0, 0, new long[1], 0, 0, 0, 0, 0, 0);
+
+    private final WeakReference<HashTable<?>> table;
+
+    /**
+     * Constructor that watches a table.
+     * @param table the table to report on
+     */
+    HashTableMonitor(HashTable<?> table) {
+        this.table = new WeakReference<>(table);
+    }
+
+    private HashTableStatistics snapshot() {
+        HashTable<?> current = table.get();
+        return current == null ? EMPTY : current.statistics();
+    }
+
+    @Override
+    public int getSize() {
+        return snapshot().size();
+    }
+
+    @Override
+    public int getBuckets() {
+        return snapshot().buckets();
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return snapshot().loadFactor();
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return snapshot().chainLengthHistogram();
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        return snapshot().maxChainLength();
+    }
+
+    @Override
+    public long getLookups() {
+        return snapshot().lookups();
+    }
+
+    @Override
+    public double getAverageProbeLength() {
+        return snapshot().averageProbeLength();
+    }
+
+    @Override
+    public int getMaxProbeLength() {
+        return snapshot().maxProbeLength();
+    }
+
+    @Override
+    public int getResizes() {
+        return snapshot().resizes();
+    }
+
+    @Override
+    public long getResizeNanos() {
+        return snapshot().resizeNanos();
+    }
+
+    @Override
+    public double getEstimatedBytesPerElement() {
+        return snapshot().estimatedBytesPerElement();
+    }
+
+    @Override
+    public void resetStatistics() {
+        HashTable<?> current = table.get();
+        if(current != null){
+            current.resetStatistics();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of a HashTable's statistics, returned by
+ * HashTable.statistics().
+ *
+ * The shape of the table (chain lengths, load factor and memory estimate)
+ * is always filled in. The lookup and resize counts cover the time since
+ * statistics were enabled or last reset, and are zero otherwise. Every
+ * bucket searched counts as one lookup, so a lookup during an incremental
+ * resize that has to check both arrays counts twice.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public final class HashTableStatistics {
+
+    private final int size;
+    private final int buckets;
+    private final long[] chainLengths;
+    private final long lookups;
+    private final long probes;
+    private final int maxProbeLength;
+    private final int resizes;
+    private final long resizeNanos;
+    private final long estimatedBytes;
+
+    HashTableStatistics(int size, int buckets, long[] chainLengths, long lookups, long probes,
+                        int maxProbeLength, int resizes, long resizeNanos, long estimatedBytes) {
+        this.size = size;
+        this.buckets = buckets;
+        this.chainLengths = chainLengths;
+        this.lookups = lookups;
+        this.probes = probes;
+        this.maxProbeLength = maxProbeLength;
+        this.resizes = resizes;
+        this.resizeNanos = resizeNanos;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Returns the number of elements in the table.
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of buckets, counting both arrays during an
+     * incremental resize.
+     * @return the number of buckets
+     */
+    public int buckets() {
+        return buckets;
+    }
+
+    /**
+     * Returns the average number of elements per bucket.
+     * @return the load factor
+     */
+    public double loadFactor() {
+        return buckets == 0 ? 0 : (double) size / buckets;
+    }
+
+    /**
+     * Returns the histogram of chain lengths: element i is the number of
+     * buckets that hold exactly i elements.
+     * @return a copy of the histogram
+     */
+    public long[] chainLengthHistogram() {
+        return chainLengths.clone();
+    }
+
+    /**
+     * Returns the number of elements in the longest chain.
+     * @return the longest chain length
+     */
+    public int maxChainLength() {
+        return chainLengths.length - 1;
+    }
+
+    /**
+     * Returns the number of buckets searched since counting started.
+     * @return the number of lookups
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the average number of nodes compared per lookup.
+     * @return the average probe length, or 0 if nothing was looked up
+     */
+    public double averageProbeLength() {
+        return lookups == 0 ? 0 : (double) probes / lookups;
+    }
+
+    /**
+     * Returns the largest number of nodes compared by a single lookup.
+     * @return the longest probe length
+     */
+    public int maxProbeLength() {
+        return maxProbeLength;
+    }
+
+    /**
+     * Returns the number of times the bucket array was replaced.
+     * @return the number of resizes
+     */
+    public int resizes() {
+        return resizes;
+    }
+
+    /**
+     * Returns the time spent allocating bucket arrays and moving elements
+     * into them, including the steps of incremental resizes.
+     * @return the resize time in nanoseconds
+     */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the estimated memory used by the table's own arrays and nodes.
+     * @return the estimated size in bytes
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns the estimated memory used by the table per element, not
+     * counting the elements themselves.
+     * @return the estimated bytes per element, or 0 if the table is empty
+     */
+    public double estimatedBytesPerElement() {
+        return size == 0 ? 0 : (double) estimatedBytes / size;
+    }
+
+    @Override
+    public String toString() {
+        return "HashTableStatistics{" +
+                "size=" + size +
+                ", buckets=" + buckets +
+                ", loadFactor=" + loadFactor() +
+                ", chainLengthHistogram=" + Arrays.toString(chainLengths) +
+                ", lookups=" + lookups +
+                ", averageProbeLength=" + averageProbeLength() +
+                ", maxProbeLength=" + maxProbeLength +
+                ", resizes=" + resizes +
+                ", resizeNanos=" + resizeNanos +
+                ", estimatedBytesPerElement=" + estimatedBytesPerElement() +
+                '}';
+    }
+}
@@ -0,0 +1,697 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class holds the hash array mapped trie behind PersistentSet and
+ * PersistentMap. Each level of the trie uses five more bits of an entry's
+ * hash to pick one of 32 positions. A node keeps two 32-bit bitmaps, one
+ * for the positions holding an entry and one for the positions holding a
+ * child node, and a dense array with the key/value pairs followed by the
+ * children, so empty positions take no space (the CHAMP layout).
+ *
+ * Nodes are never changed. Adding or removing an entry copies the nodes on
+ * the path from the root to it, at most seven of them, and every other node
+ * is shared with the old trie. A node that is left with a single entry and
+ * no children is folded into its parent, so a trie always has the same
+ * shape for the same entries.
+ *
+ * Entries whose whole hash is the same are kept in a collision node at the
+ * bottom of the trie and searched linearly.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+final class HashTrie {
+
+    /**
+     * Returned by find() when the key is not in the trie, since values may
+     * be null.
+     */
+    static final Object NOT_FOUND = new Object();
+
+    /**
+     * The trie with no entries.
+     */
+    static final Node EMPTY = new BitmapNode(0, 0, new Object[0], 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_BITS = 32;
+
+    private HashTrie() {
+    }
+
+    /**
+     * Returns the hash an entry is placed by.
+     * @param key the entry's key
+     * @return the spread hash code
+     */
+    static int hash(Object key) {
+        return Hashing.spread(key.hashCode());
+    }
+
+    /**
+     * Returns the entries of both tries. For a key found in both, either
+     * entry may be kept. Where the tries share a subtree, that subtree is
+     * reused as it is, and if the second trie adds nothing, the first trie
+     * itself is returned.
+     * @param first a trie
+     * @param second another trie
+     * @return the union
+     */
+    static Node union(Node first, Node second) {
+        return union(first, second, 0);
+    }
+
+    /**
+     * Returns the entries of the first trie whose keys are in the second
+     * (keep true) or not in the second (keep false). Shared subtrees are
+     * kept or dropped whole, and if nothing is dropped the first trie itself
+     * is returned.
+     * @param first the trie to take entries from
+     * @param second the trie whose keys are checked
+     * @param keep true for the intersection, false for the difference
+     * @return the entries that were kept
+     */
+    static Node retain(Node first, Node second, boolean keep) {
+        return retain(first, second, keep, 0);
+    }
+
+    private static Node union(Node first, Node second, int shift) {
+        if(first == second || second.size == 0){
+            return first;
+        }
+        if(first.size == 0){
+            return second;
+        }
+        if(!(first instanceof BitmapNode) || !(second instanceof BitmapNode)){
+            return putAll(first, second, shift);
+        }
+
+        BitmapNode x = (BitmapNode) first;
+        BitmapNode y = (BitmapNode) second;
+        NodeBuilder result = new NodeBuilder();
+        boolean same = true;
+
+        for(int positions = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap; positions != 0; positions &= positions - 1){
+            int bit = Integer.lowestOneBit(positions);
+            if((x.dataMap & bit) != 0){
+                Object key = x.keyAt(x.dataIndex(bit));
+                Object value = x.valueAt(x.dataIndex(bit));
+                if((y.dataMap & bit) != 0){
+                    Object otherKey = y.keyAt(y.dataIndex(bit));
+                    if(key.equals(otherKey)){
+                        result.addEntry(bit, key, value);
+                    } else {
+                        result.addChild(bit, mergeTwo(key, value, hash(key),
+                                otherKey, y.valueAt(y.dataIndex(bit)), hash(otherKey), shift + BITS));
+                        same = false;
+                    }
+                } else if((y.nodeMap & bit) != 0){
+                    result.addChild(bit, y.childAt(y.nodeIndex(bit)).put(key, value, hash(key), shift + BITS, new Change(), false));
+                    same = false;
+                } else {
+                    result.addEntry(bit, key, value);
+                }
+            } else if((x.nodeMap & bit) != 0){
+                Node child = x.childAt(x.nodeIndex(bit));
+                Node merged;
+                if((y.dataMap & bit) != 0){
+                    Object otherKey = y.keyAt(y.dataIndex(bit));
+                    merged = child.put(otherKey, y.valueAt(y.dataIndex(bit)), hash(otherKey), shift + BITS, new Change(), false);
+                } else if((y.nodeMap & bit) != 0){
+                    merged = union(child, y.childAt(y.nodeIndex(bit)), shift + BITS);
+                } else {
+                    merged = child;
+                }
+                result.addChild(bit, merged);
+                same &= merged == child;
+            } else {
+                same = false;
+                if((y.dataMap & bit) != 0){
+                    result.addEntry(bit, y.keyAt(y.dataIndex(bit)), y.valueAt(y.dataIndex(bit)));
+                } else {
+                    result.addChild(bit, y.childAt(y.nodeIndex(bit)));
+                }
+            }
+        }
+        return same ? first : result.build();
+    }
+
+    private static Node retain(Node first, Node second, boolean keep, int shift) {
+        if(first == second){
+            return keep ? first : EMPTY;
+        }
+        if(first.size == 0 || second.size == 0){
+            return keep ? EMPTY : first;
+        }
+        if(!(first instanceof BitmapNode) || !(second instanceof BitmapNode)){
+            return retainEach(first, second, keep, shift);
+        }
+
+        BitmapNode x = (BitmapNode) first;
+        BitmapNode y = (BitmapNode) second;
+        NodeBuilder result = new NodeBuilder();
+        boolean same = true;
+
+        for(int positions = x.dataMap | x.nodeMap; positions != 0; positions &= positions - 1){
+            int bit = Integer.lowestOneBit(positions);
+            if((x.dataMap & bit) != 0){
+                Object key = x.keyAt(x.dataIndex(bit));
+                boolean found;
+                if((y.dataMap & bit) != 0){
+                    found = key.equals(y.keyAt(y.dataIndex(bit)));
+                } else if((y.nodeMap & bit) != 0){
+                    found = y.childAt(y.nodeIndex(bit)).find(key, hash(key), shift + BITS, true) != NOT_FOUND;
+                } else {
+                    found = false;
+                }
+
+                if(found == keep){
+                    result.addEntry(bit, key, x.valueAt(x.dataIndex(bit)));
+                } else {
+                    same = false;
+                }
+                continue;
+            }
+
+            Node child = x.childAt(x.nodeIndex(bit));
+            Node kept;
+            if((y.dataMap & bit) != 0){
+                //the other trie has one entry here, so at most one entry of the child is in both
+                Object otherKey = y.keyAt(y.dataIndex(bit));
+                Change change = new Change();
+                Node rest = child.remove(otherKey, hash(otherKey), shift + BITS, change);
+                if(keep){
+                    same = false;
+                    if(change.removed){
+                        result.addEntry(bit, change.key, change.value);
+                    }
+                    continue;
+                }
+                kept = rest;
+            } else if((y.nodeMap & bit) != 0){
+                kept = retain(child, y.childAt(y.nodeIndex(bit)), keep, shift + BITS);
+            } else {
+                kept = keep ? EMPTY : child;
+            }
+
+            if(kept == child){
+                result.addChild(bit, child);
+                continue;
+            }
+            same = false;
+            if(kept.isSingleEntry()){
+                result.addEntry(bit, kept.keyAt(0), kept.valueAt(0));
+            } else if(kept.size > 0){
+                result.addChild(bit, kept);
+            }
+        }
+        return same ? first : result.build();
+    }
+
+    //adds the entries of the second node that the first does not have, one at a time
+    private static Node putAll(Node first, Node second, int shift) {
+        Node result = first;
+        for(EntryIterator entries = new EntryIterator(second); entries.hasNext(); ){
+            Node node = entries.next();
+            Object key = node.keyAt(entries.index());
+            result = result.put(key, node.valueAt(entries.index()), hash(key), shift, new Change(), false);
+        }
+        return result;
+    }
+
+    //removes the entries of the first node that are (or are not) in the second, one at a time
+    private static Node retainEach(Node first, Node second, boolean keep, int shift) {
+        Node result = first;
+        for(EntryIterator entries = new EntryIterator(first); entries.hasNext(); ){
+            Object key = entries.next().keyAt(entries.index());
+            boolean found = second.find(key, hash(key), shift, true) != NOT_FOUND;
+            if(found != keep){
+                result = result.remove(key, hash(key), shift, new Change());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the smallest subtree that holds two entries with different
+     * keys, starting at the given level.
+     */
+    private static Node mergeTwo(Object key1, Object value1, int hash1, Object key2, Object value2, int hash2, int shift) {
+        if(shift >= HASH_BITS){
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+
+        int position1 = (hash1 >>> shift) & MASK;
+        int position2 = (hash2 >>> shift) & MASK;
+        if(position1 != position2){
+            Object[] array = position1 < position2
+                    ? new Object[]{key1, value1, key2, value2}
+                    : new Object[]{key2, value2, key1, value1};
+            return new BitmapNode((1 << position1) | (1 << position2), 0, array, 2);
+        }
+
+        //the hashes agree at this level, so the entries meet further down
+        Node child = mergeTwo(key1, value1, hash1, key2, value2, hash2, shift + BITS);
+        return new BitmapNode(0, 1 << position1, new Object[]{child}, 2);
+    }
+
+    /**
+     * Reports what an update did, and the pair a removal took out.
+     */
+    static final class Change {
+        boolean added;
+        boolean removed;
+        Object key;
+        Object value;
+    }
+
+    /**
+     * A node of the trie. Every node knows how many entries its subtree
+     * holds, so set operations can work out the size of their result.
+     */
+    abstract static class Node {
+        final int size;
+
+        Node(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Finds the value of a key, or with returnKey the stored key.
+         * @return the value or key, or NOT_FOUND
+         */
+        abstract Object find(Object key, int hash, int shift, boolean returnKey);
+
+        /**
+         * Returns a trie that also holds the entry. With replace false an
+         * existing key keeps its value. If nothing changes, this node is
+         * returned.
+         */
+        abstract Node put(Object key, Object value, int hash, int shift, Change change, boolean replace);
+
+        /**
+         * Returns a trie without the key, or this node if it is missing.
+         */
+        abstract Node remove(Object key, int hash, int shift, Change change);
+
+        /**
+         * Returns the number of entries held by this node itself.
+         */
+        abstract int entries();
+
+        abstract Object keyAt(int index);
+
+        abstract Object valueAt(int index);
+
+        /**
+         * Returns the number of children of this node.
+         */
+        abstract int children();
+
+        abstract Node childAt(int index);
+
+        //a node like this is folded into its parent
+        boolean isSingleEntry() {
+            return size == 1 && entries() == 1;
+        }
+    }
+
+    /**
+     * A node that places its entries and children by five bits of the hash.
+     * The array holds the key/value pairs in position order, then the
+     * children in position order.
+     */
+    static final class BitmapNode extends Node {
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] array;
+
+        BitmapNode(int dataMap, int nodeMap, Object[] array, int size) {
+            super(size);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift, boolean returnKey) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((dataMap & bit) != 0){
+                int index = dataIndex(bit);
+                if(key.equals(array[2 * index])){
+                    return array[2 * index + (returnKey ? 0 : 1)];
+                }
+                return NOT_FOUND;
+            }
+            if((nodeMap & bit) != 0){
+                return childAt(nodeIndex(bit)).find(key, hash, shift + BITS, returnKey);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, Change change, boolean replace) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+
+            if((dataMap & bit) != 0){
+                int index = dataIndex(bit);
+                Object stored = array[2 * index];
+                if(key.equals(stored)){
+                    if(!replace || array[2 * index + 1] == value){
+                        return this;
+                    }
+                    Object[] copy = array.clone();
+                    copy[2 * index + 1] = value;
+                    return new BitmapNode(dataMap, nodeMap, copy, size);
+                }
+
+                //two keys at one position move down into a new child
+                Node child = mergeTwo(stored, array[2 * index + 1], HashTrie.hash(stored), key, value, hash, shift + BITS);
+                change.added = true;
+                return dataToChild(bit, index, child);
+            }
+
+            if((nodeMap & bit) != 0){
+                int index = nodeIndex(bit);
+                Node child = childAt(index);
+                Node updated = child.put(key, value, hash, shift + BITS, change, replace);
+                return updated == child ? this : withChild(index, updated, size + updated.size - child.size);
+            }
+
+            change.added = true;
+            int index = dataIndex(bit);
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, 2 * index);
+            copy[2 * index] = key;
+            copy[2 * index + 1] = value;
+            System.arraycopy(array, 2 * index, copy, 2 * index + 2, array.length - 2 * index);
+            return new BitmapNode(dataMap | bit, nodeMap, copy, size + 1);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, Change change) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+
+            if((dataMap & bit) != 0){
+                int index = dataIndex(bit);
+                if(!key.equals(array[2 * index])){
+                    return this;
+                }
+                change.removed = true;
+                change.key = array[2 * index];
+                change.value = array[2 * index + 1];
+
+                Object[] copy = new Object[array.length - 2];
+                System.arraycopy(array, 0, copy, 0, 2 * index);
+                System.arraycopy(array, 2 * index + 2, copy, 2 * index, array.length - 2 * index - 2);
+                return new BitmapNode(dataMap ^ bit, nodeMap, copy, size - 1);
+            }
+
+            if((nodeMap & bit) != 0){
+                int index = nodeIndex(bit);
+                Node child = childAt(index);
+                Node updated = child.remove(key, hash, shift + BITS, change);
+                if(updated == child){
+                    return this;
+                }
+                if(updated.isSingleEntry()){
+                    return childToData(bit, index, updated.keyAt(0), updated.valueAt(0));
+                }
+                return withChild(index, updated, size - 1);
+            }
+
+            return this;
+        }
+
+        @Override
+        int entries() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        Object keyAt(int index) {
+            return array[2 * index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return array[2 * index + 1];
+        }
+
+        @Override
+        int children() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node childAt(int index) {
+            return (Node) array[2 * entries() + index];
+        }
+
+        int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private Node withChild(int index, Node child, int newSize) {
+            Object[] copy = array.clone();
+            copy[2 * entries() + index] = child;
+            return new BitmapNode(dataMap, nodeMap, copy, newSize);
+        }
+
+        //replaces the entry at a position with a child holding it and one more entry
+        private Node dataToChild(int bit, int dataIndex, Node child) {
+            int oldChildStart = 2 * entries();
+            int newChildStart = oldChildStart - 2;
+            int nodeIndex = nodeIndex(bit);
+
+            Object[] copy = new Object[array.length - 1];
+            System.arraycopy(array, 0, copy, 0, 2 * dataIndex);
+            System.arraycopy(array, 2 * dataIndex + 2, copy, 2 * dataIndex, oldChildStart - 2 * dataIndex - 2);
+            System.arraycopy(array, oldChildStart, copy, newChildStart, nodeIndex);
+            copy[newChildStart + nodeIndex] = child;
+            System.arraycopy(array, oldChildStart + nodeIndex, copy, newChildStart + nodeIndex + 1,
+                    array.length - oldChildStart - nodeIndex);
+            return new BitmapNode(dataMap ^ bit, nodeMap | bit, copy, size + 1);
+        }
+
+        //replaces the child at a position with the single entry it has left
+        private Node childToData(int bit, int nodeIndex, Object key, Object value) {
+            int oldChildStart = 2 * entries();
+            int newChildStart = oldChildStart + 2;
+            int dataIndex = dataIndex(bit);
+
+            Object[] copy = new Object[array.length + 1];
+            System.arraycopy(array, 0, copy, 0, 2 * dataIndex);
+            copy[2 * dataIndex] = key;
+            copy[2 * dataIndex + 1] = value;
+            System.arraycopy(array, 2 * dataIndex, copy, 2 * dataIndex + 2, oldChildStart - 2 * dataIndex);
+            System.arraycopy(array, oldChildStart, copy, newChildStart, nodeIndex);
+            System.arraycopy(array, oldChildStart + nodeIndex + 1, copy, newChildStart + nodeIndex,
+                    array.length - oldChildStart - nodeIndex - 1);
+            return new BitmapNode(dataMap | bit, nodeMap ^ bit, copy, size - 1);
+        }
+    }
+
+    /**
+     * A node at the bottom of the trie for keys whose whole hash is the
+     * same, searched linearly.
+     */
+    static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array.length / 2);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for(int i = 0; i < array.length; i += 2){
+                if(key.equals(array[i])){
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift, boolean returnKey) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            return index < 0 ? NOT_FOUND : array[index + (returnKey ? 0 : 1)];
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, Change change, boolean replace) {
+            int index = indexOf(key);
+            if(index >= 0){
+                if(!replace || array[index + 1] == value){
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[index + 1] = value;
+                return new CollisionNode(this.hash, copy);
+            }
+
+            change.added = true;
+            Object[] copy = Arrays.copyOf(array, array.length + 2);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            return new CollisionNode(this.hash, copy);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, Change change) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if(index < 0){
+                return this;
+            }
+            change.removed = true;
+            change.key = array[index];
+            change.value = array[index + 1];
+
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, index);
+            System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+            return new CollisionNode(this.hash, copy);
+        }
+
+        @Override
+        int entries() {
+            return array.length / 2;
+        }
+
+        @Override
+        Object keyAt(int index) {
+            return array[2 * index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return array[2 * index + 1];
+        }
+
+        @Override
+        int children() {
+            return 0;
+        }
+
+        @Override
+        Node childAt(int index) {
+            throw new IndexOutOfBoundsException("A collision node has no children");
+        }
+    }
+
+    /**
+     * Collects the entries and children of a new node, in position order.
+     */
+    private static final class NodeBuilder {
+        private int dataMap;
+        private int nodeMap;
+        private final Object[] data = new Object[2 * (MASK + 1)];
+        private final Node[] nodes = new Node[MASK + 1];
+        private int entries;
+        private int children;
+        private int size;
+
+        void addEntry(int bit, Object key, Object value) {
+            dataMap |= bit;
+            data[2 * entries] = key;
+            data[2 * entries + 1] = value;
+            entries++;
+            size++;
+        }
+
+        void addChild(int bit, Node child) {
+            nodeMap |= bit;
+            nodes[children++] = child;
+            size += child.size;
+        }
+
+        Node build() {
+            if(size == 0){
+                return EMPTY;
+            }
+            Object[] array = new Object[2 * entries + children];
+            System.arraycopy(data, 0, array, 0, 2 * entries);
+            System.arraycopy(nodes, 0, array, 2 * entries, children);
+            return new BitmapNode(dataMap, nodeMap, array, size);
+        }
+    }
+
+    /**
+     * Walks the entries of a trie depth first. next() returns the node
+     * holding the next entry and index() its position in that node, so
+     * callers can read the key or the value without a pair being created.
+     */
+    static final class EntryIterator implements Iterator<Node> {
+        //one level per five hash bits, plus the collision nodes below them
+        private final Node[] nodes = new Node[HASH_BITS / BITS + 2];
+        private final int[] positions = new int[HASH_BITS / BITS + 2];
+        private int depth;
+        private Node current;
+        private int index = -1;
+
+        EntryIterator(Node root) {
+            nodes[0] = root;
+            positions[0] = 0;
+            current = root;
+            advance();
+        }
+
+        /**
+         * Returns the position of the last returned entry in its node.
+         * @return the entry's index
+         */
+        int index() {
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Node next() {
+            if(current == null){
+                throw new NoSuchElementException("There are no more entries");
+            }
+            Node node = current;
+            index = positions[depth]++;
+            advance();
+            return node;
+        }
+
+        //moves to the next node with an entry at positions[depth], descending and climbing as needed
+        private void advance() {
+            while(depth >= 0){
+                Node node = nodes[depth];
+                if(positions[depth] < node.entries()){
+                    current = node;
+                    return;
+                }
+
+                int child = positions[depth] - node.entries();
+                if(child < node.children()){
+                    positions[depth]++;
+                    depth++;
+                    nodes[depth] = node.childAt(child);
+                    positions[depth] = 0;
+                } else {
+                    depth--;
+                }
+            }
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package structures;
+
+/**
+ * Hash functions shared by the hash tables in this package.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Mixes the bits of a hash code with the murmur3 32-bit finalizer so
+     * every input bit affects the low bits used for mask-based indexing.
+     * Sequential or strided hash codes (such as small Integers) are spread
+     * evenly across a power-of-two table.
+     *
+     * @param hashCode the element's hash code
+     * @return the mixed hash
+     */
+    static int spread(int hashCode) {
+        int h = hashCode;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Mixes the bits of a long with the murmur3 64-bit finalizer and folds
+     * the result into an int suitable for mask-based indexing.
+     *
+     * @param value the long to hash
+     * @return the mixed hash
+     */
+    static int spread(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+}
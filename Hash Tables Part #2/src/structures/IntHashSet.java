@@ -0,0 +1,388 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * This class represents a set of int values. It offers the same operations
+ * as ISet<Integer> but stores the values unboxed in a single int[] using
+ * open addressing with linear probing, so there are no Integer objects and
+ * no nodes.
+ *
+ * The value 0 marks an empty slot. Since 0 is also a valid element, it is
+ * tracked with a separate flag instead of being stored in the array.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class IntHashSet {
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int EMPTY = 0;
+
+    private int[] slots;
+    private boolean containsEmptyValue;
+    private int size;
+    private int threshold;
+    private int modCount;
+
+    /**
+     * Constructor that creates a set with the default table size 16.
+     */
+    public IntHashSet() {
+        allocate(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Constructor that creates a set big enough to hold the expected number
+     * of elements without resizing.
+     * @param expectedSize the number of elements the set should hold
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Adds an element to the set. Duplicates are ignored.
+     * @param element the new element
+     */
+    public void add(int element) {
+        if(element == EMPTY){
+            if(!containsEmptyValue){
+                containsEmptyValue = true;
+                size++;
+                modCount++;
+            }
+            return;
+        }
+
+        int mask = slots.length - 1;
+        int index = Hashing.spread(element) & mask;
+        while(slots[index] != EMPTY){
+            if(slots[index] == element){
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        slots[index] = element;
+        size++;
+        modCount++;
+        if(size > threshold){
+            resize(slots.length * 2);
+        }
+    }
+
+    /**
+     * Finds and removes an element from the set.
+     *
+     * @throws NoSuchElementException thrown when the
+     * element is not found in the set
+     * @param element the element to remove
+     */
+    public void remove(int element) {
+        if(element == EMPTY){
+            if(!containsEmptyValue){
+                throw new NoSuchElementException("This item is not in the set");
+            }
+            containsEmptyValue = false;
+            size--;
+            modCount++;
+            return;
+        }
+
+        int index = indexOf(element);
+        if(index < 0){
+            throw new NoSuchElementException("This item is not in the set");
+        }
+        shiftBack(index);
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Reports whether the set contains an element.
+     * @param element the element to search for
+     * @return true if the element is found, otherwise false
+     */
+    public boolean contains(int element) {
+        return element == EMPTY ? containsEmptyValue : indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in the set.
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the set is empty or not.
+     * @return true if the set is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reports whether this set is an empty set.
+     * @return true if this set is empty, otherwise false
+     */
+    public boolean isEmptySet() {
+        return isEmpty();
+    }
+
+    /**
+     * Removes all elements from the set, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        containsEmptyValue = false;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a new set with the union of this set and the input set.
+     * @param other the other set to join with this set
+     * @return the union of two sets
+     */
+    public IntHashSet union(IntHashSet other) {
+        IntHashSet joined = new IntHashSet(size + other.size);
+        forEach(joined::add);
+        other.forEach(joined::add);
+        return joined;
+    }
+
+    /**
+     * Returns a new set with the intersection of this set and the input set.
+     * The smaller set is iterated and the larger one probed.
+     * @param other the other set to join with this set
+     * @return the intersection of two sets
+     */
+    public IntHashSet intersects(IntHashSet other) {
+        IntHashSet smaller = size <= other.size ? this : other;
+        IntHashSet larger = smaller == this ? other : this;
+
+        IntHashSet joined = new IntHashSet(smaller.size);
+        smaller.forEach(element -> {
+            if(larger.contains(element)){
+                joined.add(element);
+            }
+        });
+        return joined;
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are not in the
+     * input set (this - other).
+     * @param other the other set to use in the difference operation
+     * @return the difference of two sets
+     */
+    public IntHashSet difference(IntHashSet other) {
+        IntHashSet notIncluded = new IntHashSet(size);
+        forEach(element -> {
+            if(!other.contains(element)){
+                notIncluded.add(element);
+            }
+        });
+        return notIncluded;
+    }
+
+    /**
+     * Reports whether the input set is a subset of this set.
+     * @param other the subset candidate
+     * @return true if other is a subset of this set, otherwise false
+     */
+    public boolean isSubset(IntHashSet other) {
+        if(other.size > size){
+            return false;
+        }
+        PrimitiveIterator.OfInt iterator = other.iterator();
+        while(iterator.hasNext()){
+            if(!contains(iterator.nextInt())){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports whether this set and the input set are disjoint.
+     * @param other the other set to consider
+     * @return true if both sets are disjoint, otherwise false
+     */
+    public boolean isDisjoint(IntHashSet other) {
+        IntHashSet smaller = size <= other.size ? this : other;
+        IntHashSet larger = smaller == this ? other : this;
+
+        PrimitiveIterator.OfInt iterator = smaller.iterator();
+        while(iterator.hasNext()){
+            if(larger.contains(iterator.nextInt())){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs an action for every element in the set without boxing.
+     * @param action the action to perform
+     */
+    public void forEach(IntConsumer action) {
+        int savedModCount = modCount;
+        if(containsEmptyValue){
+            action.accept(EMPTY);
+        }
+        for(int element : slots){
+            if(element != EMPTY){
+                action.accept(element);
+            }
+        }
+        if(modCount != savedModCount){
+            throw new ConcurrentModificationException("You cannot change the structure while iterating");
+        }
+    }
+
+    /**
+     * Returns an iterator over the set that does not box the elements.
+     * @return a primitive iterator
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntHashSetIterator();
+    }
+
+    /**
+     * Copies the elements into a new array.
+     * @return the elements, in no particular order
+     */
+    public int[] toArray() {
+        int[] elements = new int[size];
+        int[] index = {0};
+        forEach(element -> elements[index[0]++] = element);
+        return elements;
+    }
+
+    /**
+     * Generates a toString for the set
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "IntHashSet{" +
+                "elements=" + Arrays.toString(toArray()) +
+                ", size=" + size +
+                '}';
+    }
+
+    private int indexOf(int element) {
+        int mask = slots.length - 1;
+        int index = Hashing.spread(element) & mask;
+        while(slots[index] != EMPTY){
+            if(slots[index] == element){
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method that empties a slot and moves later elements of the
+     * same cluster back, so lookups never stop early at a hole.
+     */
+    private void shiftBack(int hole) {
+        int mask = slots.length - 1;
+        int index = hole;
+
+        while(true){
+            index = (index + 1) & mask;
+            int element = slots[index];
+            if(element == EMPTY){
+                break;
+            }
+
+            //an element may only move back if its home slot is not between the hole and itself
+            int home = Hashing.spread(element) & mask;
+            if(((index - home) & mask) >= ((index - hole) & mask)){
+                slots[hole] = element;
+                hole = index;
+            }
+        }
+        slots[hole] = EMPTY;
+    }
+
+    private void resize(int capacity) {
+        int[] oldSlots = slots;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for(int element : oldSlots){
+            if(element != EMPTY){
+                int index = Hashing.spread(element) & mask;
+                while(slots[index] != EMPTY){
+                    index = (index + 1) & mask;
+                }
+                slots[index] = element;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        threshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.min(1 << 30, Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1);
+        return Math.max(DEFAULT_TABLE_SIZE, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private class IntHashSetIterator implements PrimitiveIterator.OfInt {
+
+        //-1 stands for the separately stored empty value
+        private int nextIndex;
+        private final int savedModCount;
+
+        public IntHashSetIterator(){
+            savedModCount = modCount;
+            nextIndex = containsEmptyValue ? -1 : findNextSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            return nextIndex < slots.length;
+        }
+
+        @Override
+        public int nextInt() {
+            checkConcurrentChanges();
+            if(nextIndex >= slots.length){
+                throw new NoSuchElementException("There are no more elements in the set");
+            }
+
+            int result = nextIndex < 0 ? EMPTY : slots[nextIndex];
+            nextIndex = findNextSlot(nextIndex + 1);
+            return result;
+        }
+
+        private int findNextSlot(int index){
+            while(index < slots.length && slots[index] == EMPTY){
+                index++;
+            }
+            return index;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+    }
+}
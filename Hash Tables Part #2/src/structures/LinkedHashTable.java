@@ -0,0 +1,348 @@
+package structures;
+
+import interfaces.ICollection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Class represents a hash table that keeps its elements in insertion order,
+ * using the compact layout of CPython's dict. The elements and their cached
+ * hashes sit in dense arrays in the order they were added, and a separate
+ * sparse int[] index, probed linearly, holds the position of each element
+ * in those arrays.
+ *
+ * Iteration walks the dense arrays from the start, so it visits contiguous
+ * memory in insertion order and does not depend on the size of the index.
+ * Removing an element leaves a hole in the dense arrays; once holes make up
+ * half of them, the arrays are compacted, so iteration stays proportional
+ * to the number of elements. Resizing keeps the order.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class LinkedHashTable<T> implements ICollection<T>, Iterable<T>{
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    //index slots that hold no position
+    private static final int FREE = -1;
+    private static final int DELETED = -2;
+
+    //the dense arrays may fill 2/3 of the index
+    private static final int INDEX_NUMERATOR = 3;
+    private static final int INDEX_DENOMINATOR = 2;
+
+    private int[] index;
+    private Object[] elements;
+    private int[] hashes;
+
+    //elements[0, used) have been filled; removed elements leave null holes
+    private int used;
+    private int size;
+    private int modCount;
+
+    /**
+     * Constructor that creates a table with room for 8 elements.
+     */
+    public LinkedHashTable() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that creates a table big enough to hold the expected
+     * number of elements without resizing.
+     * @param expectedSize the number of elements the table should hold
+     */
+    public LinkedHashTable(int expectedSize) {
+        allocate(Math.max(DEFAULT_CAPACITY, expectedSize));
+    }
+
+    /**
+     * Adds an element to the end of the collection. Duplicate elements are
+     * ignored and keep their original position.
+     *
+     * @param element the new element to put in the collection
+     */
+    @Override
+    public void add(T element) {
+        int hash = Hashing.spread(element.hashCode());
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        int reusable = -1;
+
+        //look for a duplicate, remembering the first deleted slot on the way
+        while(index[slot] != FREE){
+            int position = index[slot];
+            if(position == DELETED){
+                if(reusable < 0){
+                    reusable = slot;
+                }
+            }
+            else if(hashes[position] == hash && elements[position].equals(element)){
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if(used == elements.length){
+            //compacting or growing rebuilds the index, so find a free slot again
+            rebuild(Math.max(DEFAULT_CAPACITY, size * 2));
+            mask = index.length - 1;
+            slot = hash & mask;
+            while(index[slot] != FREE){
+                slot = (slot + 1) & mask;
+            }
+        }
+        else if(reusable >= 0){
+            slot = reusable;
+        }
+
+        index[slot] = used;
+        elements[used] = element;
+        hashes[used] = hash;
+        used++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Finds and removes an element from the collection. The element leaves a
+     * hole behind, and the dense arrays are compacted once holes make up
+     * half of them.
+     *
+     * @throws NoSuchElementException thrown when the
+     * element is not found in the collection
+     * @param element the element to remove
+     */
+    @Override
+    public void remove(T element) {
+        int slot = slotOf(element);
+        if(slot < 0){
+            throw new NoSuchElementException("This item is not in the table");
+        }
+
+        int position = index[slot];
+        index[slot] = DELETED;
+        elements[position] = null;
+        size--;
+        modCount++;
+
+        if(used - size > used / 2 && used > DEFAULT_CAPACITY){
+            rebuild(Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+    }
+
+    /**
+     * Reports whether the collection contains an element
+     *
+     * @param element the element to search for.
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return slotOf(element) >= 0;
+    }
+
+    /**
+     * Returns an element in the collection that matches the
+     * input parameter according the equals method of the parameter.
+     *
+     * @param element an element to search for
+     * @return a matching element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(T element) {
+        int slot = slotOf(element);
+        return slot < 0 ? null : (T) elements[index[slot]];
+    }
+
+    /**
+     * Helper method that finds the index slot pointing at an element.
+     * @return the index slot, or -1 if the element is not in the table
+     */
+    private int slotOf(Object element) {
+        int hash = Hashing.spread(element.hashCode());
+        int mask = index.length - 1;
+        int slot = hash & mask;
+
+        while(index[slot] != FREE){
+            int position = index[slot];
+            if(position != DELETED && hashes[position] == hash && elements[position].equals(element)){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method that moves the elements, in order and without holes,
+     * into arrays with room for the given number of elements, and rebuilds
+     * the index from the cached hashes.
+     */
+    private void rebuild(int capacity) {
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+
+        allocate(capacity);
+        int mask = index.length - 1;
+        for(int i = 0; i < oldUsed; i++){
+            if(oldElements[i] == null){
+                continue;
+            }
+
+            int slot = oldHashes[i] & mask;
+            while(index[slot] != FREE){
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = used;
+            elements[used] = oldElements[i];
+            hashes[used] = oldHashes[i];
+            used++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        int indexLength = Integer.highestOneBit(
+                (int) Math.min(1 << 30, (long) capacity * INDEX_NUMERATOR / INDEX_DENOMINATOR) * 2 - 1);
+        index = new int[indexLength];
+        Arrays.fill(index, FREE);
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+        used = 0;
+    }
+
+    /**
+     * Returns the number of elements in the collection.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the collection is empty or not.
+     *
+     * @return true if the collection is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from the collection.
+     */
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs an action for every element, in insertion order.
+     * @param action the action to perform
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Object[] snapshot = elements;
+        for(int i = 0; i < used; i++){
+            if(snapshot[i] != null){
+                action.accept((T) snapshot[i]);
+            }
+        }
+        if(modCount != expectedModCount){
+            throw new ConcurrentModificationException("You cannot change the structure while iterating");
+        }
+    }
+
+    /**
+     * Generates a toString for the hash table
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("LinkedHashTable{elements=[");
+        boolean first = true;
+        for(T element : this){
+            if(!first){
+                builder.append(", ");
+            }
+            builder.append(element);
+            first = false;
+        }
+        return builder.append("], size=").append(size)
+                .append(", capacity=").append(elements.length)
+                .append(", modCount=").append(modCount)
+                .append('}').toString();
+    }
+
+    /**
+     * Returns an iterator over the collection, in insertion order.
+     *
+     * @return an object using the Iterator<T> interface
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedIterator();
+    }
+
+    private class LinkedIterator implements Iterator<T>{
+
+        private int nextIndex;
+        private int savedModCount;
+
+        /**
+         * Iterator constructor that moves to the first element.
+         */
+        public LinkedIterator(){
+            savedModCount = modCount;
+            nextIndex = -1;
+            findNextElement();
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            return nextIndex < used;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            checkConcurrentChanges();
+            if(nextIndex >= used){
+                throw new NoSuchElementException("There are no more elements in the table");
+            }
+
+            T result = (T) elements[nextIndex];
+            findNextElement();
+            return result;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+
+        private void findNextElement(){
+            nextIndex++;
+            while(nextIndex < used && elements[nextIndex] == null){
+                nextIndex++;
+            }
+        }
+    }
+}
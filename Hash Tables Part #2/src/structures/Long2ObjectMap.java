@@ -0,0 +1,360 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class represents a map from long keys to values. It offers the same
+ * operations as IMap<Long, V> but keeps the keys unboxed in a long[] and
+ * the values in a parallel Object[], using open addressing with linear
+ * probing, so there are no Long keys, nodes or KeyValuePair objects.
+ *
+ * The key 0 marks an empty slot. Since 0 is also a valid key, its value is
+ * kept in a separate field instead of in the arrays.
+ *
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class Long2ObjectMap<V> {
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private boolean containsEmptyKey;
+    private V emptyKeyValue;
+    private int size;
+    private int threshold;
+    private int modCount;
+
+    /**
+     * Performs an action on a key/value pair without boxing the key.
+     * @param <V>
+     */
+    public interface EntryConsumer<V> {
+        /**
+         * Performs the action.
+         * @param key the key
+         * @param value the value
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Default constructor that creates a map with the default table size 16.
+     */
+    public Long2ObjectMap() {
+        allocate(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Constructor that creates a map big enough to hold the expected number
+     * of pairs without resizing.
+     * @param expectedSize the number of pairs the map should hold
+     */
+    public Long2ObjectMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Adds a key/value pair to the map. If the key already exists then its
+     * value is updated.
+     * @param key the key
+     * @param value the value
+     */
+    public void add(long key, V value) {
+        if(key == EMPTY){
+            if(!containsEmptyKey){
+                containsEmptyKey = true;
+                size++;
+                modCount++;
+            }
+            emptyKeyValue = value;
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int index = Hashing.spread(key) & mask;
+        while(keys[index] != EMPTY){
+            if(keys[index] == key){
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        modCount++;
+        if(size > threshold){
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes a key (and the associated value) from the map. If the key is
+     * not in the map then no change is made.
+     * @param key the key
+     */
+    public void remove(long key) {
+        if(key == EMPTY){
+            if(containsEmptyKey){
+                containsEmptyKey = false;
+                emptyKeyValue = null;
+                size--;
+                modCount++;
+            }
+            return;
+        }
+
+        int index = indexOf(key);
+        if(index >= 0){
+            shiftBack(index);
+            size--;
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns the value associated with a key.
+     * @param key the key
+     * @return the value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if(key == EMPTY){
+            return emptyKeyValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Reports whether the input key is in the map.
+     * @param key the key
+     * @return true if the key is in the map, otherwise false
+     */
+    public boolean keyExists(long key) {
+        return key == EMPTY ? containsEmptyKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Reports whether the input value is in the map.
+     * @param value the value
+     * @return true if the value is in the map, otherwise false
+     */
+    public boolean valueExists(V value) {
+        if(containsEmptyKey && equal(emptyKeyValue, value)){
+            return true;
+        }
+        for(int i = 0; i < keys.length; i++){
+            if(keys[i] != EMPTY && equal(values[i], value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of key/value pairs in the map.
+     * @return the number of pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the map is empty or not.
+     * @return true if no key/value pairs are in the map, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all key/value pairs in the map, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        containsEmptyKey = false;
+        emptyKeyValue = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a new set with all keys in the map.
+     * @return a set of keys
+     */
+    public LongHashSet keyset() {
+        LongHashSet keyset = new LongHashSet(size);
+        forEach((key, value) -> keyset.add(key));
+        return keyset;
+    }
+
+    /**
+     * Performs an action for every key/value pair without boxing the keys.
+     * @param action the action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        int savedModCount = modCount;
+        if(containsEmptyKey){
+            action.accept(EMPTY, emptyKeyValue);
+        }
+        for(int i = 0; i < keys.length; i++){
+            if(keys[i] != EMPTY){
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+        if(modCount != savedModCount){
+            throw new ConcurrentModificationException("You cannot change the structure while iterating");
+        }
+    }
+
+    /**
+     * Returns an iterator over the keys that does not box them.
+     * @return a primitive iterator over the keys
+     */
+    public PrimitiveIterator.OfLong keyIterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Generates a toString for the map
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Long2ObjectMap{");
+        forEach((key, value) -> {
+            if(builder.length() > "Long2ObjectMap{".length()){
+                builder.append(", ");
+            }
+            builder.append(key).append(" --> ").append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = Hashing.spread(key) & mask;
+        while(keys[index] != EMPTY){
+            if(keys[index] == key){
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method that empties a slot and moves later pairs of the same
+     * cluster back, so lookups never stop early at a hole.
+     */
+    private void shiftBack(int hole) {
+        int mask = keys.length - 1;
+        int index = hole;
+
+        while(true){
+            index = (index + 1) & mask;
+            long key = keys[index];
+            if(key == EMPTY){
+                break;
+            }
+
+            //a pair may only move back if its home slot is not between the hole and itself
+            int home = Hashing.spread(key) & mask;
+            if(((index - home) & mask) >= ((index - hole) & mask)){
+                keys[hole] = key;
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldKeys[i] != EMPTY){
+                int index = Hashing.spread(oldKeys[i]) & mask;
+                while(keys[index] != EMPTY){
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.min(1 << 30, Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1);
+        return Math.max(DEFAULT_TABLE_SIZE, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private class KeyIterator implements PrimitiveIterator.OfLong {
+
+        //-1 stands for the separately stored empty key
+        private int nextIndex;
+        private final int savedModCount;
+
+        public KeyIterator(){
+            savedModCount = modCount;
+            nextIndex = containsEmptyKey ? -1 : findNextSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            return nextIndex < keys.length;
+        }
+
+        @Override
+        public long nextLong() {
+            checkConcurrentChanges();
+            if(nextIndex >= keys.length){
+                throw new NoSuchElementException("There are no more keys in the map");
+            }
+
+            long result = nextIndex < 0 ? EMPTY : keys[nextIndex];
+            nextIndex = findNextSlot(nextIndex + 1);
+            return result;
+        }
+
+        private int findNextSlot(int index){
+            while(index < keys.length && keys[index] == EMPTY){
+                index++;
+            }
+            return index;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+    }
+}
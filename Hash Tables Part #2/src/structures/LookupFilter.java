@@ -0,0 +1,102 @@
+package structures;
+
+/**
+ * This class keeps a BloomFilter in front of a Set or Map so lookups for
+ * elements that are not there can be rejected without searching the table.
+ *
+ * A Bloom filter cannot forget an element, so removed elements only leave
+ * stale bits behind. The filter is rebuilt from the table once the
+ * removals since the last build outnumber the elements, or once the table
+ * holds more elements than the filter was sized for. Both rebuilds cost
+ * time proportional to the table, paid for by the changes before them.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+final class LookupFilter<T> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final double falsePositiveRate;
+    private BloomFilter<T> filter;
+    private int capacity;
+    private int removals;
+
+    /**
+     * Constructor that sizes the filter for a number of elements.
+     * @param expectedSize the number of elements the table should hold
+     * @param falsePositiveRate the share of misses the filter lets through
+     */
+    LookupFilter(int expectedSize, double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        capacity = Math.max(MIN_CAPACITY, expectedSize);
+        filter = new BloomFilter<>(capacity, falsePositiveRate);
+    }
+
+    /**
+     * Reports whether an element might be in the table.
+     * @param element the element to search for
+     * @return false if the element is definitely not in the table
+     */
+    boolean mightContain(Object element) {
+        return filter.mightContain(element);
+    }
+
+    /**
+     * Records an element that was added to the table.
+     * @param element the new element
+     * @param elements every element of the table, including the new one
+     * @param size the number of elements in the table
+     */
+    void added(T element, Iterable<? extends T> elements, int size) {
+        if(size > capacity){
+            rebuild(elements, size);
+            return;
+        }
+        filter.add(element);
+    }
+
+    /**
+     * Records that an element was removed from the table.
+     * @param elements the elements left in the table
+     * @param size the number of elements left in the table
+     */
+    void removed(Iterable<? extends T> elements, int size) {
+        removals++;
+        if(removals > size && removals >= MIN_CAPACITY){
+            rebuild(elements, size);
+        }
+    }
+
+    /**
+     * Forgets every element, after the table was cleared.
+     */
+    void cleared() {
+        filter.clear();
+        removals = 0;
+    }
+
+    /**
+     * Builds a new filter from the elements of the table, with room for
+     * the table to double before the next rebuild.
+     * @param elements every element of the table
+     * @param size the number of elements in the table
+     */
+    void rebuild(Iterable<? extends T> elements, int size) {
+        capacity = Math.max(MIN_CAPACITY, size * 2);
+        filter = new BloomFilter<>(capacity, falsePositiveRate);
+        for(T element : elements){
+            filter.add(element);
+        }
+        removals = 0;
+    }
+
+    /**
+     * Returns the filter currently in use, for its statistics.
+     * @return the Bloom filter
+     */
+    BloomFilter<T> filter() {
+        return filter;
+    }
+}
@@ -4,7 +4,16 @@ import helpers.KeyValuePair;
 import interfaces.ICollection;
 import interfaces.IMap;
 import interfaces.ISet;
+import javax.management.ObjectName;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * This class represents a Map that uses a Hash Table.
@@ -15,8 +24,21 @@ import java.util.Iterator;
  */
 public class Map<K, V> implements IMap<K, V>
 {
+    //stands in for null values in the value index, which cannot hold null keys
+    private static final Object NULL_VALUE = new Object();
+
     private HashTable<KeyValuePair<K,V>> table;
 
+    //maps each value to the keys that hold it; null unless values are indexed
+    private Map<Object, Set<K>> valueIndex;
+
+    //rejects lookups for missing keys; null unless the map was built with one
+    private LookupFilter<K> keyFilter;
+
+    //live views of the table, created on first use
+    private ISet<K> keyset;
+    private ICollection<V> values;
+
     /**
      * Default constructor for map classes that creates a new Hash Table
      */
@@ -24,55 +46,402 @@ public class Map<K, V> implements IMap<K, V>
         table = new HashTable<>();
     }
 
+    /**
+     * Constructor that creates a Hash Table big enough to hold the expected
+     * number of key/value pairs without resizing.
+     * @param expectedSize the number of pairs the map should hold
+     */
+    public Map(int expectedSize) {
+        table = new HashTable<>(expectedSize);
+    }
+
+    /**
+     * Constructor that can also keep an index from each value to the keys
+     * that hold it. With the index, valueExists() is a single lookup and
+     * keysFor() does not scan the map, at the cost of updating the index on
+     * every change and the memory it takes.
+     * @param indexValues true to keep the value index
+     */
+    public Map(boolean indexValues) {
+        table = new HashTable<>();
+        if(indexValues){
+            valueIndex = new Map<>();
+        }
+    }
+
+    /**
+     * Constructor that also puts a Bloom filter in front of the table, so
+     * get() and keyExists() for a missing key usually return without
+     * searching the table. Worth it when most lookups miss.
+     * @param expectedSize the number of pairs the map should hold
+     * @param falsePositiveRate the share of misses that still search the
+     * table, such as 0.01
+     */
+    public Map(int expectedSize, double falsePositiveRate) {
+        table = new HashTable<>(expectedSize);
+        keyFilter = new LookupFilter<>(expectedSize, falsePositiveRate);
+    }
+
+    /**
+     * Adds every key/value pair from another map, replacing the values of
+     * keys that are already present. The table is sized once for the new
+     * pairs, and when this map is empty the pairs are linked straight into
+     * the table without any duplicate checks (keys in a map are unique).
+     * Pairs from another Map are shared, since they never change; pairs
+     * from any other IMap are copied, as they may be mutable or subclassed.
+     * @param other the map to copy pairs from
+     */
+    public void addAll(IMap<K, V> other)
+    {
+        if(other == this){
+            return;
+        }
+
+        if(isEmpty()){
+            table.addAll(other instanceof Map ? other : copiesOf(other), other.size(), true);
+            if(valueIndex != null){
+                for(KeyValuePair<K, V> pair : table){
+                    index(pair);
+                }
+            }
+            if(keyFilter != null){
+                keyFilter.rebuild(keyset(), table.size());
+            }
+            return;
+        }
+
+        table.reserve(table.size() + other.size());
+        for(KeyValuePair<K, V> pair : other){
+            add(pair.getKey(), pair.getValue());
+        }
+    }
+
+    /**
+     * Helper method that returns the pairs of a map as new KeyValuePairs,
+     * created one at a time as they are iterated.
+     */
+    private static <K, V> Iterable<KeyValuePair<K, V>> copiesOf(IMap<K, V> other)
+    {
+        return () -> new Iterator<KeyValuePair<K, V>>()
+        {
+            private final Iterator<KeyValuePair<K, V>> pairs = other.iterator();
+
+            @Override
+            public boolean hasNext()
+            {
+                return pairs.hasNext();
+            }
+
+            @Override
+            public KeyValuePair<K, V> next()
+            {
+                KeyValuePair<K, V> pair = pairs.next();
+                return new KeyValuePair<>(pair.getKey(), pair.getValue());
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the map that cannot be changed and that finds each
+     * key with a single probe. Useful for data that is built once and then
+     * only read.
+     * @return a frozen copy of the map
+     */
+    public FrozenMap<K, V> freeze()
+    {
+        return new FrozenMap<>(this);
+    }
+
+    /**
+     * Adds a key/value pair to the map, replacing the pair of an existing
+     * key. The key's bucket is only searched once.
+     * @param key the key
+     * @param value the value
+     */
     @Override
     public void add(K key, V value)
     {
-        KeyValuePair<K,V> insert = new KeyValuePair<>(key, value);
+        KeyValuePair<K,V> added = new KeyValuePair<>(key, value);
+        KeyValuePair<K,V> previous = table.put(added);
 
-        //check if the key is already in table
-        //if there is then remove it to update the key
-        if(keyExists(insert.getKey())){
-            table.remove(insert);
+        if(valueIndex != null){
+            if(previous != null){
+                unindex(previous);
+            }
+            index(added);
+        }
+        if(keyFilter != null && previous == null){
+            keyFilter.added(key, keyset(), table.size());
         }
-        table.add(insert);
     }
 
+    /**
+     * Removes a key (and the associated value) from the map. If the key is
+     * not in the map then no change is made. No probe pair is allocated.
+     * @param key the key
+     */
     @Override
     public void remove(K key)
     {
-        KeyValuePair<K,V> remove = new KeyValuePair<>(key, null);
+        removeKey(key);
+    }
+
+    /**
+     * Removes every pair that matches a predicate, in one pass over the
+     * table's buckets.
+     * @param predicate returns true for the key/value pairs to remove
+     * @return true if any pair was removed
+     */
+    public boolean removeIf(BiPredicate<? super K, ? super V> predicate)
+    {
+        boolean removed = table.removeIf(pair -> {
+            if(!predicate.test(pair.getKey(), pair.getValue())){
+                return false;
+            }
+            if(valueIndex != null){
+                unindex(pair);
+            }
+            return true;
+        });
 
-        table.remove(remove);
+        if(removed && keyFilter != null){
+            keyFilter.rebuild(keyset(), table.size());
+        }
+        return removed;
     }
 
+    /**
+     * Removes every pair whose key is not in the given set.
+     * @param keys the keys to keep
+     * @return true if any pair was removed
+     */
+    public boolean retainAll(ISet<K> keys)
+    {
+        return removeIf((key, value) -> !keys.contains(key));
+    }
+
+    /**
+     * Helper method that removes a key and reports whether it was there.
+     * The table hands back the removed pair, so with a value index its
+     * value is unindexed without a second lookup. The key filter is told
+     * about the removal.
+     */
+    private boolean removeKey(K key)
+    {
+        KeyValuePair<K,V> pair = table.removeByKey(key);
+        if(pair == null){
+            return false;
+        }
+        if(valueIndex != null){
+            unindex(pair);
+        }
+
+        if(keyFilter != null){
+            keyFilter.removed(keyset(), table.size());
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that looks a key up, asking the key filter first when
+     * there is one.
+     */
+    private KeyValuePair<K,V> find(K key)
+    {
+        if(keyFilter != null && !keyFilter.mightContain(key)){
+            return null;
+        }
+        return table.getByKey(key);
+    }
+
+    /**
+     * Returns the value associated with a key. The key is looked up
+     * directly, so no probe pair is allocated.
+     * @param key the key
+     * @return the value associated with the key, or null if it is missing
+     */
     @Override
     public V get(K key)
     {
-        KeyValuePair<K,V> getKey = new KeyValuePair<>(key, null);
+        KeyValuePair<K,V> found = find(key);
+        return found == null ? null : found.getValue();
+    }
 
-        //check if the key is not in table
-        if(!keyExists(key)){
-            return null;
+    /**
+     * Returns the value associated with a key, or a default value if the
+     * key is not in the map (or is mapped to null).
+     * @param key the key
+     * @param defaultValue the value to return for a missing key
+     * @return the value associated with the key, or the default value
+     */
+    public V getOrDefault(K key, V defaultValue)
+    {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Adds a key/value pair unless the key is already mapped to a non-null
+     * value. The key's bucket is only searched once.
+     * @param key the key
+     * @param value the value to add
+     * @return the value already associated with the key, or null if the
+     * pair was added
+     */
+    public V putIfAbsent(K key, V value)
+    {
+        KeyValuePair<K,V> added = new KeyValuePair<>(key, value);
+        KeyValuePair<K,V> stored = update(added, existing -> {
+            if(existing == null || existing.getValue() == null){
+                return added;
+            }
+            return existing;
+        });
+        return stored == added ? null : stored.getValue();
+    }
+
+    /**
+     * Computes a new value for a key from its current value (null if the
+     * key is missing). A null result removes the key. The key's bucket is
+     * only searched once.
+     * @param key the key
+     * @param remapping computes the new value from the key and its current value
+     * @return the new value, or null if the key was removed
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping)
+    {
+        KeyValuePair<K,V> stored = update(new KeyValuePair<>(key, null), existing -> {
+            V value = remapping.apply(key, existing == null ? null : existing.getValue());
+            return value == null ? null : new KeyValuePair<>(key, value);
+        });
+        return stored == null ? null : stored.getValue();
+    }
+
+    /**
+     * Computes a value for a key that is missing (or mapped to null) and
+     * adds it, unless the function returns null. The key's bucket is only
+     * searched once.
+     * @param key the key
+     * @param mapping computes the value from the key
+     * @return the current (existing or computed) value, or null if there is none
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping)
+    {
+        KeyValuePair<K,V> stored = update(new KeyValuePair<>(key, null), existing -> {
+            if(existing != null && existing.getValue() != null){
+                return existing;
+            }
+            V value = mapping.apply(key);
+            return value == null ? existing : new KeyValuePair<>(key, value);
+        });
+        return stored == null ? null : stored.getValue();
+    }
+
+    /**
+     * Adds the value for a missing key (or one mapped to null), otherwise
+     * combines the current value with the given one. A null result removes
+     * the key. This lets counters be updated with a single bucket search,
+     * e.g. merge(word, 1, Integer::sum).
+     * @param key the key
+     * @param value the value to add or combine with the current value
+     * @param remapping combines the current value with the given value
+     * @return the new value, or null if the key was removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping)
+    {
+        KeyValuePair<K,V> stored = update(new KeyValuePair<>(key, null), existing -> {
+            V old = existing == null ? null : existing.getValue();
+            V merged = old == null ? value : remapping.apply(old, value);
+            return merged == null ? null : new KeyValuePair<>(key, merged);
+        });
+        return stored == null ? null : stored.getValue();
+    }
+
+    /**
+     * Helper method that runs a single-probe update on the table and keeps
+     * the value index and key filter in step with whatever the remapping
+     * function did.
+     */
+    private KeyValuePair<K,V> update(KeyValuePair<K,V> probe, UnaryOperator<KeyValuePair<K,V>> remapping)
+    {
+        if(keyFilter != null){
+            int before = table.size();
+            KeyValuePair<K,V> stored = indexedUpdate(probe, remapping);
+            if(table.size() > before){
+                keyFilter.added(probe.getKey(), keyset(), table.size());
+            }
+            else if(table.size() < before){
+                keyFilter.removed(keyset(), table.size());
+            }
+            return stored;
+        }
+        return indexedUpdate(probe, remapping);
+    }
+
+    private KeyValuePair<K,V> indexedUpdate(KeyValuePair<K,V> probe, UnaryOperator<KeyValuePair<K,V>> remapping)
+    {
+        if(valueIndex == null){
+            return table.compute(probe, remapping);
+        }
+
+        return table.compute(probe, existing -> {
+            KeyValuePair<K,V> updated = remapping.apply(existing);
+            if(updated != existing){
+                if(existing != null){
+                    unindex(existing);
+                }
+                if(updated != null){
+                    index(updated);
+                }
+            }
+            return updated;
+        });
+    }
+
+    private void index(KeyValuePair<K,V> pair)
+    {
+        Object value = pair.getValue() == null ? NULL_VALUE : pair.getValue();
+        Set<K> keys = valueIndex.get(value);
+        if(keys == null){
+            keys = new Set<>();
+            valueIndex.add(value, keys);
         }
-        return table.get(getKey).getValue();
+        keys.add(pair.getKey());
+    }
 
+    private void unindex(KeyValuePair<K,V> pair)
+    {
+        Object value = pair.getValue() == null ? NULL_VALUE : pair.getValue();
+        Set<K> keys = valueIndex.get(value);
+        keys.remove(pair.getKey());
+        if(keys.isEmpty()){
+            valueIndex.remove(value);
+        }
     }
 
+    /**
+     * Reports whether the input key is in the map. No probe pair is
+     * allocated.
+     * @param key the key
+     * @return true if the key is in the map, otherwise false
+     */
     @Override
     public boolean keyExists(K key)
     {
-        KeyValuePair<K,V> search = new KeyValuePair<>(key, null);
-
-        return table.contains(search);
+        return find(key) != null;
     }
 
     @Override
     public boolean valueExists(V value)
     {
+        if(valueIndex != null){
+            return valueIndex.keyExists(value == null ? NULL_VALUE : value);
+        }
+
         //check each keyValuePair in the table
         //if value is equal to the given value
         for(KeyValuePair<K, V> key : table){
-            if(key.getValue().equals(value)){
+            if(value == null ? key.getValue() == null : value.equals(key.getValue())){
                 return true;
             }
         }
@@ -80,6 +449,32 @@ public class Map<K, V> implements IMap<K, V>
         return false;
     }
 
+    /**
+     * Returns the keys that currently hold a value. The result is a copy, so
+     * later changes to the map do not show up in it. Without a value index
+     * this scans every pair in the map.
+     * @param value the value to look for
+     * @return a new set with every key mapped to the value
+     */
+    public ISet<K> keysFor(V value)
+    {
+        Set<K> keys = new Set<>();
+        if(valueIndex != null){
+            Set<K> indexed = valueIndex.get(value == null ? NULL_VALUE : value);
+            if(indexed != null){
+                keys.addAll(indexed);
+            }
+            return keys;
+        }
+
+        for(KeyValuePair<K, V> pair : table){
+            if(value == null ? pair.getValue() == null : value.equals(pair.getValue())){
+                keys.add(pair.getKey());
+            }
+        }
+        return keys;
+    }
+
     @Override
     public int size()
     {
@@ -95,34 +490,181 @@ public class Map<K, V> implements IMap<K, V>
     @Override
     public void clear()
     {
-        table.clear();
+        clear(false);
+    }
+
+    /**
+     * Removes every pair, optionally keeping the capacity of the table
+     * behind the map. See HashTable.clear(boolean).
+     * @param keepCapacity true to keep the current capacity
+     */
+    public void clear(boolean keepCapacity)
+    {
+        table.clear(keepCapacity);
+        if(valueIndex != null){
+            valueIndex.clear();
+        }
+        if(keyFilter != null){
+            keyFilter.cleared();
+        }
+    }
+
+    /**
+     * Shrinks the table behind the map to fit its pairs. See
+     * HashTable.trimToSize().
+     */
+    public void trimToSize()
+    {
+        table.trimToSize();
+    }
+
+    /**
+     * Returns the Bloom filter in front of the keys, for its statistics.
+     * The filter is replaced whenever it is rebuilt, which resets them.
+     * @return the filter, or null if the map was built without one
+     */
+    public BloomFilter<K> lookupFilter()
+    {
+        return keyFilter == null ? null : keyFilter.filter();
+    }
+
+    /**
+     * Starts counting lookups, probes and resizes in the table behind the
+     * map. See HashTable.enableStatistics().
+     */
+    public void enableStatistics()
+    {
+        table.enableStatistics();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the table behind the map.
+     * @return the statistics
+     */
+    public HashTableStatistics statistics()
+    {
+        return table.statistics();
+    }
+
+    /**
+     * Publishes the statistics of the table behind the map as an MBean.
+     * See HashTable.registerMBean().
+     * @param name the name that identifies this map
+     * @return the name the MBean was registered under
+     */
+    public ObjectName registerMBean(String name)
+    {
+        return table.registerMBean(name);
     }
 
     @Override
     public Iterator<KeyValuePair<K, V>> iterator()
     {
-        return table.iterator();
+        if(valueIndex == null && keyFilter == null){
+            return table.iterator();
+        }
+
+        //keep the value index and key filter up to date with removals made through the iterator
+        Iterator<KeyValuePair<K, V>> pairs = table.iterator();
+        return new Iterator<KeyValuePair<K, V>>()
+        {
+            private KeyValuePair<K, V> last;
+
+            @Override
+            public boolean hasNext()
+            {
+                return pairs.hasNext();
+            }
+
+            @Override
+            public KeyValuePair<K, V> next()
+            {
+                last = pairs.next();
+                return last;
+            }
+
+            @Override
+            public void remove()
+            {
+                pairs.remove();
+                if(valueIndex != null){
+                    unindex(last);
+                }
+                if(keyFilter != null){
+                    keyFilter.removed(keyset(), table.size());
+                }
+            }
+        };
+    }
+
+    /**
+     * Performs an action for every key/value pair, walking the table's
+     * buckets directly instead of going through its iterator.
+     * @param action the action to perform
+     */
+    @Override
+    public void forEach(Consumer<? super KeyValuePair<K, V>> action)
+    {
+        table.forEach(action);
+    }
+
+    /**
+     * Returns a spliterator over the key/value pairs that splits by ranges
+     * of the table's buckets.
+     * @return a spliterator over the pairs
+     */
+    @Override
+    public Spliterator<KeyValuePair<K, V>> spliterator()
+    {
+        return table.spliterator();
+    }
+
+    /**
+     * Returns a sequential stream over the key/value pairs.
+     * @return a stream
+     */
+    public Stream<KeyValuePair<K, V>> stream()
+    {
+        return table.stream();
+    }
+
+    /**
+     * Returns a parallel stream over the key/value pairs.
+     * @return a parallel stream
+     */
+    public Stream<KeyValuePair<K, V>> parallelStream()
+    {
+        return table.parallelStream();
     }
 
+    /**
+     * Returns a live view of the keys in the map. Nothing is copied:
+     * contains(), size() and iteration go straight to the map's table, and
+     * removing a key from the view removes its pair from the map. Keys
+     * cannot be added through the view.
+     * @return a set of keys
+     */
     @Override
     public ISet<K> keyset()
     {
-        //instantiate a new set to hold keys
-        Set<K> keys = new Set<>();
-        //add each key from the table into set
-        for(KeyValuePair<K, V> key : table){
-            keys.add(key.getKey());
+        if(keyset == null){
+            keyset = new Set<>(new Keys());
         }
-        return keys;
+        return keyset;
     }
 
+    /**
+     * Returns a live view of the values in the map. The view is a bag, so a
+     * value shared by several keys appears once for each key. Removing a
+     * value from the view removes one pair with that value from the map.
+     * Values cannot be added through the view.
+     * @return a collection of values
+     */
     @Override
     public ICollection<V> values()
     {
-        Set<V> values = new Set<>();
-        //add each value from the keyValuePair to the set
-        for(KeyValuePair<K, V> key : table){
-            values.add(key.getValue());
+        if(values == null){
+            values = new Values();
         }
         return values;
     }
@@ -133,4 +675,202 @@ public class Map<K, V> implements IMap<K, V>
                 "table=" + table +
                 '}';
     }
+
+    /**
+     * The keys of the map, used as the table behind the keyset() view.
+     */
+    private class Keys implements ICollection<K>
+    {
+        @Override
+        public void add(K element)
+        {
+            throw new UnsupportedOperationException("Keys cannot be added to a map without a value");
+        }
+
+        @Override
+        public void remove(K element)
+        {
+            if(!removeKey(element)){
+                throw new NoSuchElementException("This key is not in the map");
+            }
+        }
+
+        @Override
+        public boolean contains(K element)
+        {
+            return find(element) != null;
+        }
+
+        @Override
+        public int size()
+        {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            Map.this.clear();
+        }
+
+        @Override
+        public K get(K element)
+        {
+            KeyValuePair<K, V> found = find(element);
+            return found == null ? null : found.getKey();
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            Iterator<KeyValuePair<K, V>> pairs = Map.this.iterator();
+            return new Iterator<K>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public K next()
+                {
+                    return pairs.next().getKey();
+                }
+
+                @Override
+                public void remove()
+                {
+                    pairs.remove();
+                }
+            };
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("Keys[");
+            for(KeyValuePair<K, V> pair : table){
+                if(builder.length() > "Keys[".length()){
+                    builder.append(", ");
+                }
+                builder.append(pair.getKey());
+            }
+            return builder.append(']').toString();
+        }
+    }
+
+    /**
+     * The values of the map, kept as a bag so duplicate values are not lost.
+     */
+    private class Values implements ICollection<V>
+    {
+        @Override
+        public void add(V element)
+        {
+            throw new UnsupportedOperationException("Values cannot be added to a map without a key");
+        }
+
+        @Override
+        public void remove(V element)
+        {
+            KeyValuePair<K, V> pair = findValue(element);
+            if(pair == null){
+                throw new NoSuchElementException("This value is not in the map");
+            }
+            removeKey(pair.getKey());
+        }
+
+        @Override
+        public boolean contains(V element)
+        {
+            return findValue(element) != null;
+        }
+
+        @Override
+        public int size()
+        {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            Map.this.clear();
+        }
+
+        @Override
+        public V get(V element)
+        {
+            KeyValuePair<K, V> pair = findValue(element);
+            return pair == null ? null : pair.getValue();
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            Iterator<KeyValuePair<K, V>> pairs = Map.this.iterator();
+            return new Iterator<V>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public V next()
+                {
+                    return pairs.next().getValue();
+                }
+
+                @Override
+                public void remove()
+                {
+                    pairs.remove();
+                }
+            };
+        }
+
+        //a linear search unless the map keeps a value index
+        private KeyValuePair<K, V> findValue(V element)
+        {
+            if(valueIndex != null){
+                Set<K> keys = valueIndex.get(element == null ? NULL_VALUE : element);
+                return keys == null ? null : table.getByKey(keys.iterator().next());
+            }
+
+            for(KeyValuePair<K, V> pair : table){
+                if(element == null ? pair.getValue() == null : element.equals(pair.getValue())){
+                    return pair;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("Values[");
+            for(KeyValuePair<K, V> pair : table){
+                if(builder.length() > "Values[".length()){
+                    builder.append(", ");
+                }
+                builder.append(pair.getValue());
+            }
+            return builder.append(']').toString();
+        }
+    }
 }
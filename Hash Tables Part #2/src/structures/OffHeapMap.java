@@ -0,0 +1,625 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a map that keeps its key/value pairs outside of the
+ * Java heap, in direct ByteBuffers. Keys and values are turned into fixed
+ * width binary records by a Serializer and stored in open addressing slots
+ * with linear probing, so the garbage collector only ever sees a handful of
+ * buffer objects no matter how many pairs the map holds.
+ *
+ * Each slot holds a 4 byte hash (0 marks an empty slot), the key bytes and
+ * the value bytes. Keys are hashed and compared by their serialized bytes,
+ * so two keys are the same key when they serialize to the same bytes. A
+ * single ByteBuffer is limited to 2GB, so large tables are split over
+ * several buffers of up to 1GB each.
+ *
+ * Lookups only allocate the objects returned by the value Serializer. The
+ * map is not thread-safe.
+ *
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class OffHeapMap<K, V> implements IMap<K, V> {
+
+    private static final long DEFAULT_TABLE_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+    private static final int HASH_BYTES = Integer.BYTES;
+    private static final int EMPTY = 0;
+
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final int keyWidth;
+    private final int slotWidth;
+
+    //the probe key is serialized here so lookups do not allocate
+    private final ByteBuffer scratch;
+
+    private ByteBuffer[] chunks;
+    private int chunkShift;
+    private long capacity;
+    private int size;
+    private long threshold;
+    private int modCount;
+
+    /**
+     * Turns values of a type into fixed width binary records and back.
+     * @param <T>
+     */
+    public interface Serializer<T> {
+        /**
+         * Returns the number of bytes every serialized value takes.
+         * @return the record width in bytes
+         */
+        int width();
+
+        /**
+         * Writes a value into a buffer.
+         * @param value the value to write
+         * @param buffer the buffer to write to
+         * @param offset the index of the first byte to write
+         */
+        void write(T value, ByteBuffer buffer, int offset);
+
+        /**
+         * Reads a value back from a buffer.
+         * @param buffer the buffer to read from
+         * @param offset the index of the first byte to read
+         * @return the value
+         */
+        T read(ByteBuffer buffer, int offset);
+
+        /**
+         * Returns a serializer that stores an Integer in 4 bytes.
+         * @return an Integer serializer
+         */
+        static Serializer<Integer> integers() {
+            return new Serializer<>() {
+                @Override
+                public int width() {
+                    return Integer.BYTES;
+                }
+                @Override
+                public void write(Integer value, ByteBuffer buffer, int offset) {
+                    buffer.putInt(offset, value);
+                }
+                @Override
+                public Integer read(ByteBuffer buffer, int offset) {
+                    return buffer.getInt(offset);
+                }
+            };
+        }
+
+        /**
+         * Returns a serializer that stores a Long in 8 bytes.
+         * @return a Long serializer
+         */
+        static Serializer<Long> longs() {
+            return new Serializer<>() {
+                @Override
+                public int width() {
+                    return Long.BYTES;
+                }
+                @Override
+                public void write(Long value, ByteBuffer buffer, int offset) {
+                    buffer.putLong(offset, value);
+                }
+                @Override
+                public Long read(ByteBuffer buffer, int offset) {
+                    return buffer.getLong(offset);
+                }
+            };
+        }
+
+        /**
+         * Returns a serializer that stores a Double in 8 bytes.
+         * @return a Double serializer
+         */
+        static Serializer<Double> doubles() {
+            return new Serializer<>() {
+                @Override
+                public int width() {
+                    return Double.BYTES;
+                }
+                @Override
+                public void write(Double value, ByteBuffer buffer, int offset) {
+                    buffer.putDouble(offset, value);
+                }
+                @Override
+                public Double read(ByteBuffer buffer, int offset) {
+                    return buffer.getDouble(offset);
+                }
+            };
+        }
+    }
+
+    /**
+     * Constructor that creates a map with the default table size 16.
+     * @param keySerializer writes and reads the keys
+     * @param valueSerializer writes and reads the values
+     */
+    public OffHeapMap(Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(keySerializer, valueSerializer, 0);
+    }
+
+    /**
+     * Constructor that reserves enough off-heap memory for the expected
+     * number of pairs, so the map does not need to resize while it is filled.
+     * @param keySerializer writes and reads the keys
+     * @param valueSerializer writes and reads the values
+     * @param expectedSize the number of pairs the map should hold
+     */
+    public OffHeapMap(Serializer<K> keySerializer, Serializer<V> valueSerializer, long expectedSize) {
+        if(keySerializer.width() <= 0 || valueSerializer.width() < 0){
+            throw new IllegalArgumentException("Keys need at least one byte and values cannot have a negative width");
+        }
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        keyWidth = keySerializer.width();
+        slotWidth = HASH_BYTES + keyWidth + valueSerializer.width();
+        scratch = ByteBuffer.allocate(keyWidth).order(ByteOrder.nativeOrder());
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Adds a key/value pair to the map. If the key already exists then its
+     * value is overwritten in place.
+     * @param key the key
+     * @param value the value
+     */
+    @Override
+    public void add(K key, V value) {
+        int hash = serializeKey(key);
+        long mask = capacity - 1;
+        long slot = hash & mask;
+
+        while(hashAt(slot) != EMPTY){
+            if(hashAt(slot) == hash && keyMatches(slot)){
+                writeValue(slot, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        ByteBuffer chunk = chunkFor(slot);
+        int offset = offsetFor(slot);
+        chunk.put(offset + HASH_BYTES, scratch, 0, keyWidth);
+        writeValue(slot, value);
+        chunk.putInt(offset, hash);
+
+        size++;
+        modCount++;
+        if(size > threshold){
+            resize(capacity * 2);
+        }
+    }
+
+    /**
+     * Removes a key (and the associated value) from the map. If the key is
+     * not in the map then no change is made.
+     * @param key the key
+     */
+    @Override
+    public void remove(K key) {
+        long slot = find(key);
+        if(slot >= 0){
+            shiftBack(slot);
+            size--;
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns the value associated with a key.
+     * @param key the key
+     * @return the value, or null if the key is not in the map
+     */
+    @Override
+    public V get(K key) {
+        long slot = find(key);
+        return slot < 0 ? null : readValue(slot);
+    }
+
+    /**
+     * Reports whether the input key is in the map.
+     * @param key the key
+     * @return true if the key is in the map, otherwise false
+     */
+    @Override
+    public boolean keyExists(K key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Reports whether the input value is in the map. This reads back every
+     * value in the map.
+     * @param value the value
+     * @return true if the value is in the map, otherwise false
+     */
+    @Override
+    public boolean valueExists(V value) {
+        for(long slot = 0; slot < capacity; slot++){
+            if(hashAt(slot) != EMPTY && readValue(slot).equals(value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of key/value pairs in the map.
+     * @return the number of pairs
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the map is empty or not.
+     * @return true if no key/value pairs are in the map, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all key/value pairs in the map. The off-heap memory of the old
+     * table is released once its buffers are garbage collected.
+     */
+    @Override
+    public void clear() {
+        allocate(DEFAULT_TABLE_SIZE);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator that reads each pair back onto the heap as it
+     * goes. The iterator is fail-fast.
+     * @return an iterator over the key/value pairs
+     */
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator() {
+        return new OffHeapIterator();
+    }
+
+    /**
+     * Returns an on-heap Set with the all keys in the map.
+     * @return a set of keys
+     */
+    @Override
+    public ISet<K> keyset() {
+        Set<K> keys = new Set<>(size);
+        for(KeyValuePair<K, V> pair : this){
+            keys.add(pair.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a live view of the values in the map. The view is a bag, so a
+     * value shared by several keys appears once for each key. Its iterator
+     * reads only the value bytes of each slot and is fail-fast. The view
+     * cannot be changed.
+     * @return a collection of values
+     */
+    @Override
+    public ICollection<V> values() {
+        return new Values();
+    }
+
+    /**
+     * Returns the number of off-heap bytes reserved by the table.
+     * @return the reserved bytes
+     */
+    public long offHeapBytes() {
+        return capacity * slotWidth;
+    }
+
+    /**
+     * Generates a toString for the map
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "OffHeapMap{" +
+                "size=" + size +
+                ", capacity=" + capacity +
+                ", offHeapBytes=" + offHeapBytes() +
+                '}';
+    }
+
+    /**
+     * Helper method that finds the slot holding a key.
+     * @return the slot, or -1 if the key is not in the map
+     */
+    private long find(K key) {
+        int hash = serializeKey(key);
+        long mask = capacity - 1;
+        long slot = hash & mask;
+
+        int stored;
+        while((stored = hashAt(slot)) != EMPTY){
+            if(stored == hash && keyMatches(slot)){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method that writes a key into the scratch buffer and hashes
+     * its bytes. Zero is reserved for empty slots.
+     */
+    private int serializeKey(K key) {
+        keySerializer.write(key, scratch, 0);
+
+        long h = 0;
+        int i = 0;
+        for(; i + Long.BYTES <= keyWidth; i += Long.BYTES){
+            h = (h + scratch.getLong(i)) * 0x9E3779B97F4A7C15L;
+        }
+        for(; i < keyWidth; i++){
+            h = (h + scratch.get(i)) * 0x9E3779B97F4A7C15L;
+        }
+
+        int hash = Hashing.spread(h);
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    private boolean keyMatches(long slot) {
+        ByteBuffer chunk = chunkFor(slot);
+        int offset = offsetFor(slot) + HASH_BYTES;
+
+        int i = 0;
+        for(; i + Long.BYTES <= keyWidth; i += Long.BYTES){
+            if(chunk.getLong(offset + i) != scratch.getLong(i)){
+                return false;
+            }
+        }
+        for(; i < keyWidth; i++){
+            if(chunk.get(offset + i) != scratch.get(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeValue(long slot, V value) {
+        valueSerializer.write(value, chunkFor(slot), offsetFor(slot) + HASH_BYTES + keyWidth);
+    }
+
+    private V readValue(long slot) {
+        return valueSerializer.read(chunkFor(slot), offsetFor(slot) + HASH_BYTES + keyWidth);
+    }
+
+    private K readKey(long slot) {
+        return keySerializer.read(chunkFor(slot), offsetFor(slot) + HASH_BYTES);
+    }
+
+    private int hashAt(long slot) {
+        return chunkFor(slot).getInt(offsetFor(slot));
+    }
+
+    private ByteBuffer chunkFor(long slot) {
+        return chunks[(int) (slot >>> chunkShift)];
+    }
+
+    private int offsetFor(long slot) {
+        return (int) (slot & ((1L << chunkShift) - 1)) * slotWidth;
+    }
+
+    /**
+     * Helper method that empties a slot and moves later pairs of the same
+     * cluster back, so lookups never stop early at a hole.
+     */
+    private void shiftBack(long hole) {
+        long mask = capacity - 1;
+        long slot = hole;
+
+        while(true){
+            slot = (slot + 1) & mask;
+            int hash = hashAt(slot);
+            if(hash == EMPTY){
+                break;
+            }
+
+            //a pair may only move back if its home slot is not between the hole and itself
+            long home = hash & mask;
+            if(((slot - home) & mask) >= ((slot - hole) & mask)){
+                chunkFor(hole).put(offsetFor(hole), chunkFor(slot), offsetFor(slot), slotWidth);
+                hole = slot;
+            }
+        }
+        chunkFor(hole).putInt(offsetFor(hole), EMPTY);
+    }
+
+    /**
+     * Helper method that moves every pair into a bigger table. The slots are
+     * copied as raw bytes, so no keys or values are read back onto the heap.
+     */
+    private void resize(long newCapacity) {
+        ByteBuffer[] oldChunks = chunks;
+        int oldShift = chunkShift;
+        long oldCapacity = capacity;
+        allocate(newCapacity);
+
+        long mask = capacity - 1;
+        long oldMask = (1L << oldShift) - 1;
+        for(long old = 0; old < oldCapacity; old++){
+            ByteBuffer oldChunk = oldChunks[(int) (old >>> oldShift)];
+            int oldOffset = (int) (old & oldMask) * slotWidth;
+            int hash = oldChunk.getInt(oldOffset);
+            if(hash != EMPTY){
+                long slot = hash & mask;
+                while(hashAt(slot) != EMPTY){
+                    slot = (slot + 1) & mask;
+                }
+                chunkFor(slot).put(offsetFor(slot), oldChunk, oldOffset, slotWidth);
+            }
+        }
+    }
+
+    /**
+     * Helper method that reserves a zeroed table of the given number of
+     * slots, split into power of two sized chunks.
+     */
+    private void allocate(long newCapacity) {
+        int slotsPerChunk = Integer.highestOneBit(MAX_CHUNK_BYTES / slotWidth);
+        if(newCapacity < slotsPerChunk){
+            slotsPerChunk = (int) newCapacity;
+        }
+
+        chunkShift = Integer.numberOfTrailingZeros(slotsPerChunk);
+        chunks = new ByteBuffer[(int) (newCapacity / slotsPerChunk)];
+        for(int i = 0; i < chunks.length; i++){
+            chunks[i] = ByteBuffer.allocateDirect(slotsPerChunk * slotWidth).order(ByteOrder.nativeOrder());
+        }
+        capacity = newCapacity;
+        threshold = (long) (newCapacity * MAX_LOAD_FACTOR);
+    }
+
+    private static long tableSizeFor(long expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1;
+        return Math.max(DEFAULT_TABLE_SIZE, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * The values of the map, kept as a bag so duplicate values are not lost.
+     */
+    private class Values implements ICollection<V> {
+        @Override
+        public void add(V element) {
+            throw new UnsupportedOperationException("Values cannot be added to a map without a key");
+        }
+
+        @Override
+        public void remove(V element) {
+            throw new UnsupportedOperationException("Values cannot be removed without their key");
+        }
+
+        @Override
+        public boolean contains(V element) {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public void clear() {
+            OffHeapMap.this.clear();
+        }
+
+        @Override
+        public V get(V element) {
+            for(V value : this){
+                if(value.equals(element)){
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private final int savedModCount = modCount;
+                private long nextSlot = findNextSlot(0);
+
+                @Override
+                public boolean hasNext() {
+                    checkConcurrentChanges();
+                    return nextSlot < capacity;
+                }
+
+                @Override
+                public V next() {
+                    checkConcurrentChanges();
+                    if(nextSlot >= capacity){
+                        throw new NoSuchElementException("There are no more values in the map");
+                    }
+
+                    V result = readValue(nextSlot);
+                    nextSlot = findNextSlot(nextSlot + 1);
+                    return result;
+                }
+
+                private void checkConcurrentChanges(){
+                    if(modCount != savedModCount){
+                        throw new ConcurrentModificationException("You cannot change the structure while iterating");
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Helper method that returns the first occupied slot at or after the
+     * given one, or the capacity if there is none.
+     */
+    private long findNextSlot(long slot) {
+        while(slot < capacity && hashAt(slot) == EMPTY){
+            slot++;
+        }
+        return slot;
+    }
+
+    private class OffHeapIterator implements Iterator<KeyValuePair<K, V>> {
+
+        private long nextSlot;
+        private final int savedModCount;
+
+        public OffHeapIterator(){
+            savedModCount = modCount;
+            nextSlot = findNextSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            return nextSlot < capacity;
+        }
+
+        @Override
+        public KeyValuePair<K, V> next() {
+            checkConcurrentChanges();
+            if(nextSlot >= capacity){
+                throw new NoSuchElementException("There are no more pairs in the map");
+            }
+
+            KeyValuePair<K, V> result = new KeyValuePair<>(readKey(nextSlot), readValue(nextSlot));
+            nextSlot = findNextSlot(nextSlot + 1);
+            return result;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+    }
+}
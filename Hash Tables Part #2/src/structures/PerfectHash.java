@@ -0,0 +1,128 @@
+package structures;
+
+/**
+ * This class is a minimal perfect hash function over a fixed set of distinct
+ * int hash codes, built with the hash-and-displace (CHD) method. Each hash
+ * code is first sent to a small bucket, and every bucket stores the seed
+ * that places all of its hash codes in free slots. The n hash codes end up
+ * in exactly n slots, one per slot, so a lookup is two array reads and no
+ * probing.
+ *
+ * Hash codes that were not part of the build still map to some slot, so
+ * callers must check the element stored there.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+final class PerfectHash {
+
+    //average number of hash codes per bucket; fewer means more seeds to store
+    private static final int KEYS_PER_BUCKET = 4;
+
+    private final int[] seeds;
+    private final int slots;
+
+    /**
+     * Constructor that builds the function for a set of hash codes.
+     * @param hashes the hash codes to place; they must all be different
+     */
+    PerfectHash(int[] hashes) {
+        slots = hashes.length;
+        int buckets = Math.max(1, (slots + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        seeds = new int[buckets];
+
+        //group the hash codes by bucket with a counting sort
+        int[] start = new int[buckets + 1];
+        for(int hash : hashes){
+            start[bucketOf(hash) + 1]++;
+        }
+        int largest = 0;
+        for(int i = 0; i < buckets; i++){
+            largest = Math.max(largest, start[i + 1]);
+            start[i + 1] += start[i];
+        }
+        int[] grouped = new int[slots];
+        int[] next = new int[buckets];
+        System.arraycopy(start, 0, next, 0, buckets);
+        for(int hash : hashes){
+            grouped[next[bucketOf(hash)]++] = hash;
+        }
+
+        //place the largest buckets first, while most slots are still free
+        int[] bySize = new int[largest + 2];
+        for(int i = 0; i < buckets; i++){
+            bySize[largest - (start[i + 1] - start[i]) + 1]++;
+        }
+        for(int i = 0; i <= largest; i++){
+            bySize[i + 1] += bySize[i];
+        }
+        int[] order = new int[buckets];
+        for(int i = 0; i < buckets; i++){
+            order[bySize[largest - (start[i + 1] - start[i])]++] = i;
+        }
+
+        boolean[] taken = new boolean[slots];
+        int[] placed = new int[largest];
+        for(int bucket : order){
+            int from = start[bucket];
+            int size = start[bucket + 1] - from;
+            if(size == 0){
+                break;
+            }
+
+            int seed = 0;
+            while(!place(grouped, from, size, seed, taken, placed)){
+                seed++;
+            }
+            seeds[bucket] = seed;
+        }
+    }
+
+    /**
+     * Returns the slot of a hash code. Every hash code given to the
+     * constructor has its own slot.
+     * @param hash the hash code to look up
+     * @return a slot between 0 and the number of hash codes, or -1 if
+     * the function was built over no hash codes
+     */
+    int slotOf(int hash) {
+        if(slots == 0){
+            return -1;
+        }
+        return slotOf(hash, seeds[bucketOf(hash)]);
+    }
+
+    /**
+     * Returns the number of slots, which is the number of hash codes the
+     * function was built over.
+     * @return the number of slots
+     */
+    int slots() {
+        return slots;
+    }
+
+    //tries one seed for a bucket, undoing the slots it took if any collide
+    private boolean place(int[] grouped, int from, int size, int seed, boolean[] taken, int[] placed) {
+        for(int i = 0; i < size; i++){
+            int slot = slotOf(grouped[from + i], seed);
+            if(taken[slot]){
+                for(int j = 0; j < i; j++){
+                    taken[placed[j]] = false;
+                }
+                return false;
+            }
+            taken[slot] = true;
+            placed[i] = slot;
+        }
+        return true;
+    }
+
+    private int bucketOf(int hash) {
+        return (int) (((Hashing.spread(hash) & 0xffffffffL) * seeds.length) >>> 32);
+    }
+
+    private int slotOf(int hash, int seed) {
+        long mixed = Hashing.spread(((long) seed << 32) | (hash & 0xffffffffL)) & 0xffffffffL;
+        return (int) ((mixed * slots) >>> 32);
+    }
+}
@@ -0,0 +1,267 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * This class represents a Map that never changes. Instead of changing the
+ * map, plus() and minus() return a new version in O(log32 n) time, and the
+ * old version stays valid, so readers can hold on to a snapshot while
+ * writers make new ones. The versions share every part of the hash array
+ * mapped trie (see HashTrie) that a change did not touch, so a change
+ * copies a few small nodes rather than the whole map.
+ *
+ * Keys cannot be null; values can.
+ *
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PersistentMap<K, V> implements IMap<K, V> {
+
+    private final HashTrie.Node root;
+
+    /**
+     * Constructor that creates an empty map.
+     */
+    public PersistentMap() {
+        this(HashTrie.EMPTY);
+    }
+
+    /**
+     * Constructor that copies the pairs of another map.
+     * @param source the map to copy
+     */
+    public PersistentMap(IMap<K, V> source) {
+        HashTrie.Node trie = HashTrie.EMPTY;
+        for(KeyValuePair<K, V> pair : source){
+            trie = trie.put(pair.getKey(), pair.getValue(), HashTrie.hash(pair.getKey()), 0, new HashTrie.Change(), true);
+        }
+        root = trie;
+    }
+
+    private PersistentMap(HashTrie.Node root) {
+        this.root = root;
+    }
+
+    private PersistentMap<K, V> of(HashTrie.Node trie) {
+        return trie == root ? this : new PersistentMap<>(trie);
+    }
+
+    /**
+     * Returns a map in which the key has the given value. This map is not
+     * changed.
+     * @param key the key
+     * @param value the value
+     * @return the new version, or this map if the key already has that value
+     */
+    public PersistentMap<K, V> plus(K key, V value) {
+        return of(root.put(key, value, HashTrie.hash(key), 0, new HashTrie.Change(), true));
+    }
+
+    /**
+     * Returns a map without the key. This map is not changed.
+     * @param key the key to remove
+     * @return the new version, or this map if the key is not in it
+     */
+    public PersistentMap<K, V> minus(K key) {
+        return of(root.remove(key, HashTrie.hash(key), 0, new HashTrie.Change()));
+    }
+
+    /**
+     * Persistent maps cannot be changed in place; use plus() instead.
+     * @throws UnsupportedOperationException always
+     * @param key ignored
+     * @param value ignored
+     */
+    @Override
+    public void add(K key, V value) {
+        throw new UnsupportedOperationException("A persistent map cannot be changed; use plus()");
+    }
+
+    /**
+     * Persistent maps cannot be changed in place; use minus() instead.
+     * @throws UnsupportedOperationException always
+     * @param key ignored
+     */
+    @Override
+    public void remove(K key) {
+        throw new UnsupportedOperationException("A persistent map cannot be changed; use minus()");
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key the key to search for
+     * @return the value, or null if the key is not in the map
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object value = root.find(key, HashTrie.hash(key), 0, false);
+        return value == HashTrie.NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean keyExists(K key) {
+        return root.find(key, HashTrie.hash(key), 0, true) != HashTrie.NOT_FOUND;
+    }
+
+    /**
+     * Reports whether any key has a value. The values are not indexed, so
+     * this is a linear search.
+     * @param value the value to search for
+     * @return true if the value is found, otherwise false
+     */
+    @Override
+    public boolean valueExists(V value) {
+        for(HashTrie.EntryIterator entries = new HashTrie.EntryIterator(root); entries.hasNext(); ){
+            if(Objects.equals(entries.next().valueAt(entries.index()), value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    /**
+     * Persistent maps cannot be changed in place; an empty map can be made
+     * with the constructor.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A persistent map cannot be changed");
+    }
+
+    /**
+     * Returns an iterator over the pairs of the map, in the order of the
+     * keys' hashes. The pairs are created as they are returned.
+     * @return an iterator over the pairs
+     */
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator() {
+        HashTrie.EntryIterator entries = new HashTrie.EntryIterator(root);
+        return new Iterator<KeyValuePair<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public KeyValuePair<K, V> next() {
+                HashTrie.Node node = entries.next();
+                return new KeyValuePair<>((K) node.keyAt(entries.index()), (V) node.valueAt(entries.index()));
+            }
+        };
+    }
+
+    /**
+     * Returns the keys of the map as a PersistentSet that shares the map's
+     * trie, so no keys are copied.
+     * @return the keys
+     */
+    @Override
+    public ISet<K> keyset() {
+        return new PersistentSet<>(root);
+    }
+
+    /**
+     * Returns the values of the map, duplicates included. The collection
+     * cannot be changed.
+     * @return the values
+     */
+    @Override
+    public ICollection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PersistentMap{");
+        for(KeyValuePair<K, V> pair : this){
+            if(builder.length() > "PersistentMap{".length()){
+                builder.append(", ");
+            }
+            builder.append(pair);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * The values of the map, in the same order as the keys.
+     */
+    private class Values implements ICollection<V> {
+        @Override
+        public void add(V element) {
+            throw new UnsupportedOperationException("A persistent map cannot be changed");
+        }
+
+        @Override
+        public void remove(V element) {
+            throw new UnsupportedOperationException("A persistent map cannot be changed");
+        }
+
+        @Override
+        public boolean contains(V element) {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size() {
+            return root.size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return root.size == 0;
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("A persistent map cannot be changed");
+        }
+
+        @Override
+        public V get(V element) {
+            for(V value : this){
+                if(Objects.equals(value, element)){
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            HashTrie.EntryIterator entries = new HashTrie.EntryIterator(root);
+            return new Iterator<V>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    return (V) entries.next().valueAt(entries.index());
+                }
+            };
+        }
+    }
+}
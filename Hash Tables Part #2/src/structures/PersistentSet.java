@@ -0,0 +1,288 @@
+package structures;
+
+import interfaces.ISet;
+
+import java.util.Iterator;
+
+/**
+ * This class represents a Set that never changes. Instead of changing the
+ * set, plus() and minus() return a new version in O(log32 n) time, and the
+ * old version stays valid. Both versions share every part of the hash
+ * array mapped trie (see HashTrie) that the change did not touch, so
+ * keeping many versions costs little more memory than keeping one.
+ *
+ * union(), intersects() and difference() with another PersistentSet merge
+ * the two tries, reusing whole subtrees where the sets share them. Sets
+ * that are versions of one another share most of their subtrees, so these
+ * operations take time in proportion to how much the sets differ.
+ *
+ * The set cannot hold null.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PersistentSet<T> implements ISet<T> {
+
+    private static final PersistentSet<?> EMPTY = new PersistentSet<>(HashTrie.EMPTY);
+
+    private final HashTrie.Node root;
+
+    /**
+     * Constructor that creates an empty set.
+     */
+    public PersistentSet() {
+        this(HashTrie.EMPTY);
+    }
+
+    /**
+     * Constructor that copies the elements of another collection.
+     * @param source the elements to copy
+     */
+    public PersistentSet(Iterable<? extends T> source) {
+        HashTrie.Node trie = HashTrie.EMPTY;
+        for(T element : source){
+            trie = trie.put(element, null, HashTrie.hash(element), 0, new HashTrie.Change(), false);
+        }
+        root = trie;
+    }
+
+    /**
+     * Constructor that wraps a trie. Map keysets share the map's trie; the
+     * values stored with the keys are ignored.
+     * @param root the trie holding the elements as keys
+     */
+    PersistentSet(HashTrie.Node root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PersistentSet<T> of(HashTrie.Node trie) {
+        if(trie == root){
+            return this;
+        }
+        return trie.size == 0 ? (PersistentSet<T>) EMPTY : new PersistentSet<>(trie);
+    }
+
+    /**
+     * Returns a set that also holds the element. This set is not changed.
+     * @param element the element to add
+     * @return the new version, or this set if it already holds the element
+     */
+    public PersistentSet<T> plus(T element) {
+        return of(root.put(element, null, HashTrie.hash(element), 0, new HashTrie.Change(), false));
+    }
+
+    /**
+     * Returns a set without the element. This set is not changed.
+     * @param element the element to remove
+     * @return the new version, or this set if it does not hold the element
+     */
+    public PersistentSet<T> minus(T element) {
+        return of(root.remove(element, HashTrie.hash(element), 0, new HashTrie.Change()));
+    }
+
+    /**
+     * Persistent sets cannot be changed in place; use plus() instead.
+     * @throws UnsupportedOperationException always
+     * @param element ignored
+     */
+    @Override
+    public void add(T element) {
+        throw new UnsupportedOperationException("A persistent set cannot be changed; use plus()");
+    }
+
+    /**
+     * Persistent sets cannot be changed in place; use minus() instead.
+     * @throws UnsupportedOperationException always
+     * @param element ignored
+     */
+    @Override
+    public void remove(T element) {
+        throw new UnsupportedOperationException("A persistent set cannot be changed; use minus()");
+    }
+
+    /**
+     * Reports whether the set contains an element.
+     * @param element the element to search for
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return root.find(element, HashTrie.hash(element), 0, true) != HashTrie.NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    /**
+     * Persistent sets cannot be changed in place; an empty set can be made
+     * with the constructor.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A persistent set cannot be changed");
+    }
+
+    /**
+     * Returns the stored element that is equal to the given element.
+     * @param element the element to search for
+     * @return the stored element, or null if it is not in the set
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(T element) {
+        Object found = root.find(element, HashTrie.hash(element), 0, true);
+        return found == HashTrie.NOT_FOUND ? null : (T) found;
+    }
+
+    /**
+     * Returns an iterator over the elements, in the order of their hashes.
+     * @return an iterator over the elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        HashTrie.EntryIterator entries = new HashTrie.EntryIterator(root);
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                return (T) entries.next().keyAt(entries.index());
+            }
+        };
+    }
+
+    /**
+     * Returns a set with the elements of both sets. With another
+     * PersistentSet the tries are merged and shared subtrees are reused;
+     * otherwise the other set's elements are added one at a time.
+     * @param other the other set
+     * @return the union, which is this set if other adds nothing
+     */
+    @Override
+    public PersistentSet<T> union(ISet<T> other) {
+        if(other instanceof PersistentSet){
+            return of(HashTrie.union(root, ((PersistentSet<T>) other).root));
+        }
+
+        PersistentSet<T> result = this;
+        for(T element : other){
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a set with the elements that are in both sets. With another
+     * PersistentSet the tries are merged and shared subtrees are kept whole.
+     * @param other the other set
+     * @return the intersection
+     */
+    @Override
+    public PersistentSet<T> intersects(ISet<T> other) {
+        if(other instanceof PersistentSet){
+            return of(HashTrie.retain(root, ((PersistentSet<T>) other).root, true));
+        }
+
+        PersistentSet<T> result = this;
+        for(T element : this){
+            if(!other.contains(element)){
+                result = result.minus(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a set with the elements of this set that are not in the other
+     * set. With another PersistentSet the tries are merged and shared
+     * subtrees are dropped whole.
+     * @param other the other set
+     * @return the difference
+     */
+    @Override
+    public PersistentSet<T> difference(ISet<T> other) {
+        if(other instanceof PersistentSet){
+            return of(HashTrie.retain(root, ((PersistentSet<T>) other).root, false));
+        }
+
+        PersistentSet<T> result = this;
+        for(T element : this){
+            if(other.contains(element)){
+                result = result.minus(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reports whether the other set is a subset of this set.
+     * @param other the subset candidate
+     * @return true if other is a subset of this set, otherwise false
+     */
+    @Override
+    public boolean isSubset(ISet<T> other) {
+        if(other.size() > size()){
+            return false;
+        }
+        if(other instanceof PersistentSet){
+            return HashTrie.retain(((PersistentSet<T>) other).root, root, false).size == 0;
+        }
+
+        for(T element : other){
+            if(!contains(element)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports whether this set and the other set share no elements.
+     * @param other the other set to consider
+     * @return true if both sets are disjoint, otherwise false
+     */
+    @Override
+    public boolean isDisjoint(ISet<T> other) {
+        if(other instanceof PersistentSet){
+            return HashTrie.retain(root, ((PersistentSet<T>) other).root, true).size == 0;
+        }
+
+        for(T element : other){
+            if(contains(element)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmptySet() {
+        return isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PersistentSet[");
+        for(T element : this){
+            if(builder.length() > "PersistentSet[".length()){
+                builder.append(", ");
+            }
+            builder.append(element);
+        }
+        return builder.append(']').toString();
+    }
+}
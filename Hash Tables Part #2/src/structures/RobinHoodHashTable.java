@@ -0,0 +1,373 @@
+package structures;
+
+import interfaces.ICollection;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class represents a hash table that uses open addressing with Robin Hood
+ * hashing to handle collisions. Elements are stored directly in a flat
+ * Object[] with a parallel int[] of cached hashes, so no per-element nodes
+ * are allocated and a lookup walks contiguous memory instead of a linked list.
+ *
+ * Robin Hood insertion lets an element "steal" the slot of a resident element
+ * that is closer to its home slot, which keeps probe lengths short and lets
+ * lookups stop early. Removals use backward-shift deletion, so no tombstones
+ * are ever left behind.
+ *
+ * @param <T>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class RobinHoodHashTable<T> implements ICollection<T>, Iterable<T>{
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.875;
+
+    //a cached hash of 0 marks an empty slot
+    private static final int EMPTY = 0;
+
+    private Object[] slots;
+    private int[] hashes;
+    private int size;
+    private int threshold;
+    private int modCount;
+
+    /**
+     * Constructor that creates a table with the default table
+     * size 16.
+     */
+    public RobinHoodHashTable() {
+        allocate(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Adds an element to the collection. No specific ordering
+     * is required. Duplicate elements are ignored.
+     *
+     * Once the table is more than 87.5% full it is doubled in size.
+     *
+     * @param element the new element to put in the collection
+     */
+    @Override
+    public void add(T element) {
+        add(element, false);
+    }
+
+    /**
+     * Adds an element, replacing the stored element that equals it if there
+     * is one. The probe sequence is only walked once.
+     *
+     * @param element the element to put in the collection
+     * @return the element that was replaced, or null if the element is new
+     */
+    public T put(T element) {
+        return add(element, true);
+    }
+
+    /**
+     * Helper method behind add() and put().
+     * @param replace true to replace an equal element that is already stored
+     * @return the equal element that was already stored, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    private T add(T element, boolean replace) {
+        if(size >= threshold){
+            resize();
+        }
+
+        int hash = hash(element);
+        int mask = slots.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+
+        //walk the probe sequence looking for a duplicate, stopping at the first
+        //empty slot or the first resident that is closer to home than we are
+        while(hashes[index] != EMPTY){
+            if(probeDistance(index, mask) < distance){
+                break;
+            }
+            if(hashes[index] == hash && slots[index].equals(element)){
+                T existing = (T) slots[index];
+                if(replace){
+                    slots[index] = element;
+                }
+                return existing;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        insert(element, hash, index, distance);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Helper method that places an element at the given slot, pushing
+     * richer residents further along the probe sequence.
+     */
+    private void insert(Object element, int hash, int index, int distance) {
+        int mask = slots.length - 1;
+
+        while(hashes[index] != EMPTY){
+            int residentDistance = probeDistance(index, mask);
+
+            //take from the rich: swap with a resident closer to its home slot
+            if(residentDistance < distance){
+                Object displaced = slots[index];
+                int displacedHash = hashes[index];
+
+                slots[index] = element;
+                hashes[index] = hash;
+
+                element = displaced;
+                hash = displacedHash;
+                distance = residentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        slots[index] = element;
+        hashes[index] = hash;
+    }
+
+    /**
+     * Helper method that doubles the size of the table. Cached hashes are
+     * reused, so no hashCode() or equals() calls are made while rehashing.
+     */
+    private void resize() {
+        Object[] oldSlots = slots;
+        int[] oldHashes = hashes;
+
+        allocate(oldSlots.length * 2);
+
+        for(int i = 0; i < oldSlots.length; i++){
+            if(oldHashes[i] != EMPTY){
+                insert(oldSlots[i], oldHashes[i], oldHashes[i] & (slots.length - 1), 0);
+            }
+        }
+    }
+
+    /**
+     * Finds and removes an element from the collection. The elements that
+     * follow the removed element in its cluster are shifted back by one slot.
+     *
+     * @throws NoSuchElementException thrown when the
+     * element is not found in the collection
+     * @param element the element to remove
+     */
+    @Override
+    public void remove(T element) {
+        if(!delete(element)){
+            throw new NoSuchElementException("This item is not in the table");
+        }
+    }
+
+    /**
+     * Removes an element if it is present, walking its probe sequence once.
+     * @return true if the element was removed
+     */
+    boolean delete(Object element) {
+        int index = indexOf(element);
+        if(index < 0){
+            return false;
+        }
+
+        int mask = slots.length - 1;
+        int next = (index + 1) & mask;
+
+        //shift the rest of the cluster back until we hit an empty slot or an
+        //element that is already in its home slot
+        while(hashes[next] != EMPTY && probeDistance(next, mask) != 0){
+            slots[index] = slots[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+
+        slots[index] = null;
+        hashes[index] = EMPTY;
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Reports whether the collection contains an element
+     *
+     * @param element the element to search for.
+     * @return true if the element is found, otherwise false
+     */
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns an element in the collection that matches the
+     * input parameter according the equals method of the parameter.
+     *
+     * @param element an element to search for
+     * @return a matching element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(T element) {
+        int index = indexOf(element);
+        return index < 0 ? null : (T) slots[index];
+    }
+
+    /**
+     * Helper method that finds the slot holding an element.
+     * @return the slot index, or -1 if the element is not in the table
+     */
+    private int indexOf(Object element) {
+        int hash = hash(element);
+        int mask = slots.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+
+        //an element can never sit further from home than a resident we pass,
+        //so the search stops as soon as we find a resident closer to its home
+        while(hashes[index] != EMPTY && probeDistance(index, mask) >= distance){
+            if(hashes[index] == hash && slots[index].equals(element)){
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the collection.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports whether the collection is empty or not.
+     *
+     * @return true if the collection is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from the collection.
+     */
+    @Override
+    public void clear() {
+        allocate(DEFAULT_TABLE_SIZE);
+        size = 0;
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        slots = new Object[capacity];
+        hashes = new int[capacity];
+        threshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private int probeDistance(int index, int mask) {
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Spreads the element's hash code; zero is reserved for empty slots.
+     */
+    private static int hash(Object element) {
+        int h = Hashing.spread(element.hashCode());
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     * Generates a toString for the hash table
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RobinHoodHashTable{elements=[");
+        boolean first = true;
+        for(T element : this){
+            if(!first){
+                builder.append(", ");
+            }
+            builder.append(element);
+            first = false;
+        }
+        return builder.append("], size=").append(size)
+                .append(", capacity=").append(slots.length)
+                .append(", modCount=").append(modCount)
+                .append('}').toString();
+    }
+
+    /**
+     * Returns an iterator over the collection.
+     *
+     * @return an object using the Iterator<T> interface
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new RobinHoodIterator();
+    }
+
+    private class RobinHoodIterator implements Iterator<T>{
+
+        private int nextIndex;
+        private int savedModCount;
+
+        /**
+         * Iterator constructor that moves to the first occupied slot.
+         */
+        public RobinHoodIterator(){
+            savedModCount = modCount;
+            nextIndex = -1;
+            findNextSlot();
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkConcurrentChanges();
+            return nextIndex < slots.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            checkConcurrentChanges();
+            if(nextIndex >= slots.length){
+                throw new NoSuchElementException("There are no more elements in the table");
+            }
+
+            T result = (T) slots[nextIndex];
+            findNextSlot();
+            return result;
+        }
+
+        private void checkConcurrentChanges(){
+            if(modCount != savedModCount){
+                throw new ConcurrentModificationException("You cannot change the structure while iterating");
+            }
+        }
+
+        private void findNextSlot(){
+            nextIndex++;
+            while(nextIndex < slots.length && hashes[nextIndex] == EMPTY){
+                nextIndex++;
+            }
+        }
+    }
+}
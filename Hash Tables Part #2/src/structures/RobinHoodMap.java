@@ -0,0 +1,282 @@
+package structures;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class represents a Map that uses a RobinHoodHashTable. The pairs sit
+ * in the table's flat slot array, so a lookup walks contiguous memory and
+ * no chain nodes are allocated. Keys are found with a probe pair, which
+ * KeyValuePair compares by key alone.
+ * @param <K>
+ * @param <V>
+ * @author alisallavore
+ * @version 1.0
+ */
+public class RobinHoodMap<K, V> implements IMap<K, V>
+{
+    private RobinHoodHashTable<KeyValuePair<K, V>> table;
+    private ISet<K> keyset;
+
+    /**
+     * Default constructor for map classes that creates a new Robin Hood Hash Table
+     */
+    public RobinHoodMap() {
+        table = new RobinHoodHashTable<>();
+    }
+
+    /**
+     * Adds a key/value pair to the map, replacing the pair of an existing
+     * key. The probe sequence is only walked once.
+     * @param key the key
+     * @param value the value
+     */
+    @Override
+    public void add(K key, V value)
+    {
+        table.put(new KeyValuePair<>(key, value));
+    }
+
+    /**
+     * Removes a key (and the associated value) from the map. If the key is
+     * not in the map then no change is made.
+     * @param key the key
+     */
+    @Override
+    public void remove(K key)
+    {
+        table.delete(new KeyValuePair<>(key, null));
+    }
+
+    @Override
+    public V get(K key)
+    {
+        KeyValuePair<K, V> found = table.get(new KeyValuePair<>(key, null));
+        return found == null ? null : found.getValue();
+    }
+
+    @Override
+    public boolean keyExists(K key)
+    {
+        return table.contains(new KeyValuePair<>(key, null));
+    }
+
+    @Override
+    public boolean valueExists(V value)
+    {
+        for(KeyValuePair<K, V> pair : table){
+            if(Objects.equals(pair.getValue(), value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return table.isEmpty();
+    }
+
+    @Override
+    public void clear()
+    {
+        table.clear();
+    }
+
+    @Override
+    public Iterator<KeyValuePair<K, V>> iterator()
+    {
+        return table.iterator();
+    }
+
+    /**
+     * Returns a live view of the keys in the map. Nothing is copied, and
+     * removing a key from the view removes its pair from the map. Keys
+     * cannot be added through the view.
+     * @return a set of keys
+     */
+    @Override
+    public ISet<K> keyset()
+    {
+        if(keyset == null){
+            keyset = new Set<>(new Keys());
+        }
+        return keyset;
+    }
+
+    /**
+     * Returns a live view of the values in the map. The view is a bag, so a
+     * value shared by several keys appears once for each key. The view
+     * cannot be changed.
+     * @return a collection of values
+     */
+    @Override
+    public ICollection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public String toString() {
+        return "RobinHoodMap{" +
+                "table=" + table +
+                '}';
+    }
+
+    /**
+     * The keys of the map, used as the table behind the keyset() view.
+     */
+    private class Keys implements ICollection<K>
+    {
+        @Override
+        public void add(K element)
+        {
+            throw new UnsupportedOperationException("Keys cannot be added to a map without a value");
+        }
+
+        @Override
+        public void remove(K element)
+        {
+            if(!table.delete(new KeyValuePair<>(element, null))){
+                throw new NoSuchElementException("This key is not in the map");
+            }
+        }
+
+        @Override
+        public boolean contains(K element)
+        {
+            return keyExists(element);
+        }
+
+        @Override
+        public int size()
+        {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            RobinHoodMap.this.clear();
+        }
+
+        @Override
+        public K get(K element)
+        {
+            KeyValuePair<K, V> found = table.get(new KeyValuePair<>(element, null));
+            return found == null ? null : found.getKey();
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            Iterator<KeyValuePair<K, V>> pairs = table.iterator();
+            return new Iterator<K>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public K next()
+                {
+                    return pairs.next().getKey();
+                }
+            };
+        }
+    }
+
+    /**
+     * The values of the map, kept as a bag so duplicate values are not lost.
+     */
+    private class Values implements ICollection<V>
+    {
+        @Override
+        public void add(V element)
+        {
+            throw new UnsupportedOperationException("Values cannot be added to a map without a key");
+        }
+
+        @Override
+        public void remove(V element)
+        {
+            throw new UnsupportedOperationException("Values cannot be removed without their key");
+        }
+
+        @Override
+        public boolean contains(V element)
+        {
+            return valueExists(element);
+        }
+
+        @Override
+        public int size()
+        {
+            return table.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return table.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            RobinHoodMap.this.clear();
+        }
+
+        @Override
+        public V get(V element)
+        {
+            for(KeyValuePair<K, V> pair : table){
+                if(Objects.equals(pair.getValue(), element)){
+                    return pair.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            Iterator<KeyValuePair<K, V>> pairs = table.iterator();
+            return new Iterator<V>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return pairs.hasNext();
+                }
+
+                @Override
+                public V next()
+                {
+                    return pairs.next().getValue();
+                }
+            };
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package structures;
 
+import interfaces.ICollection;
 import interfaces.ISet;
 
+import javax.management.ObjectName;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -13,8 +24,13 @@ import java.util.Iterator;
  */
 public class Set<T> implements ISet<T>
 {
+    //below this many elements the parallel operations just run sequentially
+    private static final int PARALLEL_THRESHOLD = 10_000;
 
-    private HashTable<T> table;
+    private ICollection<T> table;
+
+    //rejects lookups for missing elements; null unless the set was built with one
+    private LookupFilter<T> filter;
 
     /**
      * Default constructor that creates a new Hash Table
@@ -23,21 +39,141 @@ public class Set<T> implements ISet<T>
          table = new HashTable<>();
     }
 
+    /**
+     * Constructor that stores the set's elements in another hash table
+     * engine, such as a RobinHoodHashTable.
+     * @param table an empty table that will back the set
+     */
+    public Set(ICollection<T> table) {
+        this.table = table;
+    }
+
+    /**
+     * Constructor that creates a Hash Table big enough to hold the expected
+     * number of elements without resizing.
+     * @param expectedSize the number of elements the set should hold
+     */
+    public Set(int expectedSize) {
+        table = new HashTable<>(expectedSize);
+    }
+
+    /**
+     * Constructor that also puts a Bloom filter in front of the table, so
+     * contains() and get() for a missing element usually return without
+     * searching the table. Worth it when most lookups miss.
+     * @param expectedSize the number of elements the set should hold
+     * @param falsePositiveRate the share of misses that still search the
+     * table, such as 0.01
+     */
+    public Set(int expectedSize, double falsePositiveRate) {
+        table = new HashTable<>(expectedSize);
+        filter = new LookupFilter<>(expectedSize, falsePositiveRate);
+    }
+
+    /**
+     * Adds every element from another collection. The backing table is
+     * sized once for the new elements instead of growing step by step.
+     * @param elements the elements to add
+     */
+    public void addAll(Iterable<? extends T> elements)
+    {
+        if(table instanceof HashTable){
+            ((HashTable<T>) table).addAll(elements);
+            if(filter != null){
+                filter.rebuild(table, table.size());
+            }
+            return;
+        }
+
+        for(T element : elements){
+            add(element);
+        }
+    }
+
+    /**
+     * Returns a copy of the set that cannot be changed and that finds each
+     * element with a single probe. Useful for data that is built once and
+     * then only read.
+     * @return a frozen copy of the set
+     */
+    public FrozenSet<T> freeze()
+    {
+        return new FrozenSet<>(this);
+    }
+
     @Override
     public void add(T element)
     {
+        if(filter == null){
+            table.add(element);
+            return;
+        }
+
+        int before = table.size();
         table.add(element);
+        if(table.size() > before){
+            filter.added(element, table, table.size());
+        }
     }
 
     @Override
     public void remove(T element)
     {
         table.remove(element);
+        if(filter != null){
+            filter.removed(table, table.size());
+        }
+    }
+
+    /**
+     * Removes every element that matches a predicate. A HashTable does this
+     * in one pass over its buckets; other tables have the matching elements
+     * collected first and then removed one at a time.
+     * @param predicate returns true for the elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        boolean removed;
+        HashTable<T> hashTable = hashTableOf(this);
+        if(hashTable != null){
+            removed = hashTable.removeIf(predicate);
+        }
+        else{
+            List<T> matches = new ArrayList<>();
+            for(T element : table){
+                if(predicate.test(element)){
+                    matches.add(element);
+                }
+            }
+            for(T element : matches){
+                table.remove(element);
+            }
+            removed = !matches.isEmpty();
+        }
+
+        if(removed && filter != null){
+            filter.rebuild(table, table.size());
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every element that is not in the other set.
+     * @param other the elements to keep
+     * @return true if any element was removed
+     */
+    public boolean retainAll(ISet<T> other)
+    {
+        return removeIf(element -> !other.contains(element));
     }
 
     @Override
     public boolean contains(T element)
     {
+        if(filter != null && !filter.mightContain(element)){
+            return false;
+        }
         return table.contains(element);
     }
 
@@ -56,61 +192,237 @@ public class Set<T> implements ISet<T>
     @Override
     public void clear()
     {
-        table.clear();
+        clear(false);
+    }
+
+    /**
+     * Removes every element, optionally keeping the capacity of the table
+     * behind the set. See HashTable.clear(boolean).
+     * @param keepCapacity true to keep the current capacity; ignored unless
+     * the set is backed by a HashTable
+     */
+    public void clear(boolean keepCapacity)
+    {
+        HashTable<T> hashTable = hashTableOf(this);
+        if(hashTable != null){
+            hashTable.clear(keepCapacity);
+        }
+        else{
+            table.clear();
+        }
+        if(filter != null){
+            filter.cleared();
+        }
+    }
+
+    /**
+     * Shrinks the table behind the set to fit its elements. See
+     * HashTable.trimToSize(). Nothing happens unless the set is backed by
+     * a HashTable.
+     */
+    public void trimToSize()
+    {
+        HashTable<T> hashTable = hashTableOf(this);
+        if(hashTable != null){
+            hashTable.trimToSize();
+        }
     }
 
     @Override
     public T get(T element)
     {
+        if(filter != null && !filter.mightContain(element)){
+            return null;
+        }
         return table.get(element);
     }
 
+    /**
+     * Returns the Bloom filter in front of the table, for its statistics.
+     * The filter is replaced whenever it is rebuilt, which resets them.
+     * @return the filter, or null if the set was built without one
+     */
+    public BloomFilter<T> lookupFilter()
+    {
+        return filter == null ? null : filter.filter();
+    }
+
+    /**
+     * Starts counting lookups, probes and resizes in the table behind the
+     * set. See HashTable.enableStatistics().
+     * @throws UnsupportedOperationException thrown when the set is not
+     * backed by a HashTable
+     */
+    public void enableStatistics()
+    {
+        hashTable().enableStatistics();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the table behind the set.
+     * @throws UnsupportedOperationException thrown when the set is not
+     * backed by a HashTable
+     * @return the statistics
+     */
+    public HashTableStatistics statistics()
+    {
+        return hashTable().statistics();
+    }
+
+    /**
+     * Publishes the statistics of the table behind the set as an MBean.
+     * See HashTable.registerMBean().
+     * @throws UnsupportedOperationException thrown when the set is not
+     * backed by a HashTable
+     * @param name the name that identifies this set
+     * @return the name the MBean was registered under
+     */
+    public ObjectName registerMBean(String name)
+    {
+        return hashTable().registerMBean(name);
+    }
+
+    private HashTable<T> hashTable()
+    {
+        HashTable<T> hashTable = hashTableOf(this);
+        if(hashTable == null){
+            throw new UnsupportedOperationException("Statistics are only kept by a HashTable");
+        }
+        return hashTable;
+    }
+
     @Override
     public Iterator<T> iterator()
     {
-        return table.iterator();
+        if(filter == null){
+            return table.iterator();
+        }
+
+        //tell the filter about removals made through the iterator
+        Iterator<T> elements = table.iterator();
+        return new Iterator<T>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return elements.hasNext();
+            }
+
+            @Override
+            public T next()
+            {
+                return elements.next();
+            }
+
+            @Override
+            public void remove()
+            {
+                elements.remove();
+                filter.removed(table, table.size());
+            }
+        };
     }
 
+    /**
+     * Performs an action for every element. A HashTable walks its buckets
+     * directly instead of going through its iterator.
+     * @param action the action to perform
+     */
     @Override
-    public ISet<T> union(ISet<T> other)
+    public void forEach(Consumer<? super T> action)
     {
-        //create a new set
-        Set<T> joined = new Set<>();
+        table.forEach(action);
+    }
 
-        //loop over this and other and add all elements to the new set.
-        for(T element : table){
-            joined.add(element);
+    /**
+     * Returns a spliterator over the set. A HashTable splits by ranges of
+     * buckets; other tables are wrapped in a sized spliterator.
+     * @return a spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        if(table instanceof HashTable){
+            return table.spliterator();
         }
+        return Spliterators.spliterator(table.iterator(), table.size(), Spliterator.DISTINCT);
+    }
 
-        for(T otherElement : other){
-            joined.add(otherElement);
-        }
+    /**
+     * Returns a sequential stream over the set.
+     * @return a stream
+     */
+    public Stream<T> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the set.
+     * @return a parallel stream
+     */
+    public Stream<T> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
 
+    /**
+     * Returns the union of this set and another. The result is sized once
+     * for both sets, and the elements of this set are linked in without
+     * duplicate checks.
+     * @param other the other set to join with this set
+     * @return the union of two sets
+     */
+    @Override
+    public ISet<T> union(ISet<T> other)
+    {
+        Set<T> joined = presized(size() + other.size());
+        joined.addAll(this);
+        joined.addAll(other);
         return joined;
     }
 
+    /**
+     * Returns the intersection of this set and another. The smaller set is
+     * iterated and each element is looked up in the larger one, so this
+     * takes time proportional to the smaller set. The elements in the
+     * result are the ones stored in this set.
+     * @param other the other set to join with this set
+     * @return the intersection of two sets
+     */
     @Override
     public ISet<T> intersects(ISet<T> other)
     {
-        //create a new set
-        Set<T> joined = new Set<>();
-
-        //loop over this and other and add all same elements to the new set
-        for(T element : table){
+        if(other.size() < size()){
+            Set<T> joined = presized(other.size());
             for(T otherElement : other){
-                if(element.equals(otherElement)){
+                T element = table.get(otherElement);
+                if(element != null){
                     joined.add(element);
                 }
             }
+            return joined;
+        }
+
+        Set<T> joined = presized(size());
+        for(T element : table){
+            if(other.contains(element)){
+                joined.add(element);
+            }
         }
         return joined;
     }
 
+    /**
+     * Returns the elements of this set that are not in the other set. The
+     * result is sized for this set up front.
+     * @param other the other set to use in the difference operation
+     * @return the difference of two sets
+     */
     @Override
     public ISet<T> difference(ISet<T> other)
     {
-        //create a new set
-        Set<T> notIncluded = new Set<>();
+        Set<T> notIncluded = presized(size());
 
         //loop over elements
         for(T element : table){
@@ -123,49 +435,162 @@ public class Set<T> implements ISet<T>
         return notIncluded;
     }
 
+    /**
+     * Reports whether the other set is a subset of this set. A larger set
+     * is rejected without looking at its elements, and the search stops at
+     * the first element that is missing from this set.
+     * @param other the subset candidate
+     * @return true if other is a subset of this set, otherwise false
+     */
     @Override
     public boolean isSubset(ISet<T> other)
     {
-        //counter to keep track of how many other elements are contained in the table
-        int inSet = 0;
+        if(other.size() > size()){
+            return false;
+        }
 
-        //loop over elements
         for(T otherElement : other){
-            //check if table contains the other element
-            if(table.contains(otherElement)){
-                //increment counter
-                inSet++;
+            if(!table.contains(otherElement)){
+                return false;
             }
         }
+        return true;
+    }
 
-        //check if the number of elements in the set is equal to the other set's
-        //size
-        if(inSet == other.size()){
+    /**
+     * Reports whether this set and the other set share no elements. The
+     * smaller set is iterated and the search stops at the first shared
+     * element.
+     * @param other the other set to consider
+     * @return true if both sets are disjoint, otherwise false
+     */
+    @Override
+    public boolean isDisjoint(ISet<T> other)
+    {
+        if(other.size() < size()){
+            for(T otherElement : other){
+                if(table.contains(otherElement)){
+                    return false;
+                }
+            }
             return true;
         }
 
-        return false;
+        for(T element : table){
+            if(other.contains(element)){
+                return false;
+            }
+        }
+        return true;
     }
 
-    @Override
-    public boolean isDisjoint(ISet<T> other)
+    /**
+     * Returns the union of this set and another, computed in parallel on
+     * the common ForkJoinPool. This set is copied into the result by
+     * parallel tasks over ranges of its buckets, then the elements of the
+     * other set that are not in this set are added the same way. Falls back
+     * to union() for small sets or sets not backed by a HashTable. Neither
+     * set may be changed while this runs.
+     * @param other the other set to join with this set
+     * @return the union of two sets
+     */
+    public ISet<T> parallelUnion(ISet<T> other)
     {
-        int inSet = 0;
+        HashTable<T> source = hashTableOf(this);
+        HashTable<T> otherSource = hashTableOf(other);
+        if(source == null || otherSource == null || size() + other.size() < PARALLEL_THRESHOLD){
+            return union(other);
+        }
 
-        //loop over set
-        for(T otherElement : other){
-            //check if table contains elements from other set
-            if(table.contains(otherElement)){
-                inSet++;
-            }
+        HashTable<T> joined = new HashTable<>();
+        joined.reserve(size() + other.size());
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        joined.addAllParallel(source, element -> element, pool);
+        joined.addAllParallel(otherSource, element -> table.contains(element) ? null : element, pool);
+        return new Set<>(joined);
+    }
+
+    /**
+     * Returns the intersection of this set and another, computed in
+     * parallel on the common ForkJoinPool. Ranges of the smaller set's
+     * buckets are checked against the larger set by parallel tasks. The
+     * elements in the result are the ones stored in this set. Falls back to
+     * intersects() for small sets or when the smaller set is not backed by
+     * a HashTable. Neither set may be changed while this runs. The sets'
+     * tables are searched directly, skipping any Bloom filters, so lookup
+     * statistics are counted but filter statistics are not.
+     * @param other the other set to join with this set
+     * @return the intersection of two sets
+     */
+    public ISet<T> parallelIntersects(ISet<T> other)
+    {
+        boolean otherIsSmaller = other.size() < size();
+        HashTable<T> source = hashTableOf(otherIsSmaller ? other : this);
+        if(source == null || size() + other.size() < PARALLEL_THRESHOLD){
+            return intersects(other);
         }
 
-        //check if there are no items in other set that are contained in table
-        if(inSet == 0){
-            return true;
+        HashTable<T> joined = new HashTable<>();
+        joined.reserve(source.size());
+        if(otherIsSmaller){
+            joined.addAllParallel(source, element -> table.get(element), ForkJoinPool.commonPool());
+        } else {
+            Predicate<T> inOther = concurrentContains(other);
+            joined.addAllParallel(source, element -> inOther.test(element) ? element : null,
+                    ForkJoinPool.commonPool());
+        }
+        return new Set<>(joined);
+    }
+
+    /**
+     * Returns the elements of this set that are not in the other set,
+     * computed in parallel on the common ForkJoinPool over ranges of this
+     * set's buckets. Falls back to difference() for small sets or sets not
+     * backed by a HashTable. Neither set may be changed while this runs.
+     * The other set's table is searched directly, skipping any Bloom
+     * filter, as for parallelIntersects().
+     * @param other the other set to use in the difference operation
+     * @return the difference of two sets
+     */
+    public ISet<T> parallelDifference(ISet<T> other)
+    {
+        HashTable<T> source = hashTableOf(this);
+        if(source == null || size() + other.size() < PARALLEL_THRESHOLD){
+            return difference(other);
         }
 
-        return false;
+        HashTable<T> notIncluded = new HashTable<>();
+        notIncluded.reserve(size());
+        Predicate<T> inOther = concurrentContains(other);
+        notIncluded.addAllParallel(source, element -> inOther.test(element) ? null : element,
+                ForkJoinPool.commonPool());
+        return new Set<>(notIncluded);
+    }
+
+    //looks elements up in the table behind a Set directly, since the worker threads
+    //must not update its Bloom filter's counts; any other ISet must allow concurrent reads
+    private static <T> Predicate<T> concurrentContains(ISet<T> set)
+    {
+        HashTable<T> table = hashTableOf(set);
+        return table == null ? set::contains : table::contains;
+    }
+
+    //a set with room for the result of an operation, which may shrink again
+    //once elements are removed, unlike a set made with Set(int)
+    private static <T> Set<T> presized(int expectedSize)
+    {
+        HashTable<T> table = new HashTable<>();
+        table.reserve(expectedSize);
+        return new Set<>(table);
+    }
+
+    //returns the HashTable behind a set, or null if it has a different table
+    private static <T> HashTable<T> hashTableOf(ISet<T> set)
+    {
+        if(set instanceof Set && ((Set<T>) set).table instanceof HashTable){
+            return (HashTable<T>) ((Set<T>) set).table;
+        }
+        return null;
     }
 
     @Override
@@ -0,0 +1,227 @@
+package tests;
+
+import helpers.KeyValuePair;
+import org.junit.Assert;
+import org.junit.Test;
+import structures.CacheMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the CacheMap<K, V> class with and without the TinyLFU policy.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class CacheMapTest
+{
+    private static final int MAXIMUM_SIZE = 100;
+    private static final int RANDOM_OPERATIONS = 50_000;
+
+    /**
+     * Verifies that the least recently used pair is evicted, and that get()
+     * and add() count as uses.
+     */
+    @Test
+    public void evictsLeastRecentlyUsed()
+    {
+        CacheMap<Integer, String> cache = new CacheMap<>(3);
+        cache.add(1, "one");
+        cache.add(2, "two");
+        cache.add(3, "three");
+        Assert.assertEquals("get() does not return the value", "one", cache.get(1));
+        cache.add(2, "TWO");
+
+        cache.add(4, "four");
+        Assert.assertFalse("The least recently used key was not evicted", cache.keyExists(3));
+        Assert.assertEquals("size() is over the maximum size", 3, cache.size());
+        Assert.assertEquals("The pairs are not in order of use",
+                Arrays.asList(4, 2, 1), keysInOrder(cache));
+        Assert.assertEquals("add() did not replace the value", "TWO", cache.get(2));
+
+        Assert.assertNull("get() found an evicted key", cache.get(3));
+        Assert.assertEquals("hits() is incorrect", 2, cache.hits());
+        Assert.assertEquals("misses() is incorrect", 1, cache.misses());
+        Assert.assertEquals("evictions() is incorrect", 1, cache.evictions());
+        Assert.assertEquals("hitRate() is incorrect", 2.0 / 3, cache.hitRate(), 1e-9);
+    }
+
+    /**
+     * Verifies that remove(), clear() and the keyset view keep the map
+     * consistent, and that keyExists() does not count as a use.
+     */
+    @Test
+    public void removeAndClear()
+    {
+        CacheMap<Integer, Integer> cache = new CacheMap<>(3);
+        cache.add(1, 1);
+        cache.add(2, 2);
+        cache.add(3, 3);
+        cache.remove(2);
+        cache.remove(5);
+        Assert.assertEquals("remove() did not remove the pair", 2, cache.size());
+
+        Assert.assertTrue("keyExists() does not find a key", cache.keyExists(1));
+        cache.add(4, 4);
+        cache.add(5, 5);
+        Assert.assertFalse("keyExists() counted as a use", cache.keyExists(1));
+
+        cache.keyset().remove(4);
+        Assert.assertEquals("Removing from keyset() did not remove the pair",
+                Arrays.asList(5, 3), keysInOrder(cache));
+        Assert.assertTrue("valueExists() does not find a value", cache.valueExists(3));
+
+        cache.clear();
+        Assert.assertTrue("The map is not empty after clear()", cache.isEmpty());
+        Assert.assertFalse("The iterator returns pairs after clear()", cache.iterator().hasNext());
+        cache.add(6, 6);
+        Assert.assertEquals("The map does not work after clear()", (Integer) 6, cache.get(6));
+    }
+
+    /**
+     * Verifies that the iterator returns plain snapshot pairs, which equal
+     * other pairs with the same key and do not change with the cache.
+     */
+    @Test
+    public void iteratorReturnsSnapshots()
+    {
+        CacheMap<String, Integer> cache = new CacheMap<>(3);
+        cache.add("a", 1);
+
+        KeyValuePair<String, Integer> pair = cache.iterator().next();
+        cache.add("a", 2);
+
+        Assert.assertEquals("An iterated pair is not a plain KeyValuePair", KeyValuePair.class, pair.getClass());
+        Assert.assertEquals("An iterated pair does not equal a pair with the same key",
+                new KeyValuePair<>("a", 0), pair);
+        Assert.assertEquals("An iterated pair changed with the cache", 1, pair.getValue().intValue());
+        Assert.assertEquals("The cache lost the new value", 2, cache.get("a").intValue());
+    }
+
+    /**
+     * Verifies that get() and add() on an existing key reorder the pairs,
+     * so an open iterator fails fast instead of skipping pairs.
+     */
+    @Test
+    public void usesDuringIterationAreDetected()
+    {
+        CacheMap<String, Integer> cache = new CacheMap<>(3);
+        cache.add("a", 1);
+        cache.add("b", 2);
+        cache.add("c", 3);
+
+        assertDetected(cache, () -> cache.get("a"), "get()");
+        assertDetected(cache, () -> cache.add("b", 4), "add() of an existing key");
+        Assert.assertEquals("The uses lost a pair", 3, cache.size());
+    }
+
+    private static void assertDetected(CacheMap<String, Integer> cache, Runnable use, String description)
+    {
+        Iterator<KeyValuePair<String, Integer>> iterator = cache.iterator();
+        iterator.next();
+        use.run();
+        try
+        {
+            iterator.next();
+            Assert.fail(description + " during iteration was not detected");
+        }
+        catch (ConcurrentModificationException expected)
+        {
+            //the use moved a pair
+        }
+    }
+
+    /**
+     * Verifies that neither policy grows past the maximum size and that
+     * every pair the map reports can be found, under a random workload.
+     */
+    @Test
+    public void staysWithinMaximumSize()
+    {
+        for (boolean tinyLfu : new boolean[]{false, true})
+        {
+            Random random = new Random(5);
+            CacheMap<Integer, Integer> cache = new CacheMap<>(MAXIMUM_SIZE, tinyLfu);
+            for (int i = 0; i < RANDOM_OPERATIONS; i++)
+            {
+                int key = random.nextInt(MAXIMUM_SIZE * 5);
+                switch (random.nextInt(5))
+                {
+                    case 0:
+                        cache.remove(key);
+                        break;
+                    case 1:
+                    case 2:
+                        Integer value = cache.get(key);
+                        Assert.assertTrue("get() returned the wrong value", value == null || value == key);
+                        break;
+                    default:
+                        cache.add(key, key);
+                }
+                Assert.assertTrue("size() is over the maximum size", cache.size() <= MAXIMUM_SIZE);
+            }
+
+            int count = 0;
+            for (KeyValuePair<Integer, Integer> pair : cache)
+            {
+                Assert.assertTrue("An iterated key cannot be found", cache.keyExists(pair.getKey()));
+                count++;
+            }
+            Assert.assertEquals("The iterator does not return every pair (TinyLFU " + tinyLfu + ")",
+                    cache.size(), count);
+        }
+    }
+
+    /**
+     * Verifies that TinyLFU keeps frequently used keys when a long run of
+     * keys that are used once passes through, while LRU loses them.
+     */
+    @Test
+    public void tinyLfuResistsScans()
+    {
+        CacheMap<Integer, Integer> lru = new CacheMap<>(MAXIMUM_SIZE);
+        CacheMap<Integer, Integer> tinyLfu = new CacheMap<>(MAXIMUM_SIZE, true);
+        for (CacheMap<Integer, Integer> cache : Arrays.asList(lru, tinyLfu))
+        {
+            for (int round = 0; round < 5; round++)
+            {
+                for (int key = 0; key < MAXIMUM_SIZE / 2; key++)
+                {
+                    if (cache.get(key) == null)
+                    {
+                        cache.add(key, key);
+                    }
+                }
+            }
+            for (int key = MAXIMUM_SIZE; key < MAXIMUM_SIZE * 10; key++)
+            {
+                cache.add(key, key);
+            }
+        }
+
+        int lruKept = 0;
+        int tinyLfuKept = 0;
+        for (int key = 0; key < MAXIMUM_SIZE / 2; key++)
+        {
+            lruKept += lru.keyExists(key) ? 1 : 0;
+            tinyLfuKept += tinyLfu.keyExists(key) ? 1 : 0;
+        }
+        Assert.assertEquals("LRU kept popular keys through a scan", 0, lruKept);
+        Assert.assertEquals("TinyLFU lost popular keys during a scan", MAXIMUM_SIZE / 2, tinyLfuKept);
+    }
+
+    private static List<Integer> keysInOrder(CacheMap<Integer, ?> cache)
+    {
+        List<Integer> keys = new ArrayList<>();
+        for (KeyValuePair<Integer, ?> pair : cache)
+        {
+            keys.add(pair.getKey());
+        }
+        return keys;
+    }
+}
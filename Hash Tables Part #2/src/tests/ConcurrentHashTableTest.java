@@ -0,0 +1,234 @@
+package tests;
+
+import interfaces.ICollection;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import structures.ConcurrentHashTable;
+import structures.ConcurrentMap;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the ConcurrentHashTable<T> class, both on a single thread and while
+ * several threads update it at once.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class ConcurrentHashTableTest
+{
+    private static final int THREADS = 8;
+    private static final int ELEMENTS_PER_THREAD = 20000;
+
+    private ConcurrentHashTable<Integer> table;
+
+    /**
+     * Prepares each test before execution.
+     */
+    @Before
+    public void setup()
+    {
+        table = new ConcurrentHashTable<>();
+    }
+
+    /**
+     * Verifies the ICollection contract on a single thread.
+     */
+    @Test
+    public void singleThreadedContract()
+    {
+        for (int i = 0; i < 1000; i++)
+        {
+            table.add(i);
+            table.add(i);
+        }
+        Assert.assertEquals("size() is incorrect after adding duplicates", 1000, table.size());
+
+        for (int i = 0; i < 1000; i += 2)
+        {
+            table.remove(i);
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            Assert.assertEquals("contains(" + i + ") is incorrect after removals", i % 2 == 1, table.contains(i));
+        }
+        Assert.assertEquals("get() does not return the stored element", 1, table.get(1).intValue());
+
+        table.clear();
+        Assert.assertTrue("Table is not empty after clear()", table.isEmpty());
+    }
+
+    /**
+     * Verifies that removing a missing element throws an exception.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void removeMissingElementThrows()
+    {
+        table.remove(1);
+    }
+
+    /**
+     * Verifies that no elements are lost when many threads add at once,
+     * forcing several cooperative resizes.
+     */
+    @Test
+    public void concurrentAddsAreNotLost() throws Exception
+    {
+        runThreads(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++)
+            {
+                table.add(thread * ELEMENTS_PER_THREAD + i);
+            }
+        });
+
+        Assert.assertEquals("size() is incorrect after concurrent adds", THREADS * ELEMENTS_PER_THREAD, table.size());
+        for (int i = 0; i < THREADS * ELEMENTS_PER_THREAD; i++)
+        {
+            Assert.assertTrue("Element " + i + " lost during concurrent adds", table.contains(i));
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (int element : table)
+        {
+            Assert.assertTrue("Iterator returned a duplicate element (" + element + ")", seen.add(element));
+        }
+        Assert.assertEquals("Iterator did not return every element", THREADS * ELEMENTS_PER_THREAD, seen.size());
+    }
+
+    /**
+     * Verifies that half the threads can remove while the other half add,
+     * and that iterating during the updates does not throw.
+     */
+    @Test
+    public void concurrentAddsRemovesAndIteration() throws Exception
+    {
+        for (int i = 0; i < THREADS / 2 * ELEMENTS_PER_THREAD; i++)
+        {
+            table.add(-i - 1);
+        }
+
+        runThreads(thread -> {
+            if (thread % 2 == 0)
+            {
+                for (int i = 0; i < ELEMENTS_PER_THREAD; i++)
+                {
+                    table.add(thread * ELEMENTS_PER_THREAD + i);
+                }
+            }
+            else
+            {
+                int start = thread / 2 * ELEMENTS_PER_THREAD;
+                for (int i = start; i < start + ELEMENTS_PER_THREAD; i++)
+                {
+                    table.remove(-i - 1);
+                }
+
+                //iterating while other threads resize must not throw
+                Iterator<Integer> iterator = table.iterator();
+                while (iterator.hasNext())
+                {
+                    iterator.next();
+                }
+            }
+        });
+
+        Assert.assertEquals("size() is incorrect after concurrent adds and removes",
+                THREADS / 2 * ELEMENTS_PER_THREAD, table.size());
+        for (int i = 0; i < THREADS / 2 * ELEMENTS_PER_THREAD; i++)
+        {
+            Assert.assertFalse("Removed element " + (-i - 1) + " is still present", table.contains(-i - 1));
+        }
+    }
+
+    /**
+     * Verifies that concurrent writers of the same keys leave a single pair
+     * per key in a ConcurrentMap.
+     */
+    @Test
+    public void concurrentMapKeepsOnePairPerKey() throws Exception
+    {
+        ConcurrentMap<Integer, Integer> map = new ConcurrentMap<>();
+
+        runThreads(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++)
+            {
+                map.add(i, thread);
+            }
+        });
+
+        Assert.assertEquals("ConcurrentMap has duplicate keys", ELEMENTS_PER_THREAD, map.size());
+        for (int i = 0; i < ELEMENTS_PER_THREAD; i++)
+        {
+            Assert.assertNotNull("Key " + i + " missing from ConcurrentMap", map.get(i));
+        }
+    }
+
+    /**
+     * Verifies that values() keeps a value shared by several keys once per key.
+     */
+    @Test
+    public void concurrentMapValuesKeepDuplicates()
+    {
+        ConcurrentMap<String, Integer> map = new ConcurrentMap<>();
+        map.add("a", 1);
+        map.add("b", 1);
+        map.add("c", 2);
+
+        ICollection<Integer> values = map.values();
+        int iterated = 0;
+        for (int value : values)
+        {
+            iterated++;
+        }
+
+        Assert.assertEquals("values().size() does not match size()", map.size(), values.size());
+        Assert.assertEquals("values() lost a duplicate value", 3, iterated);
+        Assert.assertTrue("values() is missing a value", values.contains(2));
+    }
+
+    //runs the task on THREADS threads at once and rethrows the first failure
+    private void runThreads(ThreadTask task) throws Exception
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+
+        for (int i = 0; i < THREADS; i++)
+        {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                try
+                {
+                    start.await();
+                    task.run(thread);
+                }
+                catch (Throwable e)
+                {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[i].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        if (failure.get() != null)
+        {
+            throw new AssertionError("A thread failed", failure.get());
+        }
+    }
+
+    private interface ThreadTask
+    {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,167 @@
+package tests;
+
+import org.junit.Assert;
+import org.junit.Test;
+import structures.BloomFilter;
+import structures.CuckooFilter;
+import structures.Map;
+import structures.Set;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Tests the BloomFilter<T> and CuckooFilter<T> classes, and the Set<T> and
+ * Map<K, V> lookups that use a Bloom filter to reject misses.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FiltersTest
+{
+    private static final int ELEMENTS = 20_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    //the measured rate may exceed the configured one by this factor
+    private static final double RATE_TOLERANCE = 2;
+
+    /**
+     * Verifies that a Bloom filter finds every added element and that its
+     * false positive rate is close to the configured one.
+     */
+    @Test
+    public void bloomFilterRate()
+    {
+        BloomFilter<Integer> filter = new BloomFilter<>(ELEMENTS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ELEMENTS; i++)
+        {
+            filter.add(i);
+        }
+        for (int i = 0; i < ELEMENTS; i++)
+        {
+            Assert.assertTrue("An added element was rejected", filter.mightContain(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = ELEMENTS; i < ELEMENTS * 11; i++)
+        {
+            falsePositives += filter.mightContain(i) ? 1 : 0;
+        }
+        double rate = (double) falsePositives / (ELEMENTS * 10);
+        Assert.assertTrue("The false positive rate is too high (" + rate + ")",
+                rate < FALSE_POSITIVE_RATE * RATE_TOLERANCE);
+        Assert.assertEquals("rejections() does not count the misses",
+                ELEMENTS * 10 - falsePositives, filter.rejections());
+        Assert.assertEquals("queries() does not count the lookups", ELEMENTS * 11, filter.queries());
+    }
+
+    /**
+     * Verifies that a cuckoo filter finds every added element, forgets
+     * removed ones and keeps its false positive rate near the configured
+     * one.
+     */
+    @Test
+    public void cuckooFilterAddAndRemove()
+    {
+        CuckooFilter<Integer> filter = new CuckooFilter<>(ELEMENTS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ELEMENTS; i++)
+        {
+            Assert.assertTrue("The filter is full before its capacity", filter.add(i));
+        }
+        Assert.assertEquals("size() does not match the added elements", ELEMENTS, filter.size());
+
+        for (int i = 0; i < ELEMENTS; i += 2)
+        {
+            Assert.assertTrue("An added element could not be removed", filter.remove(i));
+        }
+        for (int i = 1; i < ELEMENTS; i += 2)
+        {
+            Assert.assertTrue("An element was lost when another was removed", filter.mightContain(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = ELEMENTS; i < ELEMENTS * 11; i++)
+        {
+            falsePositives += filter.mightContain(i) ? 1 : 0;
+        }
+        double rate = (double) falsePositives / (ELEMENTS * 10);
+        Assert.assertTrue("The false positive rate is too high (" + rate + ")",
+                rate < FALSE_POSITIVE_RATE * RATE_TOLERANCE);
+
+        filter.clear();
+        Assert.assertEquals("size() is not 0 after clear()", 0, filter.size());
+        Assert.assertFalse("An element is found after clear()", filter.mightContain(1));
+    }
+
+    /**
+     * Verifies that a cuckoo filter reports being full instead of losing
+     * elements.
+     */
+    @Test
+    public void cuckooFilterWhenFull()
+    {
+        CuckooFilter<Integer> filter = new CuckooFilter<>(100, FALSE_POSITIVE_RATE);
+        int added = 0;
+        while (filter.add(added))
+        {
+            added++;
+        }
+        Assert.assertTrue("The filter holds fewer elements than its capacity", added >= 100);
+        for (int i = 0; i < added; i++)
+        {
+            Assert.assertTrue("An element was lost when the filter filled up", filter.mightContain(i));
+        }
+    }
+
+    /**
+     * Verifies that a Set and a Map with a lookup filter give the same
+     * answers as java.util.HashSet while elements are added and removed
+     * past the size the filter was built for, and that misses are rejected
+     * by the filter.
+     */
+    @Test
+    public void filteredLookupsMatchHashSet()
+    {
+        Random random = new Random(3);
+        Set<Integer> set = new Set<>(100, FALSE_POSITIVE_RATE);
+        Map<Integer, Integer> map = new Map<>(100, FALSE_POSITIVE_RATE);
+        HashSet<Integer> expected = new HashSet<>();
+        for (int i = 0; i < ELEMENTS; i++)
+        {
+            int element = random.nextInt(ELEMENTS / 4);
+            if (random.nextInt(3) == 0)
+            {
+                if (expected.remove(element))
+                {
+                    set.remove(element);
+                }
+                map.remove(element);
+            }
+            else if (random.nextBoolean())
+            {
+                expected.add(element);
+                set.add(element);
+                map.add(element, element);
+            }
+            else
+            {
+                expected.add(element);
+                set.add(element);
+                map.merge(element, 1, Integer::sum);
+            }
+        }
+
+        for (int i = 0; i < ELEMENTS; i++)
+        {
+            Assert.assertEquals("Set.contains(" + i + ") is incorrect", expected.contains(i), set.contains(i));
+            Assert.assertEquals("Map.keyExists(" + i + ") is incorrect", expected.contains(i), map.keyExists(i));
+        }
+        Assert.assertTrue("The set's filter rejected no misses", set.lookupFilter().rejections() > 0);
+        Assert.assertTrue("The map's filter rejected no misses", map.lookupFilter().rejections() > 0);
+
+        set.clear();
+        map.clear();
+        Assert.assertFalse("An element is found after clear()", set.contains(1));
+        Assert.assertFalse("A key is found after clear()", map.keyExists(1));
+    }
+}
@@ -0,0 +1,203 @@
+package tests;
+
+import helpers.KeyValuePair;
+import org.junit.Assert;
+import org.junit.Test;
+import structures.FrozenMap;
+import structures.FrozenSet;
+import structures.Map;
+import structures.Set;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Tests the FrozenSet<T> and FrozenMap<K, V> classes built by Set.freeze()
+ * and Map.freeze().
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class FrozenCollectionsTest
+{
+    private static final int[] SIZES = {0, 1, 2, 5, 1000, 50_000};
+    private static final int SHARED_HASH_KEYS = 200;
+
+    /**
+     * Verifies that a frozen set finds every element of the set it was built
+     * from and nothing else, for sizes from empty to large.
+     */
+    @Test
+    public void frozenSetMatchesSource()
+    {
+        for (int size : SIZES)
+        {
+            Random random = new Random(size);
+            Set<Integer> set = new Set<>();
+            HashSet<Integer> expected = new HashSet<>();
+            while (expected.size() < size)
+            {
+                int element = random.nextInt();
+                set.add(element);
+                expected.add(element);
+            }
+
+            FrozenSet<Integer> frozen = set.freeze();
+            Assert.assertEquals("size() does not match the source (" + size + ")", size, frozen.size());
+            for (int element : expected)
+            {
+                Assert.assertTrue("contains(" + element + ") is false", frozen.contains(element));
+                Assert.assertEquals("get() does not return the element", (Integer) element, frozen.get(element));
+            }
+            for (int i = 0; i < size; i++)
+            {
+                int element = random.nextInt();
+                Assert.assertEquals("contains(" + element + ") does not match the source",
+                        expected.contains(element), frozen.contains(element));
+            }
+
+            HashSet<Integer> iterated = new HashSet<>();
+            for (int element : frozen)
+            {
+                Assert.assertTrue("The iterator returned an element twice", iterated.add(element));
+            }
+            Assert.assertEquals("The iterator does not return every element", expected, iterated);
+        }
+    }
+
+    /**
+     * Verifies that elements sharing a hash code are all found, since the
+     * perfect hash cannot tell them apart.
+     */
+    @Test
+    public void sharedHashCodes()
+    {
+        Set<SameHashKey> set = new Set<>();
+        for (int i = 0; i < SHARED_HASH_KEYS; i++)
+        {
+            set.add(new SameHashKey(i, i % 3));
+        }
+
+        FrozenSet<SameHashKey> frozen = set.freeze();
+        Assert.assertEquals("size() does not match the source", SHARED_HASH_KEYS, frozen.size());
+        for (int i = 0; i < SHARED_HASH_KEYS; i++)
+        {
+            Assert.assertTrue("An element with a shared hash code is missing",
+                    frozen.contains(new SameHashKey(i, i % 3)));
+        }
+        Assert.assertFalse("A missing element with a shared hash code is found",
+                frozen.contains(new SameHashKey(SHARED_HASH_KEYS, 0)));
+    }
+
+    /**
+     * Verifies that a frozen map returns the same values as the map it was
+     * built from, including null values and missing keys.
+     */
+    @Test
+    public void frozenMapMatchesSource()
+    {
+        for (int size : SIZES)
+        {
+            Map<String, Integer> map = new Map<>();
+            HashMap<String, Integer> expected = new HashMap<>();
+            for (int i = 0; i < size; i++)
+            {
+                Integer value = i % 10 == 0 ? null : i;
+                map.add("key" + i, value);
+                expected.put("key" + i, value);
+            }
+
+            FrozenMap<String, Integer> frozen = map.freeze();
+            Assert.assertEquals("size() does not match the source (" + size + ")", size, frozen.size());
+            for (int i = 0; i < size + 10; i++)
+            {
+                String key = "key" + i;
+                Assert.assertEquals("get(" + key + ") does not match the source", expected.get(key), frozen.get(key));
+                Assert.assertEquals("keyExists(" + key + ") does not match the source",
+                        expected.containsKey(key), frozen.keyExists(key));
+            }
+
+            HashMap<String, Integer> iterated = new HashMap<>();
+            for (KeyValuePair<String, Integer> pair : frozen)
+            {
+                iterated.put(pair.getKey(), pair.getValue());
+            }
+            Assert.assertEquals("The iterator does not return every pair", expected, iterated);
+            Assert.assertEquals("keyset() does not hold every key", size, frozen.keyset().size());
+            Assert.assertEquals("valueExists() does not find a null value", size > 0, frozen.valueExists(null));
+        }
+    }
+
+    /**
+     * Verifies that frozen collections reject changes and still support the
+     * set operations.
+     */
+    @Test
+    public void frozenCollectionsCannotChange()
+    {
+        Set<Integer> set = new Set<>();
+        Map<Integer, Integer> map = new Map<>();
+        for (int i = 0; i < 10; i++)
+        {
+            set.add(i);
+            map.add(i, i);
+        }
+        FrozenSet<Integer> frozenSet = set.freeze();
+        FrozenMap<Integer, Integer> frozenMap = map.freeze();
+
+        assertUnsupported(() -> frozenSet.add(10), "add() on a frozen set");
+        assertUnsupported(() -> frozenSet.remove(1), "remove() on a frozen set");
+        assertUnsupported(frozenSet::clear, "clear() on a frozen set");
+        assertUnsupported(() -> frozenMap.add(10, 10), "add() on a frozen map");
+        assertUnsupported(() -> frozenMap.remove(1), "remove() on a frozen map");
+        assertUnsupported(() -> frozenMap.keyset().remove(1), "remove() on a frozen map's keyset");
+
+        Set<Integer> other = new Set<>();
+        other.add(5);
+        other.add(20);
+        Assert.assertEquals("union() is incorrect", 11, frozenSet.union(other).size());
+        Assert.assertEquals("intersects() is incorrect", 1, frozenSet.intersects(other).size());
+        Assert.assertEquals("difference() is incorrect", 9, frozenSet.difference(other).size());
+        Assert.assertFalse("isSubset() is incorrect", frozenSet.isSubset(other));
+        Assert.assertFalse("isDisjoint() is incorrect", frozenSet.isDisjoint(other));
+    }
+
+    private static void assertUnsupported(Runnable change, String description)
+    {
+        try
+        {
+            change.run();
+            Assert.fail(description + " did not throw");
+        }
+        catch (UnsupportedOperationException expected)
+        {
+            //the change was rejected
+        }
+    }
+
+    //a key whose hash code is shared by every key in the same group
+    private static class SameHashKey
+    {
+        private final int value;
+        private final int group;
+
+        SameHashKey(int value, int group)
+        {
+            this.value = value;
+            this.group = group;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof SameHashKey && ((SameHashKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return group;
+        }
+    }
+}
@@ -0,0 +1,1014 @@
+package tests;
+
+import helpers.KeyValuePair;
+import org.junit.Assert;
+import org.junit.Test;
+import structures.HashTable;
+import structures.HashTable.IndexingMode;
+import structures.HashTableStatistics;
+import structures.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the HashTable<T> class in each of its configurations.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class HashTableTest
+{
+    private static final int RANDOM_OPERATIONS = 50000;
+    private static final int RANDOM_RANGE = 2000;
+    private static final int RESIZING_SIZE = 2600;
+
+    /**
+     * Verifies that Integer.MIN_VALUE (whose Math.abs() is negative) can be
+     * stored in every indexing mode.
+     */
+    @Test
+    public void minimumHashCodeIsIndexable()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            HashTable<Integer> table = new HashTable<>(mode);
+            table.add(Integer.MIN_VALUE);
+
+            Assert.assertTrue("Integer.MIN_VALUE not found in " + mode + " mode",
+                    table.contains(Integer.MIN_VALUE));
+            table.remove(Integer.MIN_VALUE);
+            Assert.assertTrue("Integer.MIN_VALUE not removed in " + mode + " mode", table.isEmpty());
+        }
+    }
+
+    /**
+     * Verifies that get() does not change the chain it searches.
+     */
+    @Test
+    public void getLeavesChainIntact()
+    {
+        HashTable<Integer> table = new HashTable<>();
+        for (int i = 0; i < 20; i++)
+        {
+            table.add(i);
+        }
+
+        //every element shares a bucket with others at this size
+        for (int i = 0; i < 20; i++)
+        {
+            Assert.assertEquals("get(" + i + ") returned the wrong element", i, table.get(i).intValue());
+        }
+        for (int i = 0; i < 20; i++)
+        {
+            Assert.assertTrue("Element " + i + " lost after calling get()", table.contains(i));
+        }
+        Assert.assertNull("get() of a missing element does not return null", table.get(100));
+    }
+
+    /**
+     * Runs random adds and removes against java.util.HashSet in every mode.
+     */
+    @Test
+    public void matchesHashSetUnderRandomOperations()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            verifyAgainstHashSet(new HashTable<>(mode), mode.toString());
+        }
+    }
+
+    /**
+     * Runs random adds and removes against java.util.HashSet with incremental
+     * resizing, which keeps elements in two arrays while a resize runs.
+     */
+    @Test
+    public void incrementalResizeMatchesHashSet()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            verifyAgainstHashSet(new HashTable<>(mode, true), mode + ", incremental");
+        }
+    }
+
+    /**
+     * Verifies that elements can be found, removed and iterated while an
+     * incremental resize is still in progress.
+     */
+    @Test
+    public void lookupsSpanBothArraysDuringResize()
+    {
+        HashTable<Integer> table = new HashTable<>(IndexingMode.POWER_OF_TWO, true);
+        int added = 0;
+        while (!table.isResizing())
+        {
+            table.add(added);
+            added++;
+        }
+
+        for (int i = 0; i < added; i++)
+        {
+            Assert.assertTrue("Element " + i + " not found during a resize", table.contains(i));
+        }
+
+        int seen = 0;
+        for (int ignored : table)
+        {
+            seen++;
+        }
+        Assert.assertEquals("Iterator missed elements during a resize", added, seen);
+
+        table.remove(0);
+        Assert.assertFalse("Element 0 found after being removed during a resize", table.contains(0));
+        Assert.assertEquals("Size is incorrect after removing during a resize", added - 1, table.size());
+    }
+
+    /**
+     * Verifies that addAll() skips duplicates already in the table and
+     * repeated within the source.
+     */
+    @Test
+    public void addAllIgnoresDuplicates()
+    {
+        HashTable<Integer> table = new HashTable<>(4);
+        table.add(1);
+        table.add(2);
+
+        table.addAll(Arrays.asList(2, 3, 3, 4));
+
+        Assert.assertEquals("size() is incorrect after addAll() with duplicates", 4, table.size());
+        for (int i = 1; i <= 4; i++)
+        {
+            Assert.assertTrue("Element " + i + " missing after addAll()", table.contains(i));
+        }
+    }
+
+    /**
+     * Verifies that copying a set into an empty presized table keeps every element.
+     */
+    @Test
+    public void addAllFromSetIntoEmptyTable()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            Set<Integer> source = new Set<>();
+            for (int i = 0; i < RANDOM_RANGE; i++)
+            {
+                source.add(i);
+            }
+
+            HashTable<Integer> table = new HashTable<>(0, mode, false);
+            table.addAll(source);
+
+            Assert.assertEquals("size() is incorrect after addAll() (" + mode + ")", RANDOM_RANGE, table.size());
+            for (int i = 0; i < RANDOM_RANGE; i++)
+            {
+                Assert.assertTrue("Element " + i + " missing after addAll() (" + mode + ")", table.contains(i));
+            }
+
+            //the table must still grow normally afterwards
+            table.add(RANDOM_RANGE);
+            Assert.assertTrue("Cannot add after addAll() (" + mode + ")", table.contains(RANDOM_RANGE));
+        }
+    }
+
+    /**
+     * Runs random adds and removes with keys that fall into only a few
+     * buckets, so chains are converted to trees and back again.
+     */
+    @Test
+    public void collidingKeysMatchHashSet()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            for (boolean comparable : new boolean[] {true, false})
+            {
+                for (boolean incremental : new boolean[] {true, false})
+                {
+                    verifyCollidingKeys(new HashTable<>(mode, incremental), comparable,
+                            mode + (comparable ? ", comparable" : ", not comparable") +
+                                    (incremental ? ", incremental" : ""));
+                }
+            }
+        }
+    }
+
+    private void verifyCollidingKeys(HashTable<CollidingKey> table, boolean comparable, String description)
+    {
+        HashSet<CollidingKey> expected = new HashSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            CollidingKey key = new CollidingKey(random.nextInt(RANDOM_RANGE / 4), comparable);
+            if (random.nextInt(2) == 0 && expected.contains(key))
+            {
+                table.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                table.add(key);
+                expected.add(key);
+            }
+
+            if (i % 1000 == 0)
+            {
+                Assert.assertEquals("size() does not match java.util.HashSet (" + description + ")",
+                        expected.size(), table.size());
+            }
+        }
+
+        for (int i = 0; i < RANDOM_RANGE / 4; i++)
+        {
+            CollidingKey key = new CollidingKey(i, comparable);
+            Assert.assertEquals("contains(" + i + ") does not match java.util.HashSet (" + description + ")",
+                    expected.contains(key), table.contains(key));
+        }
+
+        HashSet<CollidingKey> seen = new HashSet<>();
+        for (CollidingKey key : table)
+        {
+            Assert.assertTrue("Iterator returned a duplicate element (" + description + ")", seen.add(key));
+        }
+        Assert.assertEquals("Iterator did not return every element (" + description + ")", expected, seen);
+
+        //removing everything must take every tree back down to an empty bucket
+        for (CollidingKey key : seen)
+        {
+            table.remove(key);
+        }
+        Assert.assertTrue("Table is not empty after removing every element (" + description + ")",
+                table.isEmpty());
+        Assert.assertFalse("Iterator has elements after removing every element (" + description + ")",
+                table.iterator().hasNext());
+    }
+
+    /**
+     * Runs random put() and compute() calls with colliding keys, in every
+     * mode, so updates hit lists, trees and the old array during a resize.
+     */
+    @Test
+    public void computeMatchesHashSet()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            for (boolean incremental : new boolean[] {true, false})
+            {
+                String description = mode + (incremental ? ", incremental" : "");
+                HashTable<CollidingKey> table = new HashTable<>(mode, incremental);
+                HashSet<CollidingKey> expected = new HashSet<>();
+                Random random = new Random(11);
+
+                for (int i = 0; i < RANDOM_OPERATIONS; i++)
+                {
+                    CollidingKey key = new CollidingKey(random.nextInt(RANDOM_RANGE / 4), true);
+                    switch (random.nextInt(3))
+                    {
+                        case 0:
+                            Assert.assertEquals("put() returned the wrong previous element (" + description + ")",
+                                    expected.contains(key), table.put(key) != null);
+                            expected.add(key);
+                            break;
+                        case 1:
+                            //remove the key if it is there, otherwise add it
+                            boolean present = expected.contains(key);
+                            CollidingKey result = table.compute(key, existing -> existing == null ? key : null);
+                            Assert.assertEquals("compute() saw the wrong stored element (" + description + ")",
+                                    present, result == null);
+                            if (present)
+                            {
+                                expected.remove(key);
+                            }
+                            else
+                            {
+                                expected.add(key);
+                            }
+                            break;
+                        default:
+                            table.compute(key, existing -> existing);
+                            break;
+                    }
+                }
+
+                Assert.assertEquals("size() does not match java.util.HashSet (" + description + ")",
+                        expected.size(), table.size());
+                HashSet<CollidingKey> seen = new HashSet<>();
+                for (CollidingKey key : table)
+                {
+                    Assert.assertTrue("Iterator returned a duplicate element (" + description + ")", seen.add(key));
+                }
+                Assert.assertEquals("Iterator did not return every element (" + description + ")", expected, seen);
+            }
+        }
+    }
+
+    /**
+     * Verifies that put() replaces the stored element that equals the new one.
+     */
+    @Test
+    public void putReplacesStoredElement()
+    {
+        HashTable<KeyValuePair<String, Integer>> table = new HashTable<>();
+        Assert.assertNull("put() of a new element did not return null", table.put(new KeyValuePair<>("a", 1)));
+
+        KeyValuePair<String, Integer> previous = table.put(new KeyValuePair<>("a", 2));
+        Assert.assertEquals("put() did not return the replaced element", 1, previous.getValue().intValue());
+        Assert.assertEquals("size() changed when an element was replaced", 1, table.size());
+        Assert.assertEquals("put() did not store the new element",
+                2, table.get(new KeyValuePair<>("a", null)).getValue().intValue());
+    }
+
+    /**
+     * Splits the spliterator of a table that is part way through an
+     * incremental resize down to single buckets and verifies that the parts
+     * cover every element exactly once.
+     */
+    @Test
+    public void spliteratorCoversEveryElementOnce()
+    {
+        //2600 elements is just past the resize at 2560, so most buckets are still in the old array
+        HashTable<Integer> table = new HashTable<>(IndexingMode.POWER_OF_TWO, true);
+        for (int i = 0; i < RESIZING_SIZE; i++)
+        {
+            table.add(i);
+        }
+        Assert.assertTrue("Table should still be resizing during this test", table.isResizing());
+
+        Spliterator<Integer> whole = table.spliterator();
+        Assert.assertTrue("The whole table spliterator should be SIZED",
+                whole.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue("The spliterator should be DISTINCT", whole.hasCharacteristics(Spliterator.DISTINCT));
+        Assert.assertEquals("estimateSize() of the whole table is not its size",
+                RESIZING_SIZE, whole.estimateSize());
+
+        List<Spliterator<Integer>> parts = new ArrayList<>();
+        parts.add(whole);
+        for (int i = 0; i < parts.size(); i++)
+        {
+            Spliterator<Integer> prefix;
+            while ((prefix = parts.get(i).trySplit()) != null)
+            {
+                Assert.assertFalse("A split spliterator cannot know its exact size",
+                        prefix.hasCharacteristics(Spliterator.SIZED));
+                parts.add(prefix);
+            }
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (Spliterator<Integer> part : parts)
+        {
+            //mix single steps with bulk traversal
+            part.tryAdvance(element -> Assert.assertTrue("Element returned twice (" + element + ")", seen.add(element)));
+            part.forEachRemaining(element -> Assert.assertTrue("Element returned twice (" + element + ")",
+                    seen.add(element)));
+        }
+        Assert.assertTrue("The spliterator did not split", parts.size() > 1);
+        Assert.assertEquals("Spliterators did not cover every element", RESIZING_SIZE, seen.size());
+    }
+
+    /**
+     * Verifies that sequential and parallel streams see the same elements.
+     */
+    @Test
+    public void streamsMatchElements()
+    {
+        HashTable<Integer> table = new HashTable<>();
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            table.add(i);
+        }
+
+        long expected = (long) RANDOM_OPERATIONS * (RANDOM_OPERATIONS - 1) / 2;
+        Assert.assertEquals("stream() sum is incorrect", expected, table.stream().mapToLong(i -> i).sum());
+        Assert.assertEquals("parallelStream() sum is incorrect",
+                expected, table.parallelStream().mapToLong(i -> i).sum());
+        Assert.assertEquals("parallelStream() returned duplicates or missed elements",
+                RANDOM_OPERATIONS, table.parallelStream().collect(Collectors.toSet()).size());
+    }
+
+    /**
+     * Verifies that forEach() reports a change made by its action.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void forEachDetectsChanges()
+    {
+        HashTable<Integer> table = new HashTable<>();
+        table.add(1);
+        table.add(2);
+        table.forEach(element -> table.add(element + 10));
+    }
+
+    /**
+     * Verifies that removing most elements shrinks the table, in every
+     * mode, and that the remaining elements can still be found.
+     */
+    @Test
+    public void removalsShrinkTable()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            for (boolean incremental : new boolean[]{false, true})
+            {
+                String description = mode + (incremental ? ", incremental" : "");
+                HashTable<Integer> table = new HashTable<>(mode, incremental);
+                for (int i = 0; i < RESIZING_SIZE * 10; i++)
+                {
+                    table.add(i);
+                }
+                int grown = table.capacity();
+                for (int i = 10; i < RESIZING_SIZE * 10; i++)
+                {
+                    table.remove(i);
+                }
+                //incremental shrinks only move a few buckets per update, so keep updating until they finish
+                do
+                {
+                    table.add(-1);
+                    table.remove(-1);
+                }
+                while (table.isResizing());
+
+                Assert.assertTrue("The table did not shrink (" + description + ")",
+                        table.capacity() < grown / 100);
+                for (int i = 0; i < 10; i++)
+                {
+                    Assert.assertTrue("Element " + i + " lost while shrinking (" + description + ")",
+                            table.contains(i));
+                }
+                Assert.assertEquals("size() is incorrect after shrinking (" + description + ")", 10, table.size());
+            }
+        }
+    }
+
+    /**
+     * Verifies that a bulk load does not stop a table, or the result of a
+     * set operation, from shrinking once almost everything is removed.
+     */
+    @Test
+    public void bulkLoadedTablesShrink()
+    {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < RESIZING_SIZE * 10; i++)
+        {
+            elements.add(i);
+        }
+
+        HashTable<Integer> table = new HashTable<>();
+        table.addAll(elements);
+        int loaded = table.capacity();
+        for (int i = 10; i < elements.size(); i++)
+        {
+            table.remove(i);
+        }
+        Assert.assertTrue("A table filled by addAll() did not shrink", table.capacity() < loaded / 100);
+
+        Set<Integer> first = new Set<>();
+        Set<Integer> second = new Set<>();
+        first.addAll(elements.subList(0, elements.size() / 2));
+        second.addAll(elements.subList(elements.size() / 2, elements.size()));
+        Set<Integer> union = (Set<Integer>) first.union(second);
+        int joined = union.statistics().buckets();
+        for (int i = 10; i < elements.size(); i++)
+        {
+            union.remove(i);
+        }
+        Assert.assertTrue("The result of union() did not shrink", union.statistics().buckets() < joined / 100);
+        Assert.assertEquals("Elements were lost while shrinking", 10, union.size());
+    }
+
+    /**
+     * Verifies that a table never shrinks below its requested capacity by
+     * itself, but does after trimToSize(), and that clear(true) keeps the
+     * capacity while clear() goes back to the requested one.
+     */
+    @Test
+    public void trimToSizeAndClearKeepingCapacity()
+    {
+        HashTable<Integer> table = new HashTable<>(RESIZING_SIZE);
+        int requested = table.capacity();
+        for (int i = 0; i < RESIZING_SIZE * 4; i++)
+        {
+            table.add(i);
+        }
+        for (int i = 1; i < RESIZING_SIZE * 4; i++)
+        {
+            table.remove(i);
+        }
+        Assert.assertEquals("The table shrank below its requested capacity", requested, table.capacity());
+
+        table.trimToSize();
+        Assert.assertTrue("trimToSize() did not shrink the table", table.capacity() < requested);
+        Assert.assertTrue("trimToSize() lost an element", table.contains(0));
+
+        for (int i = 0; i < RESIZING_SIZE * 4; i++)
+        {
+            table.add(i);
+        }
+        int grown = table.capacity();
+        table.clear(true);
+        Assert.assertTrue("clear(true) did not empty the table", table.isEmpty());
+        Assert.assertFalse("clear(true) left an element behind", table.contains(0));
+        Assert.assertEquals("clear(true) did not keep the capacity", grown, table.capacity());
+
+        table.add(1);
+        table.clear();
+        Assert.assertFalse("clear() left an element behind", table.contains(1));
+        Assert.assertTrue("clear() did not release the capacity", table.capacity() < grown);
+    }
+
+    /**
+     * Verifies that Iterator.remove() and removeIf() remove exactly the
+     * matching elements in every mode, including while an incremental
+     * resize is running, and keep the table's size right.
+     */
+    @Test
+    public void iteratorRemoveAndRemoveIf()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            for (boolean incremental : new boolean[]{false, true})
+            {
+                String description = mode + (incremental ? ", incremental" : "");
+                HashTable<Integer> table = new HashTable<>(mode, incremental);
+                HashSet<Integer> expected = new HashSet<>();
+                for (int i = 0; i < RESIZING_SIZE; i++)
+                {
+                    table.add(i);
+                    expected.add(i);
+                }
+
+                Iterator<Integer> iterator = table.iterator();
+                while (iterator.hasNext())
+                {
+                    if (iterator.next() % 2 == 0)
+                    {
+                        iterator.remove();
+                    }
+                }
+                expected.removeIf(element -> element % 2 == 0);
+                verifySameElements(table, expected, "after Iterator.remove(), " + description);
+
+                Assert.assertTrue("removeIf() did not report a removal (" + description + ")",
+                        table.removeIf(element -> element % 3 == 0));
+                Assert.assertFalse("removeIf() reported a removal that did not happen (" + description + ")",
+                        table.removeIf(element -> element % 3 == 0));
+                expected.removeIf(element -> element % 3 == 0);
+                verifySameElements(table, expected, "after removeIf(), " + description);
+            }
+        }
+    }
+
+    /**
+     * Verifies that Iterator.remove() and removeIf() work on buckets that
+     * have been turned into trees.
+     */
+    @Test
+    public void removalsFromTreeBuckets()
+    {
+        for (boolean comparable : new boolean[]{false, true})
+        {
+            HashTable<CollidingKey> table = new HashTable<>();
+            for (int i = 0; i < 60; i++)
+            {
+                table.add(new CollidingKey(i, comparable));
+            }
+
+            Iterator<CollidingKey> iterator = table.iterator();
+            while (iterator.hasNext())
+            {
+                if (iterator.next().value % 2 == 0)
+                {
+                    iterator.remove();
+                }
+            }
+            Assert.assertEquals("Iterator.remove() left the wrong number of elements (comparable " + comparable + ")",
+                    30, table.size());
+
+            table.removeIf(key -> key.value % 3 == 0);
+            for (int i = 0; i < 60; i++)
+            {
+                Assert.assertEquals("Element " + i + " is in the wrong state after removals (comparable "
+                        + comparable + ")", i % 2 != 0 && i % 3 != 0, table.contains(new CollidingKey(i, comparable)));
+            }
+            Assert.assertEquals("removeIf() left the wrong number of elements (comparable " + comparable + ")",
+                    20, table.size());
+
+            table.removeIf(key -> true);
+            Assert.assertTrue("removeIf() did not empty the table", table.isEmpty());
+            Assert.assertFalse("The iterator finds elements in an empty table", table.iterator().hasNext());
+        }
+    }
+
+    /**
+     * Verifies that tree buckets shrunk by Iterator.remove() are turned back
+     * into lists, both when the walk is still inside the bucket and when it
+     * has already moved past it.
+     */
+    @Test
+    public void iteratorRemoveUntreeifiesBuckets()
+    {
+        //three trees of 20; each bucket is walked newest first, so 0, 1 and 2 come last
+        HashTable<CollidingKey> table = new HashTable<>();
+        for (int i = 0; i < 60; i++)
+        {
+            table.add(new CollidingKey(i, true));
+        }
+        removeThroughIterator(table, key -> key.value >= 15 || key.value < 3);
+        Assert.assertFalse("A shrunk tree bucket was not turned back into a list: " + table,
+                table.toString().contains("TreeBin"));
+        Assert.assertEquals("Iterator.remove() left the wrong number of elements", 12, table.size());
+        for (int i = 0; i < 60; i++)
+        {
+            Assert.assertEquals("Element " + i + " is in the wrong state after removals",
+                    i >= 3 && i < 15, table.contains(new CollidingKey(i, true)));
+        }
+
+        //three trees of 7, so removing the last element walked in each bucket reaches the threshold
+        table = new HashTable<>();
+        for (int i = 0; i < 24; i++)
+        {
+            table.add(new CollidingKey(i, true));
+        }
+        for (int i = 21; i < 24; i++)
+        {
+            table.remove(new CollidingKey(i, true));
+        }
+        removeThroughIterator(table, key -> key.value < 3);
+        Assert.assertFalse("A tree bucket the iterator had left was not turned back into a list: " + table,
+                table.toString().contains("TreeBin"));
+        Assert.assertEquals("Iterator.remove() left the wrong number of elements", 18, table.size());
+    }
+
+    private static <T> void removeThroughIterator(HashTable<T> table, Predicate<T> predicate)
+    {
+        Iterator<T> iterator = table.iterator();
+        while (iterator.hasNext())
+        {
+            if (predicate.test(iterator.next()))
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Verifies that a removeIf() predicate that throws part way through
+     * leaves the size matching the elements still in the table, for chains
+     * and for tree buckets.
+     */
+    @Test
+    public void removeIfKeepsSizeWhenPredicateThrows()
+    {
+        HashTable<Integer> chains = new HashTable<>();
+        HashTable<CollidingKey> trees = new HashTable<>();
+        for (int i = 0; i < 100; i++)
+        {
+            chains.add(i);
+            trees.add(new CollidingKey(i, true));
+        }
+
+        verifyThrowingRemoveIf(chains, "chains");
+        verifyThrowingRemoveIf(trees, "trees");
+    }
+
+    //removes every 25th element tested, then throws after 50 have been tested
+    private static <T> void verifyThrowingRemoveIf(HashTable<T> table, String description)
+    {
+        int[] tested = new int[1];
+        try
+        {
+            table.removeIf(element -> {
+                if (++tested[0] > 50)
+                {
+                    throw new IllegalStateException("predicate failed");
+                }
+                return tested[0] % 25 == 0;
+            });
+            Assert.fail("The predicate's exception was not thrown (" + description + ")");
+        }
+        catch (IllegalStateException expected)
+        {
+            //expected
+        }
+
+        int iterated = 0;
+        for (T element : table)
+        {
+            Assert.assertTrue("An iterated element cannot be found (" + description + ")", table.contains(element));
+            iterated++;
+        }
+        Assert.assertEquals("size() does not match the iterated elements (" + description + ")",
+                iterated, table.size());
+        Assert.assertEquals("The elements removed before the exception were not removed (" + description + ")",
+                98, table.size());
+    }
+
+    /**
+     * Verifies that Iterator.remove() must follow next(), and that other
+     * iterators notice the removal.
+     */
+    @Test
+    public void iteratorRemoveRules()
+    {
+        HashTable<Integer> table = new HashTable<>();
+        table.add(1);
+        table.add(2);
+
+        Iterator<Integer> iterator = table.iterator();
+        Iterator<Integer> other = table.iterator();
+        try
+        {
+            iterator.remove();
+            Assert.fail("remove() before next() did not throw IllegalStateException");
+        }
+        catch (IllegalStateException expected)
+        {
+            //expected
+        }
+
+        iterator.next();
+        iterator.remove();
+        try
+        {
+            iterator.remove();
+            Assert.fail("A second remove() did not throw IllegalStateException");
+        }
+        catch (IllegalStateException expected)
+        {
+            //expected
+        }
+        Assert.assertTrue("The iterator cannot carry on after remove()", iterator.hasNext());
+        iterator.next();
+
+        try
+        {
+            other.next();
+            Assert.fail("Another iterator did not notice the removal");
+        }
+        catch (ConcurrentModificationException expected)
+        {
+            //expected
+        }
+    }
+
+    private static void verifySameElements(HashTable<Integer> table, HashSet<Integer> expected, String description)
+    {
+        Assert.assertEquals("size() is incorrect " + description, expected.size(), table.size());
+        HashSet<Integer> seen = new HashSet<>();
+        for (int element : table)
+        {
+            seen.add(element);
+        }
+        Assert.assertEquals("The iterator returns the wrong elements " + description, expected, seen);
+        for (int element : expected)
+        {
+            Assert.assertTrue("contains(" + element + ") is false " + description, table.contains(element));
+        }
+    }
+
+    /**
+     * Verifies that each element is hashed once, when it is added, and never
+     * again while the table grows or migrates incrementally, and that
+     * lookups compare the cached hashes before calling equals().
+     */
+    @Test
+    public void hashesAreCachedInNodes()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            for (boolean incremental : new boolean[]{false, true})
+            {
+                String description = mode + (incremental ? ", incremental" : "");
+                HashTable<CountingKey> table = new HashTable<>(mode, incremental);
+                CountingKey[] keys = new CountingKey[RESIZING_SIZE];
+                for (int i = 0; i < keys.length; i++)
+                {
+                    keys[i] = new CountingKey(i);
+                    table.add(keys[i]);
+                }
+                table.ensureCapacity(RESIZING_SIZE * 10);
+
+                for (CountingKey key : keys)
+                {
+                    Assert.assertEquals("hashCode() was called again while resizing (" + description + ")",
+                            1, key.hashCodes);
+                    Assert.assertEquals("equals() was called on keys with different hashes (" + description + ")",
+                            0, key.equalsCalls);
+                }
+
+                for (int i = 0; i < keys.length; i++)
+                {
+                    Assert.assertTrue("Element " + i + " is missing (" + description + ")",
+                            table.contains(new CountingKey(i)));
+                }
+                for (CountingKey key : keys)
+                {
+                    Assert.assertEquals("hashCode() of a stored key was called by a lookup (" + description + ")",
+                            1, key.hashCodes);
+                    Assert.assertEquals("equals() was not limited to the key with the same hash (" + description + ")",
+                            1, key.equalsCalls);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies the chain lengths, probe counts and resize counts reported
+     * by statistics(), for chains and for a bucket turned into a tree.
+     */
+    @Test
+    public void statisticsDescribeTable()
+    {
+        //modulo mode uses the hash codes as they are, so each Integer's bucket is known
+        HashTable<Integer> table = new HashTable<>(IndexingMode.MODULO);
+        for (int i = 0; i < 15; i++)
+        {
+            table.add(i);
+        }
+
+        HashTableStatistics statistics = table.statistics();
+        Assert.assertArrayEquals("The chain length histogram is incorrect",
+                new long[]{0, 5, 5}, statistics.chainLengthHistogram());
+        Assert.assertEquals("loadFactor() is incorrect", 1.5, statistics.loadFactor(), 1e-9);
+        Assert.assertEquals("Lookups were counted before statistics were enabled", 0, statistics.lookups());
+        Assert.assertTrue("The memory estimate does not cover the nodes",
+                statistics.estimatedBytesPerElement() > 24);
+
+        table.enableStatistics();
+        table.contains(20);
+        table.contains(7);
+        statistics = table.statistics();
+        Assert.assertEquals("lookups() is incorrect", 2, statistics.lookups());
+        Assert.assertEquals("averageProbeLength() is incorrect", 1.5, statistics.averageProbeLength(), 1e-9);
+        Assert.assertEquals("maxProbeLength() is incorrect", 2, statistics.maxProbeLength());
+
+        for (int i = 15; i <= 25; i++)
+        {
+            table.add(i);
+        }
+        statistics = table.statistics();
+        Assert.assertEquals("resizes() is incorrect", 1, statistics.resizes());
+        Assert.assertTrue("The resize time was not recorded", statistics.resizeNanos() > 0);
+        Assert.assertEquals("buckets() is incorrect after resizing", 15, statistics.buckets());
+
+        table.resetStatistics();
+        Assert.assertEquals("resetStatistics() did not clear the counts", 0, table.statistics().resizes());
+        table.disableStatistics();
+        table.contains(1);
+        Assert.assertEquals("Lookups were counted after statistics were disabled", 0, table.statistics().lookups());
+
+        HashTable<CollidingKey> colliding = new HashTable<>();
+        for (int i = 0; i < 30; i++)
+        {
+            colliding.add(new CollidingKey(i, true));
+        }
+        statistics = colliding.statistics();
+        Assert.assertEquals("Tree buckets are not counted as chains", 10, statistics.maxChainLength());
+        Assert.assertEquals("The histogram does not count the tree buckets", 3, statistics.chainLengthHistogram()[10]);
+    }
+
+    /**
+     * Verifies that registerMBean() publishes the statistics on the
+     * platform MBean server and unregisterMBean() removes them.
+     */
+    @Test
+    public void statisticsPublishedAsMBean() throws Exception
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        HashTable<Integer> table = new HashTable<>();
+        ObjectName name = table.registerMBean("statisticsPublishedAsMBean");
+        try
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                table.add(i);
+                table.contains(i);
+            }
+
+            Assert.assertTrue("The MBean is not registered", server.isRegistered(name));
+            Assert.assertEquals("The Size attribute is incorrect", 100, server.getAttribute(name, "Size"));
+            Assert.assertTrue("Lookups were not counted", (Long) server.getAttribute(name, "Lookups") > 0);
+            Assert.assertTrue("Resizes were not counted", (Integer) server.getAttribute(name, "Resizes") > 0);
+            Assert.assertEquals("The histogram does not cover every bucket",
+                    server.getAttribute(name, "Buckets"),
+                    (int) Arrays.stream((long[]) server.getAttribute(name, "ChainLengthHistogram")).sum());
+
+            server.invoke(name, "resetStatistics", null, null);
+            Assert.assertEquals("resetStatistics did not clear the counts", 0L, server.getAttribute(name, "Lookups"));
+        }
+        finally
+        {
+            table.unregisterMBean();
+        }
+        Assert.assertFalse("The MBean is still registered", server.isRegistered(name));
+    }
+
+    //a key whose hash code only takes three values
+    private static class CollidingKey implements Comparable<CollidingKey>
+    {
+        private final int value;
+        private final boolean comparable;
+
+        CollidingKey(int value, boolean comparable)
+        {
+            this.value = value;
+            this.comparable = comparable;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingKey && ((CollidingKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value % 3;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other)
+        {
+            //report "no order" when acting as a non-comparable key
+            return comparable ? Integer.compare(value, other.value) : 0;
+        }
+    }
+
+    //a key with a distinct hash code that counts calls to hashCode() and equals()
+    private static class CountingKey
+    {
+        private final int value;
+        private int hashCodes;
+        private int equalsCalls;
+
+        CountingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            equalsCalls++;
+            return other instanceof CountingKey && ((CountingKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            hashCodes++;
+            return value;
+        }
+    }
+
+    //applies the same random operations to both collections and compares them
+    static void verifyAgainstHashSet(HashTable<Integer> table, String description)
+    {
+        HashSet<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int element = random.nextInt(RANDOM_RANGE) * (random.nextBoolean() ? 1 : -1);
+            if (random.nextInt(3) == 0 && expected.contains(element))
+            {
+                table.remove(element);
+                expected.remove(element);
+            }
+            else
+            {
+                table.add(element);
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashSet (" + description + ")",
+                expected.size(), table.size());
+        for (int i = -RANDOM_RANGE; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("contains(" + i + ") does not match java.util.HashSet (" + description + ")",
+                    expected.contains(i), table.contains(i));
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (int element : table)
+        {
+            Assert.assertTrue("Iterator returned a duplicate element (" + element + ", " + description + ")",
+                    seen.add(element));
+        }
+        Assert.assertEquals("Iterator did not return every element (" + description + ")", expected, seen);
+    }
+}
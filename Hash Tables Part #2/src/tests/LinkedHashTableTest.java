@@ -0,0 +1,208 @@
+package tests;
+
+import interfaces.ICollection;
+import interfaces.ISet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import structures.LinkedHashTable;
+import structures.Set;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Tests the LinkedHashTable<T> class to determine if it follows the
+ * contract of the ICollection<T> interface and keeps insertion order.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class LinkedHashTableTest
+{
+    private static final int NUM_TEST_ELEMENTS = 5;
+    private static final int RANDOM_OPERATIONS = 50000;
+    private static final int RANDOM_RANGE = 2000;
+
+    private ICollection<Integer> table;
+
+    /**
+     * Prepares each test before execution.
+     */
+    @Before
+    public void setup()
+    {
+        table = new LinkedHashTable<>();
+    }
+
+    /**
+     * Verifies that added elements can be found and duplicates are ignored.
+     */
+    @Test
+    public void addedElementsExist()
+    {
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            table.add(i);
+            table.add(i);
+        }
+
+        Assert.assertEquals("size() is incorrect after adding " + NUM_TEST_ELEMENTS + " elements twice",
+                NUM_TEST_ELEMENTS, table.size());
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            Assert.assertTrue("Element " + i + " is missing after being added", table.contains(i));
+            Assert.assertEquals("Cannot retrieve element using get()", i, table.get(i).intValue());
+        }
+        Assert.assertFalse("Missing element is reported as found", table.contains(NUM_TEST_ELEMENTS + 1));
+        Assert.assertNull("get() of a missing element does not return null", table.get(0));
+    }
+
+    /**
+     * Verifies that removing a missing element throws an exception.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void removeMissingElementThrows()
+    {
+        table.add(1);
+        table.remove(2);
+    }
+
+    /**
+     * Runs a long sequence of random adds and removes against
+     * java.util.LinkedHashSet, comparing the iteration order as well as
+     * the elements, through resizes and compactions.
+     */
+    @Test
+    public void matchesLinkedHashSetUnderRandomOperations()
+    {
+        LinkedHashSet<Integer> expected = new LinkedHashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int element = random.nextInt(RANDOM_RANGE);
+            if (random.nextInt(3) == 0 && expected.contains(element))
+            {
+                table.remove(element);
+                expected.remove(element);
+            }
+            else
+            {
+                table.add(element);
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.LinkedHashSet", expected.size(), table.size());
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("contains(" + i + ") does not match java.util.LinkedHashSet",
+                    expected.contains(i), table.contains(i));
+        }
+        Assert.assertEquals("The iterator does not return the elements in insertion order",
+                new ArrayList<>(expected), toList(table));
+
+        List<Integer> visited = new ArrayList<>();
+        table.forEach(visited::add);
+        Assert.assertEquals("forEach() does not visit the elements in insertion order",
+                new ArrayList<>(expected), visited);
+    }
+
+    /**
+     * Verifies that the order survives removing most elements, which
+     * compacts the table, and growing it again.
+     */
+    @Test
+    public void orderSurvivesCompaction()
+    {
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            table.add(i);
+        }
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            if (i % 10 != 0)
+            {
+                table.remove(i);
+            }
+        }
+        table.add(-1);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < RANDOM_RANGE; i += 10)
+        {
+            expected.add(i);
+        }
+        expected.add(-1);
+        Assert.assertEquals("The order changed after removals", expected, toList(table));
+    }
+
+    /**
+     * Verifies that changing the table while iterating is detected.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorDetectsChanges()
+    {
+        table.add(1);
+        table.add(2);
+        Iterator<Integer> iterator = table.iterator();
+        iterator.next();
+        table.add(3);
+        iterator.next();
+    }
+
+    /**
+     * Verifies that clear() empties the table and it can be reused.
+     */
+    @Test
+    public void clearEmptiesTable()
+    {
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            table.add(i);
+        }
+        table.clear();
+
+        Assert.assertTrue("Table is not empty after clear()", table.isEmpty());
+        Assert.assertFalse("Iterator has elements after clear()", table.iterator().hasNext());
+
+        table.add(1);
+        Assert.assertTrue("Table cannot be reused after clear()", table.contains(1));
+    }
+
+    /**
+     * Verifies that a Set can be built on top of the table.
+     */
+    @Test
+    public void setBackedByTable()
+    {
+        ISet<Integer> set = new Set<>(table);
+        ISet<Integer> other = new Set<>(new LinkedHashTable<>());
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            set.add(i);
+            other.add(i + 2);
+        }
+
+        Assert.assertEquals("Union of {1..5} and {3..7} should have 7 elements",
+                7, set.union(other).size());
+        Assert.assertEquals("Intersection of {1..5} and {3..7} should have 3 elements",
+                3, set.intersects(other).size());
+    }
+
+    private static List<Integer> toList(ICollection<Integer> table)
+    {
+        List<Integer> elements = new ArrayList<>();
+        for (int element : table)
+        {
+            elements.add(element);
+        }
+        return elements;
+    }
+}
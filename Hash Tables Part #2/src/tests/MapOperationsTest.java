@@ -0,0 +1,440 @@
+package tests;
+
+import interfaces.ICollection;
+import interfaces.ISet;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import structures.CacheMap;
+import structures.Map;
+import structures.Set;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Tests the Map<K, V> operations that go beyond the IMap<K, V> interface.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class MapOperationsTest
+{
+    private static final int PAIRS = 1000;
+    private static final int LOOKUP_ROUNDS = 200;
+    private static final long ALLOCATION_ALLOWANCE = 1024;
+
+    /**
+     * Verifies that addAll() copies every pair into an empty map.
+     */
+    @Test
+    public void addAllIntoEmptyMap()
+    {
+        Map<Integer, String> source = new Map<>();
+        for (int i = 0; i < PAIRS; i++)
+        {
+            source.add(i, "value" + i);
+        }
+
+        Map<Integer, String> map = new Map<>(PAIRS);
+        map.addAll(source);
+
+        Assert.assertEquals("size() is incorrect after addAll()", PAIRS, map.size());
+        for (int i = 0; i < PAIRS; i++)
+        {
+            Assert.assertEquals("Wrong value for key " + i + " after addAll()", "value" + i, map.get(i));
+        }
+    }
+
+    /**
+     * Verifies that addAll() replaces the values of keys already in the map.
+     */
+    @Test
+    public void addAllReplacesExistingValues()
+    {
+        Map<String, Integer> map = new Map<>();
+        map.add("a", 1);
+        map.add("b", 2);
+
+        Map<String, Integer> other = new Map<>();
+        other.add("b", 20);
+        other.add("c", 30);
+
+        map.addAll(other);
+
+        Assert.assertEquals("size() is incorrect after addAll()", 3, map.size());
+        Assert.assertEquals("Existing key kept its value", 1, map.get("a").intValue());
+        Assert.assertEquals("Value was not replaced by addAll()", 20, map.get("b").intValue());
+        Assert.assertEquals("New key missing after addAll()", 30, map.get("c").intValue());
+    }
+
+    /**
+     * Verifies that addAll() into an empty map copies the pairs of another
+     * kind of IMap, so its own pairs are not shared with the source.
+     */
+    @Test
+    public void addAllCopiesPairsOfOtherMaps()
+    {
+        CacheMap<String, Integer> cache = new CacheMap<>(10);
+        cache.add("a", 1);
+        cache.add("b", 2);
+
+        Map<String, Integer> map = new Map<>();
+        map.addAll(cache);
+        map.add("a", 100);
+        map.merge("b", 5, Integer::sum);
+        cache.add("b", 99);
+
+        Assert.assertEquals("Keys were duplicated after addAll()", 2, map.size());
+        Assert.assertEquals("add() did not replace a copied pair", 100, map.get("a").intValue());
+        Assert.assertEquals("Map sees changes made to the source after addAll()", 7, map.get("b").intValue());
+    }
+
+    /**
+     * Runs random merge() and compute() calls against a java.util.HashMap.
+     */
+    @Test
+    public void mergeAndComputeMatchHashMap()
+    {
+        Map<Integer, Integer> map = new Map<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < PAIRS * 50; i++)
+        {
+            int key = random.nextInt(PAIRS);
+            if (random.nextInt(4) == 0)
+            {
+                //drop counters that reached an even number
+                Assert.assertEquals("compute() returned the wrong value",
+                        expected.compute(key, (k, v) -> v == null || v % 2 == 0 ? null : v + 1),
+                        map.compute(key, (k, v) -> v == null || v % 2 == 0 ? null : v + 1));
+            }
+            else
+            {
+                Assert.assertEquals("merge() returned the wrong value",
+                        expected.merge(key, 1, Integer::sum), map.merge(key, 1, Integer::sum));
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashMap", expected.size(), map.size());
+        for (int i = 0; i < PAIRS; i++)
+        {
+            Assert.assertEquals("get(" + i + ") does not match java.util.HashMap", expected.get(i), map.get(i));
+        }
+    }
+
+    /**
+     * Verifies putIfAbsent(), computeIfAbsent() and getOrDefault().
+     */
+    @Test
+    public void absentKeyOperations()
+    {
+        Map<String, Integer> map = new Map<>();
+
+        Assert.assertNull("putIfAbsent() of a new key did not return null", map.putIfAbsent("a", 1));
+        Assert.assertEquals("putIfAbsent() did not return the existing value", 1, map.putIfAbsent("a", 2).intValue());
+        Assert.assertEquals("putIfAbsent() replaced an existing value", 1, map.get("a").intValue());
+
+        Assert.assertEquals("computeIfAbsent() did not add the value", 1, map.computeIfAbsent("b", String::length).intValue());
+        Assert.assertEquals("computeIfAbsent() replaced an existing value",
+                1, map.computeIfAbsent("b", key -> 5).intValue());
+        Assert.assertNull("computeIfAbsent() added a null value", map.computeIfAbsent("c", key -> null));
+        Assert.assertFalse("computeIfAbsent() added a key for a null value", map.keyExists("c"));
+
+        Assert.assertEquals("getOrDefault() did not return the value", 1, map.getOrDefault("a", 0).intValue());
+        Assert.assertEquals("getOrDefault() did not return the default", 0, map.getOrDefault("c", 0).intValue());
+        Assert.assertEquals("size() is incorrect", 2, map.size());
+    }
+
+    /**
+     * Verifies that get() and keyExists() allocate nothing once warmed up,
+     * using the per-thread allocation counter of the JVM.
+     */
+    @Test
+    public void lookupsDoNotAllocate()
+    {
+        Assume.assumeTrue("Thread allocation counters are not supported",
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Thread allocation counters are disabled", threads.isThreadAllocatedMemoryEnabled());
+
+        Map<Integer, String> map = new Map<>();
+        Integer[] keys = new Integer[PAIRS * 2];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = i * 7;
+            if (i % 2 == 0)
+            {
+                map.add(keys[i], "value" + i);
+            }
+        }
+
+        //warm up, then measure the same loop
+        long found = lookUpAll(map, keys);
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        found += lookUpAll(map, keys);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertEquals("Lookups did not find every key", 2L * LOOKUP_ROUNDS * 2 * PAIRS, found);
+        Assert.assertTrue("get() and keyExists() allocated " + allocated + " bytes for " +
+                LOOKUP_ROUNDS * keys.length * 2 + " lookups", allocated < ALLOCATION_ALLOWANCE);
+    }
+
+    private static long lookUpAll(Map<Integer, String> map, Integer[] keys)
+    {
+        long found = 0;
+        for (int round = 0; round < LOOKUP_ROUNDS; round++)
+        {
+            for (Integer key : keys)
+            {
+                found += map.get(key) != null ? 1 : 0;
+                found += map.keyExists(key) ? 1 : 0;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Verifies key lookups and removals when every key lands in the same
+     * bucket, so the keys are looked up in a tree.
+     */
+    @Test
+    public void keyLookupsInCollidingBucket()
+    {
+        Map<SameHashKey, Integer> map = new Map<>();
+        for (int i = 0; i < PAIRS; i++)
+        {
+            map.add(new SameHashKey(i), i);
+        }
+
+        for (int i = 0; i < PAIRS; i += 2)
+        {
+            map.remove(new SameHashKey(i));
+        }
+        map.remove(new SameHashKey(PAIRS));
+
+        Assert.assertEquals("size() is incorrect after removing half of the keys", PAIRS / 2, map.size());
+        for (int i = 0; i < PAIRS; i++)
+        {
+            Assert.assertEquals("keyExists(" + i + ") is incorrect", i % 2 == 1, map.keyExists(new SameHashKey(i)));
+            Assert.assertEquals("get(" + i + ") is incorrect",
+                    i % 2 == 1 ? Integer.valueOf(i) : null, map.get(new SameHashKey(i)));
+        }
+    }
+
+    /**
+     * Verifies that keyset() is a live view: it sees later changes to the
+     * map, and removing a key from it removes the pair from the map.
+     */
+    @Test
+    public void keysetIsLiveView()
+    {
+        Map<String, Integer> map = new Map<>();
+        map.add("a", 1);
+        ISet<String> keys = map.keyset();
+
+        map.add("b", 2);
+        Assert.assertEquals("keyset() does not see a pair added later", 2, keys.size());
+        Assert.assertTrue("keyset() does not contain a key added later", keys.contains("b"));
+
+        keys.remove("a");
+        Assert.assertFalse("Removing a key from keyset() did not remove it from the map", map.keyExists("a"));
+        Assert.assertSame("keyset() should return the same view every time", keys, map.keyset());
+
+        ISet<String> other = new Set<>();
+        other.add("b");
+        other.add("c");
+        Assert.assertEquals("Union of the keyset and another set is incorrect", 2, keys.union(other).size());
+    }
+
+    /**
+     * Verifies that values() keeps duplicate values and follows the map.
+     */
+    @Test
+    public void valuesKeepDuplicates()
+    {
+        Map<String, Integer> map = new Map<>();
+        map.add("a", 1);
+        map.add("b", 1);
+        map.add("c", 2);
+        ICollection<Integer> values = map.values();
+
+        List<Integer> seen = new ArrayList<>();
+        for (int value : values)
+        {
+            seen.add(value);
+        }
+        Collections.sort(seen);
+        Assert.assertEquals("values() dropped or changed values", List.of(1, 1, 2), seen);
+        Assert.assertEquals("values().size() does not count duplicates", 3, values.size());
+
+        values.remove(1);
+        Assert.assertEquals("Removing a value did not remove exactly one pair", 2, map.size());
+        Assert.assertTrue("Removing a value removed every copy of it", values.contains(1));
+
+        map.clear();
+        Assert.assertTrue("values() is not empty after clearing the map", values.isEmpty());
+    }
+
+    /**
+     * Verifies that valueExists() and keysFor() agree with java.util.HashMap
+     * after a random mix of adds, removes and merges, with and without the
+     * value index.
+     */
+    @Test
+    public void valueIndexMatchesHashMap()
+    {
+        for (boolean indexValues : new boolean[]{true, false})
+        {
+            Random random = new Random(9);
+            Map<Integer, Integer> map = new Map<>(indexValues);
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < PAIRS * 5; i++)
+            {
+                int key = random.nextInt(PAIRS);
+                Integer value = random.nextInt(10) == 0 ? null : random.nextInt(PAIRS / 10);
+                switch (random.nextInt(4))
+                {
+                    case 0:
+                        map.remove(key);
+                        expected.remove(key);
+                        break;
+                    case 1:
+                        if (value != null)
+                        {
+                            map.merge(key, value, Integer::sum);
+                            expected.merge(key, value, Integer::sum);
+                        }
+                        break;
+                    default:
+                        map.add(key, value);
+                        expected.put(key, value);
+                }
+            }
+
+            for (int value = 0; value < PAIRS / 5; value++)
+            {
+                verifyKeysFor(map, expected, value, indexValues);
+            }
+            verifyKeysFor(map, expected, null, indexValues);
+
+            map.keyset().remove(expected.keySet().iterator().next());
+            map.clear();
+            Assert.assertFalse("valueExists() finds a value after clear()", map.valueExists(0));
+            Assert.assertTrue("keysFor() is not empty after clear()", map.keysFor(0).isEmpty());
+        }
+    }
+
+    /**
+     * Verifies that removeIf(), retainAll() and removals through the
+     * iterators of the map and its views keep the value index in step with
+     * java.util.HashMap.
+     */
+    @Test
+    public void bulkRemovalsKeepValueIndex()
+    {
+        for (boolean indexValues : new boolean[]{true, false})
+        {
+            Map<Integer, Integer> map = new Map<>(indexValues);
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            for (int key = 0; key < PAIRS; key++)
+            {
+                map.add(key, key % 50);
+                expected.put(key, key % 50);
+            }
+
+            map.removeIf((key, value) -> value < 10);
+            expected.values().removeIf(value -> value < 10);
+
+            ISet<Integer> kept = new Set<>();
+            for (int key = 0; key < PAIRS; key += 2)
+            {
+                kept.add(key);
+            }
+            map.retainAll(kept);
+            expected.keySet().removeIf(key -> !kept.contains(key));
+
+            Iterator<Integer> keys = map.keyset().iterator();
+            while (keys.hasNext())
+            {
+                if (keys.next() % 3 == 0)
+                {
+                    keys.remove();
+                }
+            }
+            expected.keySet().removeIf(key -> key % 3 == 0);
+
+            Iterator<Integer> values = map.values().iterator();
+            while (values.hasNext())
+            {
+                if (values.next() == 20)
+                {
+                    values.remove();
+                }
+            }
+            expected.values().removeIf(value -> value == 20);
+
+            Assert.assertEquals("size() is incorrect after removals (indexed " + indexValues + ")",
+                    expected.size(), map.size());
+            for (int value = 0; value < 50; value++)
+            {
+                verifyKeysFor(map, expected, value, indexValues);
+            }
+        }
+    }
+
+    private static void verifyKeysFor(Map<Integer, Integer> map, HashMap<Integer, Integer> expected,
+                                      Integer value, boolean indexValues)
+    {
+        HashSet<Integer> keys = new HashSet<>();
+        for (int key : expected.keySet())
+        {
+            if (Objects.equals(expected.get(key), value))
+            {
+                keys.add(key);
+            }
+        }
+
+        String description = " (value " + value + ", indexed " + indexValues + ")";
+        Assert.assertEquals("valueExists() is incorrect" + description, !keys.isEmpty(), map.valueExists(value));
+        HashSet<Integer> found = new HashSet<>();
+        for (int key : map.keysFor(value))
+        {
+            found.add(key);
+        }
+        Assert.assertEquals("keysFor() is incorrect" + description, keys, found);
+    }
+
+    //a key whose hash code is always the same
+    private static class SameHashKey
+    {
+        private final int value;
+
+        SameHashKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof SameHashKey && ((SameHashKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package tests;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import structures.OffHeapMap;
+import structures.OffHeapMap.Serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Tests the OffHeapMap<K, V> class to determine if it follows the contract
+ * of the IMap<K, V> interface.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class OffHeapMapTest
+{
+    private static final int RANDOM_OPERATIONS = 50000;
+    private static final int RANDOM_RANGE = 2000;
+    private static final int CODE_LENGTH = 12;
+
+    private IMap<Long, Double> map;
+
+    /**
+     * Prepares each test before execution.
+     */
+    @Before
+    public void setup()
+    {
+        map = new OffHeapMap<>(Serializer.longs(), Serializer.doubles());
+    }
+
+    /**
+     * Runs random adds, updates and removes through several resizes and
+     * compares the map with a HashMap.
+     */
+    @Test
+    public void matchesHashMapUnderRandomOperations()
+    {
+        HashMap<Long, Double> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            long key = random.nextInt(RANDOM_RANGE) - RANDOM_RANGE / 2;
+            if (random.nextInt(3) == 0)
+            {
+                map.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                map.add(key, (double) i);
+                expected.put(key, (double) i);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashMap", expected.size(), map.size());
+        for (long key = -RANDOM_RANGE; key < RANDOM_RANGE; key++)
+        {
+            Assert.assertEquals("keyExists(" + key + ") does not match java.util.HashMap",
+                    expected.containsKey(key), map.keyExists(key));
+            Assert.assertEquals("get(" + key + ") does not match java.util.HashMap", expected.get(key), map.get(key));
+        }
+
+        HashMap<Long, Double> seen = new HashMap<>();
+        for (KeyValuePair<Long, Double> pair : map)
+        {
+            Assert.assertNull("Iterator returned a duplicate key", seen.put(pair.getKey(), pair.getValue()));
+        }
+        Assert.assertEquals("Iterator did not return every pair", expected, seen);
+        Assert.assertEquals("keyset() does not match the keys", expected.size(), map.keyset().size());
+    }
+
+    /**
+     * Verifies value lookups, removing a missing key and clear().
+     */
+    @Test
+    public void valuesRemoveAndClear()
+    {
+        map.add(0L, 1.5);
+        map.add(1L, 2.5);
+
+        Assert.assertTrue("valueExists() cannot find a value", map.valueExists(2.5));
+        Assert.assertFalse("valueExists() found a missing value", map.valueExists(3.5));
+
+        map.remove(2L);
+        Assert.assertEquals("Removing a missing key changed the map", 2, map.size());
+
+        map.clear();
+        Assert.assertTrue("Map is not empty after clear()", map.isEmpty());
+        Assert.assertNull("get() returned a value after clear()", map.get(0L));
+        map.add(0L, 4.5);
+        Assert.assertEquals("Map cannot be reused after clear()", 4.5, map.get(0L), 0);
+    }
+
+    /**
+     * Verifies that values() keeps a value shared by several keys once per key.
+     */
+    @Test
+    public void valuesKeepDuplicates()
+    {
+        map.add(0L, 1.5);
+        map.add(1L, 1.5);
+        map.add(2L, 2.5);
+
+        ICollection<Double> values = map.values();
+        int iterated = 0;
+        for (double value : values)
+        {
+            iterated++;
+        }
+
+        Assert.assertEquals("values().size() does not match size()", map.size(), values.size());
+        Assert.assertEquals("values() lost a duplicate value", 3, iterated);
+        Assert.assertTrue("values() is missing a value", values.contains(2.5));
+    }
+
+    /**
+     * Verifies that the iterator fails fast when the map is changed.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorFailsFast()
+    {
+        map.add(1L, 1.0);
+        map.add(2L, 2.0);
+        Iterator<KeyValuePair<Long, Double>> iterator = map.iterator();
+        iterator.next();
+        map.add(3L, 3.0);
+        iterator.next();
+    }
+
+    /**
+     * Verifies that a custom serializer with a key width that is not a
+     * multiple of 8 bytes hashes and compares keys correctly.
+     */
+    @Test
+    public void customSerializerKeys()
+    {
+        OffHeapMap<String, Integer> codes = new OffHeapMap<>(new CodeSerializer(), Serializer.integers());
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            codes.add("code" + i, i);
+        }
+
+        Assert.assertEquals("size() is incorrect after adding " + RANDOM_RANGE + " codes", RANDOM_RANGE, codes.size());
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("Cannot retrieve code" + i, i, codes.get("code" + i).intValue());
+        }
+        Assert.assertFalse("Missing key is reported as found", codes.keyExists("code" + RANDOM_RANGE));
+    }
+
+    /**
+     * Stores ASCII codes of up to 12 characters, padded with zeros.
+     */
+    private static class CodeSerializer implements Serializer<String>
+    {
+        @Override
+        public int width()
+        {
+            return CODE_LENGTH;
+        }
+
+        @Override
+        public void write(String value, ByteBuffer buffer, int offset)
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < CODE_LENGTH; i++)
+            {
+                buffer.put(offset + i, i < bytes.length ? bytes[i] : 0);
+            }
+        }
+
+        @Override
+        public String read(ByteBuffer buffer, int offset)
+        {
+            byte[] bytes = new byte[CODE_LENGTH];
+            int length = 0;
+            while (length < CODE_LENGTH && buffer.get(offset + length) != 0)
+            {
+                bytes[length] = buffer.get(offset + length);
+                length++;
+            }
+            return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package tests;
+
+import helpers.KeyValuePair;
+import interfaces.ISet;
+import org.junit.Assert;
+import org.junit.Test;
+import structures.PersistentMap;
+import structures.PersistentSet;
+import structures.Set;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the PersistentSet<T> and PersistentMap<K, V> classes, including
+ * that old versions are not changed by new ones.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PersistentCollectionsTest
+{
+    private static final int RANDOM_OPERATIONS = 20_000;
+    private static final int RANDOM_RANGE = 3000;
+    private static final int SNAPSHOT_INTERVAL = 1000;
+
+    /**
+     * Runs random plus() and minus() calls against java.util.HashSet, with
+     * keys whose hash codes often collide completely, and verifies that
+     * every saved version still holds what it held when it was made.
+     */
+    @Test
+    public void versionsMatchHashSet()
+    {
+        Random random = new Random(25);
+        PersistentSet<Key> set = new PersistentSet<>();
+        HashSet<Key> expected = new HashSet<>();
+        List<PersistentSet<Key>> versions = new ArrayList<>();
+        List<HashSet<Key>> expectedVersions = new ArrayList<>();
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            Key key = new Key(random.nextInt(RANDOM_RANGE));
+            if (random.nextInt(3) == 0)
+            {
+                set = set.minus(key);
+                expected.remove(key);
+            }
+            else
+            {
+                set = set.plus(key);
+                expected.add(key);
+            }
+
+            if (i % SNAPSHOT_INTERVAL == 0)
+            {
+                versions.add(set);
+                expectedVersions.add(new HashSet<>(expected));
+            }
+        }
+        versions.add(set);
+        expectedVersions.add(expected);
+
+        for (int version = 0; version < versions.size(); version++)
+        {
+            verifySet(versions.get(version), expectedVersions.get(version), "version " + version);
+        }
+    }
+
+    /**
+     * Verifies that removing every element leaves an empty set, and that
+     * adding an element that is there or removing one that is not returns
+     * the same set.
+     */
+    @Test
+    public void unchangedVersionsAreShared()
+    {
+        PersistentSet<Integer> set = new PersistentSet<>();
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            set = set.plus(i);
+        }
+        Assert.assertSame("plus() of an existing element made a new version", set, set.plus(1));
+        Assert.assertSame("minus() of a missing element made a new version", set, set.minus(-1));
+
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            set = set.minus(i);
+        }
+        Assert.assertTrue("The set is not empty after removing every element", set.isEmpty());
+        Assert.assertFalse("The iterator finds elements in an empty set", set.iterator().hasNext());
+    }
+
+    /**
+     * Verifies union, intersection, difference, isSubset() and isDisjoint()
+     * between versions that share most of their trie, between unrelated
+     * sets, and with a Set that is not persistent.
+     */
+    @Test
+    public void setOperationsMatchHashSet()
+    {
+        Random random = new Random(26);
+        PersistentSet<Key> base = new PersistentSet<>();
+        HashSet<Key> expectedBase = new HashSet<>();
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Key key = new Key(random.nextInt(RANDOM_RANGE * 2));
+            base = base.plus(key);
+            expectedBase.add(key);
+        }
+
+        //a version that differs from base in a few places, and an unrelated set
+        PersistentSet<Key> changed = base;
+        HashSet<Key> expectedChanged = new HashSet<>(expectedBase);
+        for (int i = 0; i < 50; i++)
+        {
+            Key added = new Key(RANDOM_RANGE * 2 + i);
+            Key removed = new Key(random.nextInt(RANDOM_RANGE * 2));
+            changed = changed.plus(added).minus(removed);
+            expectedChanged.add(added);
+            expectedChanged.remove(removed);
+        }
+        PersistentSet<Key> unrelated = new PersistentSet<>();
+        HashSet<Key> expectedUnrelated = new HashSet<>();
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Key key = new Key(random.nextInt(RANDOM_RANGE * 4));
+            unrelated = unrelated.plus(key);
+            expectedUnrelated.add(key);
+        }
+
+        verifyOperations(base, changed, expectedBase, expectedChanged, "base with changed");
+        verifyOperations(changed, base, expectedChanged, expectedBase, "changed with base");
+        verifyOperations(base, unrelated, expectedBase, expectedUnrelated, "base with unrelated");
+        verifyOperations(base, base, expectedBase, expectedBase, "base with itself");
+        verifyOperations(base, new PersistentSet<>(), expectedBase, new HashSet<>(), "base with empty set");
+
+        Set<Key> mutable = new Set<>();
+        for (Key key : expectedUnrelated)
+        {
+            mutable.add(key);
+        }
+        verifyOperations(base, mutable, expectedBase, expectedUnrelated, "base with a Set");
+
+        Assert.assertSame("A union that adds nothing made a new set", base, base.union(base.minus(new Key(0))));
+        Assert.assertTrue("A version with an element removed is not a subset", base.isSubset(base.minus(new Key(1))));
+    }
+
+    /**
+     * Runs random plus() and minus() calls against java.util.HashMap, with
+     * null values, and verifies that saved versions are not changed.
+     */
+    @Test
+    public void mapVersionsMatchHashMap()
+    {
+        Random random = new Random(27);
+        PersistentMap<Key, Integer> map = new PersistentMap<>();
+        HashMap<Key, Integer> expected = new HashMap<>();
+        PersistentMap<Key, Integer> snapshot = null;
+        HashMap<Key, Integer> expectedSnapshot = null;
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            Key key = new Key(random.nextInt(RANDOM_RANGE));
+            if (random.nextInt(3) == 0)
+            {
+                map = map.minus(key);
+                expected.remove(key);
+            }
+            else
+            {
+                Integer value = random.nextInt(10) == 0 ? null : random.nextInt(100);
+                map = map.plus(key, value);
+                expected.put(key, value);
+            }
+
+            if (i == RANDOM_OPERATIONS / 2)
+            {
+                snapshot = map;
+                expectedSnapshot = new HashMap<>(expected);
+            }
+        }
+
+        verifyMap(map, expected, "latest version");
+        verifyMap(snapshot, expectedSnapshot, "snapshot");
+        verifySet((PersistentSet<Key>) map.keyset(), new HashSet<>(expected.keySet()), "keyset()");
+
+        Assert.assertEquals("values() has the wrong size", expected.size(), map.values().size());
+        Assert.assertTrue("values() does not contain null", map.values().contains(null) == expected.containsValue(null));
+        Assert.assertTrue("valueExists() does not find a value", map.valueExists(expected.values().stream()
+                .filter(value -> value != null).findFirst().get()));
+        Assert.assertFalse("valueExists() finds a missing value", map.valueExists(-1));
+    }
+
+    /**
+     * Verifies that the in-place mutators of the interfaces are rejected.
+     */
+    @Test
+    public void inPlaceChangesAreRejected()
+    {
+        PersistentSet<Integer> set = new PersistentSet<Integer>().plus(1);
+        PersistentMap<Integer, Integer> map = new PersistentMap<Integer, Integer>().plus(1, 1);
+        Runnable[] changes = {
+                () -> set.add(2), () -> set.remove(1), set::clear,
+                () -> map.add(2, 2), () -> map.remove(1), map::clear, () -> map.values().remove(1)
+        };
+        for (Runnable change : changes)
+        {
+            try
+            {
+                change.run();
+                Assert.fail("An in-place change did not throw UnsupportedOperationException");
+            }
+            catch (UnsupportedOperationException expected)
+            {
+                //expected
+            }
+        }
+        Assert.assertEquals("A rejected change altered the set", 1, set.size());
+        Assert.assertEquals("A rejected change altered the map", (Integer) 1, map.get(1));
+    }
+
+    private static void verifyOperations(PersistentSet<Key> set, ISet<Key> other, HashSet<Key> expectedSet,
+                                         HashSet<Key> expectedOther, String description)
+    {
+        HashSet<Key> union = new HashSet<>(expectedSet);
+        union.addAll(expectedOther);
+        HashSet<Key> intersection = new HashSet<>(expectedSet);
+        intersection.retainAll(expectedOther);
+        HashSet<Key> difference = new HashSet<>(expectedSet);
+        difference.removeAll(expectedOther);
+
+        verifySet(set.union(other), union, "union(), " + description);
+        verifySet(set.intersects(other), intersection, "intersects(), " + description);
+        verifySet(set.difference(other), difference, "difference(), " + description);
+        Assert.assertEquals("isSubset() is incorrect (" + description + ")",
+                expectedSet.containsAll(expectedOther), set.isSubset(other));
+        Assert.assertEquals("isDisjoint() is incorrect (" + description + ")",
+                intersection.isEmpty(), set.isDisjoint(other));
+    }
+
+    private static void verifySet(PersistentSet<Key> set, HashSet<Key> expected, String description)
+    {
+        Assert.assertEquals("size() is incorrect (" + description + ")", expected.size(), set.size());
+        HashSet<Key> iterated = new HashSet<>();
+        for (Key key : set)
+        {
+            Assert.assertTrue("The iterator returned " + key + " twice (" + description + ")", iterated.add(key));
+        }
+        Assert.assertEquals("The iterator returned the wrong elements (" + description + ")", expected, iterated);
+        for (int i = 0; i < RANDOM_RANGE * 2; i++)
+        {
+            Key key = new Key(i);
+            Assert.assertEquals("contains(" + i + ") is incorrect (" + description + ")",
+                    expected.contains(key), set.contains(key));
+        }
+    }
+
+    private static void verifyMap(PersistentMap<Key, Integer> map, HashMap<Key, Integer> expected, String description)
+    {
+        Assert.assertEquals("size() is incorrect (" + description + ")", expected.size(), map.size());
+        HashMap<Key, Integer> iterated = new HashMap<>();
+        for (KeyValuePair<Key, Integer> pair : map)
+        {
+            iterated.put(pair.getKey(), pair.getValue());
+        }
+        Assert.assertEquals("The iterator returned the wrong pairs (" + description + ")", expected, iterated);
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Key key = new Key(i);
+            Assert.assertEquals("keyExists(" + i + ") is incorrect (" + description + ")",
+                    expected.containsKey(key), map.keyExists(key));
+            Assert.assertEquals("get(" + i + ") is incorrect (" + description + ")", expected.get(key), map.get(key));
+        }
+    }
+
+    //a key whose hash code is shared by every seventh key below 700, so the trie's collision nodes are used
+    private static class Key
+    {
+        private final int value;
+
+        Key(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof Key && ((Key) other).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value < 700 ? value % 7 : value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Key" + value;
+        }
+    }
+}
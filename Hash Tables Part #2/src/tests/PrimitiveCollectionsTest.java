@@ -0,0 +1,243 @@
+package tests;
+
+import org.junit.Assert;
+import org.junit.Test;
+import structures.Int2ObjectMap;
+import structures.IntHashSet;
+import structures.Long2ObjectMap;
+import structures.LongHashSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * Tests the primitive specialized collections (IntHashSet, LongHashSet,
+ * Int2ObjectMap and Long2ObjectMap) against the java.util collections.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class PrimitiveCollectionsTest
+{
+    private static final int RANDOM_OPERATIONS = 50000;
+    private static final int RANDOM_RANGE = 2000;
+
+    /**
+     * Runs random adds and removes on an IntHashSet (including the empty
+     * slot marker 0 and negative values) and compares it with a HashSet.
+     */
+    @Test
+    public void intSetMatchesHashSet()
+    {
+        IntHashSet set = new IntHashSet();
+        HashSet<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int element = random.nextInt(RANDOM_RANGE) - RANDOM_RANGE / 2;
+            if (random.nextInt(3) == 0 && expected.contains(element))
+            {
+                set.remove(element);
+                expected.remove(element);
+            }
+            else
+            {
+                set.add(element);
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashSet", expected.size(), set.size());
+        for (int i = -RANDOM_RANGE; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("contains(" + i + ") does not match java.util.HashSet",
+                    expected.contains(i), set.contains(i));
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        while (iterator.hasNext())
+        {
+            Assert.assertTrue("Iterator returned a duplicate element", seen.add(iterator.nextInt()));
+        }
+        Assert.assertEquals("Iterator did not return every element", expected, seen);
+    }
+
+    /**
+     * Verifies that removing a missing element throws an exception.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void intSetRemoveMissingThrows()
+    {
+        IntHashSet set = new IntHashSet();
+        set.add(1);
+        set.remove(0);
+    }
+
+    /**
+     * Verifies the set operations of IntHashSet.
+     */
+    @Test
+    public void intSetOperations()
+    {
+        IntHashSet first = new IntHashSet();
+        IntHashSet second = new IntHashSet();
+        for (int i = 0; i <= 4; i++)
+        {
+            first.add(i);
+            second.add(i + 2);
+        }
+
+        Assert.assertEquals("Union of {0..4} and {2..6} should have 7 elements", 7, first.union(second).size());
+        Assert.assertEquals("Intersection of {0..4} and {2..6} should have 3 elements",
+                3, first.intersects(second).size());
+        Assert.assertEquals("Difference of {0..4} and {2..6} should have 2 elements",
+                2, first.difference(second).size());
+        Assert.assertTrue("{0..4} should contain {0..4} intersect {2..6}",
+                first.isSubset(first.intersects(second)));
+        Assert.assertFalse("{0..4} and {2..6} are not disjoint", first.isDisjoint(second));
+        Assert.assertTrue("{0, 1} and {5, 6} are disjoint",
+                first.difference(second).isDisjoint(second.difference(first)));
+    }
+
+    /**
+     * Runs random adds and removes on a LongHashSet with values spread over
+     * the whole long range and compares it with a HashSet.
+     */
+    @Test
+    public void longSetMatchesHashSet()
+    {
+        LongHashSet set = new LongHashSet();
+        HashSet<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        long[] values = new long[RANDOM_RANGE];
+        for (int i = 1; i < values.length; i++)
+        {
+            values[i] = random.nextLong();
+        }
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            long element = values[random.nextInt(values.length)];
+            if (random.nextInt(3) == 0 && expected.contains(element))
+            {
+                set.remove(element);
+                expected.remove(element);
+            }
+            else
+            {
+                set.add(element);
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashSet", expected.size(), set.size());
+        for (long value : values)
+        {
+            Assert.assertEquals("contains(" + value + ") does not match java.util.HashSet",
+                    expected.contains(value), set.contains(value));
+        }
+    }
+
+    /**
+     * Runs random adds, updates and removes on an Int2ObjectMap and
+     * compares it with a HashMap.
+     */
+    @Test
+    public void intMapMatchesHashMap()
+    {
+        Int2ObjectMap<String> map = new Int2ObjectMap<>();
+        HashMap<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int key = random.nextInt(RANDOM_RANGE) - RANDOM_RANGE / 2;
+            if (random.nextInt(3) == 0)
+            {
+                map.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                map.add(key, "value" + i);
+                expected.put(key, "value" + i);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashMap", expected.size(), map.size());
+        for (int i = -RANDOM_RANGE; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("keyExists(" + i + ") does not match java.util.HashMap",
+                    expected.containsKey(i), map.keyExists(i));
+            Assert.assertEquals("get(" + i + ") does not match java.util.HashMap", expected.get(i), map.get(i));
+        }
+
+        HashMap<Integer, String> seen = new HashMap<>();
+        map.forEach((key, value) -> Assert.assertNull("forEach() returned a duplicate key", seen.put(key, value)));
+        Assert.assertEquals("forEach() did not return every pair", expected, seen);
+        Assert.assertEquals("keyset() does not match the keys", expected.size(), map.keyset().size());
+    }
+
+    /**
+     * Verifies that 0 can be used as a key and value lookups work.
+     */
+    @Test
+    public void intMapZeroKeyAndValues()
+    {
+        Int2ObjectMap<String> map = new Int2ObjectMap<>();
+        map.add(0, "zero");
+        map.add(1, "one");
+
+        Assert.assertEquals("The key 0 cannot be retrieved", "zero", map.get(0));
+        Assert.assertTrue("valueExists() cannot find the value of key 0", map.valueExists("zero"));
+        Assert.assertTrue("valueExists() cannot find a value", map.valueExists("one"));
+        Assert.assertFalse("valueExists() found a missing value", map.valueExists("two"));
+
+        map.remove(0);
+        Assert.assertFalse("The key 0 still exists after being removed", map.keyExists(0));
+        Assert.assertEquals("size() is incorrect after removing key 0", 1, map.size());
+
+        map.clear();
+        Assert.assertTrue("Map is not empty after clear()", map.isEmpty());
+        Assert.assertFalse("Key iterator has keys after clear()", map.keyIterator().hasNext());
+    }
+
+    /**
+     * Runs random adds and removes on a Long2ObjectMap and compares it with
+     * a HashMap.
+     */
+    @Test
+    public void longMapMatchesHashMap()
+    {
+        Long2ObjectMap<Integer> map = new Long2ObjectMap<>();
+        HashMap<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            long key = (long) random.nextInt(RANDOM_RANGE) << 33;
+            if (random.nextInt(3) == 0)
+            {
+                map.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashMap", expected.size(), map.size());
+        for (long key = 0; key < RANDOM_RANGE; key++)
+        {
+            Assert.assertEquals("get(" + (key << 33) + ") does not match java.util.HashMap",
+                    expected.get(key << 33), map.get(key << 33));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package tests;
+
+import helpers.KeyValuePair;
+import interfaces.ICollection;
+import interfaces.IMap;
+import interfaces.ISet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import structures.RobinHoodHashTable;
+import structures.RobinHoodMap;
+import structures.Set;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Tests the RobinHoodHashTable<T> class to determine if it follows
+ * the contract of the ICollection<T> interface.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class RobinHoodHashTableTest
+{
+    private static final int NUM_TEST_ELEMENTS = 5;
+    private static final int RANDOM_OPERATIONS = 50000;
+    private static final int RANDOM_RANGE = 2000;
+
+    private ICollection<Integer> table;
+
+    /**
+     * Prepares each test before execution.
+     */
+    @Before
+    public void setup()
+    {
+        table = new RobinHoodHashTable<>();
+    }
+
+    /**
+     * Verifies that added elements can be found and duplicates are ignored.
+     */
+    @Test
+    public void addedElementsExist()
+    {
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            table.add(i);
+            table.add(i);
+        }
+
+        Assert.assertEquals("size() is incorrect after adding " + NUM_TEST_ELEMENTS + " elements twice",
+                NUM_TEST_ELEMENTS, table.size());
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            Assert.assertTrue("Element " + i + " is missing after being added", table.contains(i));
+            Assert.assertEquals("Cannot retrieve element using get()", i, table.get(i).intValue());
+        }
+        Assert.assertFalse("Missing element is reported as found", table.contains(NUM_TEST_ELEMENTS + 1));
+        Assert.assertNull("get() of a missing element does not return null", table.get(0));
+    }
+
+    /**
+     * Verifies that removing a missing element throws an exception.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void removeMissingElementThrows()
+    {
+        table.add(1);
+        table.remove(2);
+    }
+
+    /**
+     * Runs a long sequence of random adds and removes against java.util.HashSet
+     * to exercise displacement and backward-shift deletion through resizes.
+     */
+    @Test
+    public void matchesHashSetUnderRandomOperations()
+    {
+        HashSet<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int element = random.nextInt(RANDOM_RANGE);
+            if (random.nextInt(3) == 0 && expected.contains(element))
+            {
+                table.remove(element);
+                expected.remove(element);
+            }
+            else
+            {
+                table.add(element);
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashSet", expected.size(), table.size());
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("contains(" + i + ") does not match java.util.HashSet",
+                    expected.contains(i), table.contains(i));
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (int element : table)
+        {
+            Assert.assertTrue("Iterator returned a duplicate element (" + element + ")", seen.add(element));
+        }
+        Assert.assertEquals("Iterator did not return every element", expected, seen);
+    }
+
+    /**
+     * Verifies that clear() empties the table and it can be reused.
+     */
+    @Test
+    public void clearEmptiesTable()
+    {
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            table.add(i);
+        }
+        table.clear();
+
+        Assert.assertTrue("Table is not empty after clear()", table.isEmpty());
+        Assert.assertFalse("Iterator has elements after clear()", table.iterator().hasNext());
+
+        table.add(1);
+        Assert.assertTrue("Table cannot be reused after clear()", table.contains(1));
+    }
+
+    /**
+     * Verifies that a Set can be built on top of the table.
+     */
+    @Test
+    public void setBackedByTable()
+    {
+        ISet<Integer> set = new Set<>(table);
+        ISet<Integer> other = new Set<>(new RobinHoodHashTable<>());
+        for (int i = 1; i <= NUM_TEST_ELEMENTS; i++)
+        {
+            set.add(i);
+            other.add(i + 2);
+        }
+
+        Assert.assertEquals("Union of {1..5} and {3..7} should have 7 elements",
+                7, set.union(other).size());
+        Assert.assertEquals("Intersection of {1..5} and {3..7} should have 3 elements",
+                3, set.intersects(other).size());
+    }
+
+    /**
+     * Verifies that put() replaces an equal element and returns the old one.
+     */
+    @Test
+    public void putReplacesEqualElement()
+    {
+        RobinHoodHashTable<KeyValuePair<String, Integer>> pairs = new RobinHoodHashTable<>();
+        KeyValuePair<String, Integer> first = new KeyValuePair<>("a", 1);
+        KeyValuePair<String, Integer> second = new KeyValuePair<>("a", 2);
+
+        Assert.assertNull("put() of a new element does not return null", pairs.put(first));
+        Assert.assertSame("put() does not return the replaced element", first, pairs.put(second));
+        Assert.assertEquals("put() changed the size when replacing", 1, pairs.size());
+        Assert.assertSame("put() did not store the new element", second, pairs.get(new KeyValuePair<>("a", null)));
+    }
+
+    /**
+     * Runs random adds and removes on a RobinHoodMap against java.util.HashMap.
+     */
+    @Test
+    public void mapMatchesHashMapUnderRandomOperations()
+    {
+        IMap<Integer, Integer> map = new RobinHoodMap<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < RANDOM_OPERATIONS; i++)
+        {
+            int key = random.nextInt(RANDOM_RANGE);
+            if (random.nextInt(3) == 0)
+            {
+                map.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        Assert.assertEquals("size() does not match java.util.HashMap", expected.size(), map.size());
+        for (int i = 0; i < RANDOM_RANGE; i++)
+        {
+            Assert.assertEquals("keyExists(" + i + ") does not match java.util.HashMap",
+                    expected.containsKey(i), map.keyExists(i));
+            Assert.assertEquals("get(" + i + ") does not match java.util.HashMap", expected.get(i), map.get(i));
+        }
+        Assert.assertEquals("keyset() does not hold every key", expected.size(), map.keyset().size());
+    }
+
+    /**
+     * Verifies that values() keeps a value shared by several keys once per key.
+     */
+    @Test
+    public void mapValuesKeepDuplicates()
+    {
+        IMap<String, Integer> map = new RobinHoodMap<>();
+        map.add("a", 1);
+        map.add("b", 1);
+        map.add("c", 2);
+
+        ICollection<Integer> values = map.values();
+        List<Integer> seen = new ArrayList<>();
+        for (int value : values)
+        {
+            seen.add(value);
+        }
+
+        Assert.assertEquals("values().size() does not match size()", map.size(), values.size());
+        Assert.assertEquals("values() lost a duplicate value", 3, seen.size());
+        Assert.assertTrue("values() is missing a value", values.contains(2));
+        Assert.assertTrue("valueExists() does not find a value", map.valueExists(1));
+    }
+
+    /**
+     * Verifies that keyset() is a live view: later adds show up in it and
+     * removing a key through it removes the pair from the map.
+     */
+    @Test
+    public void mapKeysetIsLive()
+    {
+        IMap<String, Integer> map = new RobinHoodMap<>();
+        map.add("a", 1);
+        ISet<String> keys = map.keyset();
+        map.add("b", 2);
+
+        Assert.assertEquals("keyset() does not see later adds", 2, keys.size());
+        Assert.assertTrue("keyset() is missing a later key", keys.contains("b"));
+
+        keys.remove("a");
+        Assert.assertFalse("Removing through keyset() did not change the map", map.keyExists("a"));
+        Assert.assertEquals("Removing through keyset() left the wrong size", 1, map.size());
+    }
+}
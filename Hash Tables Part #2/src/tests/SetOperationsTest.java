@@ -0,0 +1,235 @@
+package tests;
+
+import interfaces.ISet;
+import org.junit.Assert;
+import org.junit.Test;
+import structures.HashTable;
+import structures.HashTable.IndexingMode;
+import structures.LinkedHashTable;
+import structures.Set;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Tests the Set<T> set operations against java.util.HashSet, with the
+ * smaller set on either side of each operation.
+ *
+ * @author alisallavore
+ * @version 1.0
+ */
+public class SetOperationsTest
+{
+    private static final int SMALL_SIZE = 300;
+    private static final int LARGE_SIZE = 3000;
+    private static final int RANDOM_RANGE = 5000;
+    private static final int PARALLEL_SIZE = 40_000;
+
+    /**
+     * Verifies union, intersection and difference for both orders of a
+     * small and a large set.
+     */
+    @Test
+    public void operationsMatchHashSet()
+    {
+        Random random = new Random(42);
+        HashSet<Integer> small = randomElements(random, SMALL_SIZE);
+        HashSet<Integer> large = randomElements(random, LARGE_SIZE);
+
+        verifyOperations(small, large, "small with large");
+        verifyOperations(large, small, "large with small");
+        verifyOperations(small, small, "set with itself");
+        verifyOperations(small, new HashSet<>(), "set with empty set");
+    }
+
+    /**
+     * Verifies isSubset() and isDisjoint() for sets that do and do not
+     * qualify.
+     */
+    @Test
+    public void subsetAndDisjoint()
+    {
+        Set<Integer> set = toSet(randomElements(new Random(7), LARGE_SIZE));
+        Set<Integer> subset = new Set<>();
+        Set<Integer> disjoint = new Set<>();
+        int count = 0;
+        for (int element : set)
+        {
+            if (count++ < SMALL_SIZE)
+            {
+                subset.add(element);
+            }
+            disjoint.add(element + RANDOM_RANGE);
+        }
+
+        Assert.assertTrue("A subset of the set is not reported as a subset", set.isSubset(subset));
+        Assert.assertFalse("A larger set is reported as a subset", subset.isSubset(set));
+        subset.add(-1);
+        Assert.assertFalse("A set with a missing element is reported as a subset", set.isSubset(subset));
+
+        Assert.assertTrue("Disjoint sets are not reported as disjoint", set.isDisjoint(disjoint));
+        Assert.assertTrue("Disjoint sets are not reported as disjoint", subset.isDisjoint(disjoint));
+        disjoint.add(set.iterator().next());
+        Assert.assertFalse("Sets sharing an element are reported as disjoint", set.isDisjoint(disjoint));
+        Assert.assertFalse("Sets sharing an element are reported as disjoint", disjoint.isDisjoint(set));
+    }
+
+    /**
+     * Verifies that the parallel operations return the same elements as the
+     * sequential ones, for tables in each mode, including one that resizes
+     * incrementally.
+     */
+    @Test
+    public void parallelOperationsMatchSequential()
+    {
+        for (IndexingMode mode : IndexingMode.values())
+        {
+            Set<Integer> first = new Set<>(new HashTable<>(mode, true));
+            Set<Integer> second = new Set<>(new HashTable<>(mode, false));
+            for (int i = 0; i < PARALLEL_SIZE; i++)
+            {
+                first.add(i);
+                second.add(i * 3);
+            }
+            verifyParallel(first, second, mode.toString());
+            verifyParallel(second, first, mode + ", reversed");
+        }
+    }
+
+    /**
+     * Verifies that lookups made by the parallel operations from many
+     * threads are all counted, and that they leave the other set's Bloom
+     * filter alone.
+     */
+    @Test
+    public void parallelLookupsAreCounted()
+    {
+        Set<Integer> first = new Set<>();
+        Set<Integer> second = new Set<>(PARALLEL_SIZE, 0.01);
+        for (int i = 0; i < PARALLEL_SIZE; i++)
+        {
+            first.add(i);
+            second.add(i * 3);
+        }
+        second.enableStatistics();
+        long queries = second.lookupFilter().queries();
+
+        ISet<Integer> difference = first.parallelDifference(second);
+
+        Assert.assertEquals("parallelDifference() returned the wrong elements",
+                PARALLEL_SIZE - (PARALLEL_SIZE + 2) / 3, difference.size());
+        Assert.assertEquals("Lookups from worker threads were lost", PARALLEL_SIZE, second.statistics().lookups());
+        Assert.assertEquals("Worker threads queried the Bloom filter", queries, second.lookupFilter().queries());
+    }
+
+    /**
+     * Verifies removeIf(), retainAll() and Iterator.remove() on a plain set,
+     * a set with a lookup filter and a set backed by another table.
+     */
+    @Test
+    public void bulkRemovalsMatchHashSet()
+    {
+        Random random = new Random(24);
+        HashSet<Integer> elements = randomElements(random, LARGE_SIZE);
+        HashSet<Integer> kept = randomElements(random, LARGE_SIZE);
+
+        for (String kind : new String[]{"plain", "filtered", "LinkedHashTable"})
+        {
+            Set<Integer> set = kind.equals("plain") ? new Set<>()
+                    : kind.equals("filtered") ? new Set<>(LARGE_SIZE, 0.01) : new Set<>(new LinkedHashTable<>());
+            for (int element : elements)
+            {
+                set.add(element);
+            }
+            HashSet<Integer> expected = new HashSet<>(elements);
+
+            set.removeIf(element -> element % 5 == 0);
+            expected.removeIf(element -> element % 5 == 0);
+            Assert.assertEquals("removeIf() is incorrect (" + kind + ")", expected, toHashSet(set));
+
+            set.retainAll(toSet(kept));
+            expected.retainAll(kept);
+            Assert.assertEquals("retainAll() is incorrect (" + kind + ")", expected, toHashSet(set));
+
+            if (!kind.equals("LinkedHashTable"))
+            {
+                Iterator<Integer> iterator = set.iterator();
+                while (iterator.hasNext())
+                {
+                    if (iterator.next() % 2 == 0)
+                    {
+                        iterator.remove();
+                    }
+                }
+                expected.removeIf(element -> element % 2 == 0);
+                Assert.assertEquals("Iterator.remove() is incorrect (" + kind + ")", expected, toHashSet(set));
+            }
+            for (int element = 0; element < RANDOM_RANGE; element++)
+            {
+                Assert.assertEquals("contains(" + element + ") is incorrect after removals (" + kind + ")",
+                        expected.contains(element), set.contains(element));
+            }
+        }
+    }
+
+    private static void verifyParallel(Set<Integer> set, Set<Integer> other, String description)
+    {
+        Assert.assertEquals("parallelUnion() does not match union() (" + description + ")",
+                toHashSet(set.union(other)), toHashSet(set.parallelUnion(other)));
+        Assert.assertEquals("parallelIntersects() does not match intersects() (" + description + ")",
+                toHashSet(set.intersects(other)), toHashSet(set.parallelIntersects(other)));
+        Assert.assertEquals("parallelDifference() does not match difference() (" + description + ")",
+                toHashSet(set.difference(other)), toHashSet(set.parallelDifference(other)));
+    }
+
+    private static void verifyOperations(HashSet<Integer> first, HashSet<Integer> second, String description)
+    {
+        ISet<Integer> set = toSet(first);
+        ISet<Integer> other = toSet(second);
+
+        HashSet<Integer> union = new HashSet<>(first);
+        union.addAll(second);
+        HashSet<Integer> intersection = new HashSet<>(first);
+        intersection.retainAll(second);
+        HashSet<Integer> difference = new HashSet<>(first);
+        difference.removeAll(second);
+
+        Assert.assertEquals("union() is incorrect (" + description + ")", union, toHashSet(set.union(other)));
+        Assert.assertEquals("intersects() is incorrect (" + description + ")",
+                intersection, toHashSet(set.intersects(other)));
+        Assert.assertEquals("difference() is incorrect (" + description + ")",
+                difference, toHashSet(set.difference(other)));
+    }
+
+    private static HashSet<Integer> randomElements(Random random, int count)
+    {
+        HashSet<Integer> elements = new HashSet<>();
+        while (elements.size() < count)
+        {
+            elements.add(random.nextInt(RANDOM_RANGE));
+        }
+        return elements;
+    }
+
+    private static Set<Integer> toSet(HashSet<Integer> elements)
+    {
+        Set<Integer> set = new Set<>();
+        for (int element : elements)
+        {
+            set.add(element);
+        }
+        return set;
+    }
+
+    private static HashSet<Integer> toHashSet(ISet<Integer> set)
+    {
+        HashSet<Integer> elements = new HashSet<>();
+        for (int element : set)
+        {
+            Assert.assertTrue("Set operation produced a duplicate element (" + element + ")", elements.add(element));
+        }
+        Assert.assertEquals("size() does not match the number of elements", elements.size(), set.size());
+        return elements;
+    }
+}